@@ -0,0 +1,9 @@
+#!/bin/bash
+# Allows the postgres-replica service to stream WAL from this primary.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+EOSQL
+
+echo "host replication replicator all md5" >> "$PGDATA/pg_hba.conf"
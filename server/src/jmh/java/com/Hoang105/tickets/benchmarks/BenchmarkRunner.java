@@ -0,0 +1,62 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected by the usual JMH command line with the GC
+ * profiler attached, so every result carries the allocation rate next to the
+ * throughput, and writes the results as JSON to
+ * {@code benchmark-results/<commit>-<timestamp>.json} for comparison across commits.
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULTS_DIRECTORY = Path.of("benchmark-results");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        Files.createDirectories(RESULTS_DIRECTORY);
+        Path resultFile = RESULTS_DIRECTORY.resolve(String.format("%s-%s.json",
+                commitId(),
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build();
+
+        new Runner(options).run();
+    }
+
+    private static String commitId() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 && !commit.isEmpty() ? commit : "unknown";
+        } catch (IOException ex) {
+            return "unknown";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.Hoang105.tickets.domain.dtos.Attendee.ListTicketResponseDto;
+import com.Hoang105.tickets.domain.dtos.Staff.TicketValidationRequestDto;
+import com.Hoang105.tickets.domain.dtos.Staff.TicketValidationResponseDto;
+import com.Hoang105.tickets.domain.entities.Event;
+import com.Hoang105.tickets.domain.entities.Ticket;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+import com.Hoang105.tickets.mappers.TicketMapper;
+import com.Hoang105.tickets.mappers.TicketMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writing the wallet's page of tickets and the gate's validation round trip in
+ * each format the API negotiates, with and without gzip. The payload sizes are
+ * printed once per trial, ahead of the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentFormatBenchmark {
+
+    public enum Format {
+        JSON, CBOR, SMILE
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private Format format;
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ListTicketResponseDto> ticketPage;
+    private TicketValidationResponseDto validationResponse;
+    private byte[] validationRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case JSON -> Jackson2ObjectMapperBuilder.json();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor();
+            case SMILE -> Jackson2ObjectMapperBuilder.smile();
+        };
+        // As the application's mapper is configured by Spring Boot
+        objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        TicketMapper ticketMapper = new TicketMapperImpl();
+        LocalDateTime start = LocalDateTime.of(2026, 6, 1, 19, 0);
+        List<ListTicketResponseDto> tickets = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Event event = Event.builder()
+                    .id(UUID.randomUUID())
+                    .name("Event " + i)
+                    .venue("Venue " + i)
+                    .start(start.plusDays(i))
+                    .status(EventStatusEnum.PUBLISHED)
+                    .build();
+            TicketType ticketType = TicketType.builder()
+                    .id(UUID.randomUUID())
+                    .name("General admission")
+                    .price(45.0)
+                    .description("Standing, doors at 18:30")
+                    .totalAvailable(500)
+                    .event(event)
+                    .build();
+            tickets.add(ticketMapper.toListTicketResponseDto(Ticket.builder()
+                    .id(UUID.randomUUID())
+                    .status(TicketStatusEnum.PURCHASED)
+                    .ticketType(ticketType)
+                    .createdAt(start.minusDays(1))
+                    .build()));
+        }
+        ticketPage = new PageImpl<>(tickets, PageRequest.of(0, pageSize), pageSize * 5L);
+
+        validationResponse = new TicketValidationResponseDto(UUID.randomUUID(), TicketValidationEnum.VALID);
+        validationRequest = objectMapper.writeValueAsBytes(
+                new TicketValidationRequestDto(UUID.randomUUID(), TicketValidationMethodEnum.QR_SCAN, UUID.randomUUID()));
+
+        System.out.printf("%n%s: page of %d tickets %d bytes, %d gzipped; validation request %d bytes, response %d bytes%n",
+                format, pageSize,
+                writeTicketPage().length, writeTicketPageGzipped().length,
+                validationRequest.length, writeValidationResponse().length);
+    }
+
+    @Benchmark
+    public byte[] writeTicketPage() throws IOException {
+        return objectMapper.writeValueAsBytes(ticketPage);
+    }
+
+    @Benchmark
+    public byte[] writeTicketPageGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, ticketPage);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public TicketValidationRequestDto readValidationRequest() throws IOException {
+        return objectMapper.readValue(validationRequest, TicketValidationRequestDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeValidationResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(validationResponse);
+    }
+}
@@ -0,0 +1,75 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.Hoang105.tickets.config.JwtAuthenticationConverter;
+
+/**
+ * Turning a decoded access token into an authentication, which happens on
+ * every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationConverterBenchmark {
+
+    private final JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+
+    private Jwt attendeeJwt;
+    private Jwt jwtWithoutRoles;
+
+    @Setup
+    public void setUp() {
+        // Realm roles as Keycloak issues them, including the ones the converter drops
+        attendeeJwt = jwt(Map.of("roles", List.of(
+                "default-roles-event-ticket-platform",
+                "offline_access",
+                "uma_authorization",
+                "ROLE_ATTENDEE")));
+        jwtWithoutRoles = jwt(null);
+    }
+
+    @Benchmark
+    public JwtAuthenticationToken convertAttendee() {
+        return converter.convert(attendeeJwt);
+    }
+
+    @Benchmark
+    public JwtAuthenticationToken convertWithoutRoles() {
+        return converter.convert(jwtWithoutRoles);
+    }
+
+    private static Jwt jwt(Map<String, Object> realmAccess) {
+        Instant issuedAt = Instant.now();
+        Jwt.Builder builder = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(UUID.randomUUID().toString())
+                .claim("preferred_username", "attendee")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(300));
+        if (realmAccess != null) {
+            builder.claim("realm_access", realmAccess);
+        }
+        return builder.build();
+    }
+}
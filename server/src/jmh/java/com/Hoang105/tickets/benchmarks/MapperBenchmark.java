@@ -0,0 +1,126 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Hoang105.tickets.domain.dtos.Administrator.ListAttendeeTicketResponseDto;
+import com.Hoang105.tickets.domain.dtos.Attendee.ListTicketResponseDto;
+import com.Hoang105.tickets.domain.dtos.ListPublishedEventResponseDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.ListEventResponseDto;
+import com.Hoang105.tickets.domain.entities.Event;
+import com.Hoang105.tickets.domain.entities.Ticket;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+import com.Hoang105.tickets.mappers.EventMapper;
+import com.Hoang105.tickets.mappers.EventMapperImpl;
+import com.Hoang105.tickets.mappers.TicketMapper;
+import com.Hoang105.tickets.mappers.TicketMapperImpl;
+
+/**
+ * Mapping a page of events or tickets to response DTOs, the way the list
+ * controllers do it, with entities already loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int TICKET_TYPES_PER_EVENT = 3;
+
+    @Param({"20", "200", "1000"})
+    private int pageSize;
+
+    private final EventMapper eventMapper = new EventMapperImpl();
+    private final TicketMapper ticketMapper = new TicketMapperImpl();
+
+    private List<Event> events;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2026, 6, 1, 19, 0);
+
+        events = new ArrayList<>(pageSize);
+        tickets = new ArrayList<>(pageSize);
+
+        for (int i = 0; i < pageSize; i++) {
+            Event event = Event.builder()
+                    .id(UUID.randomUUID())
+                    .name("Event " + i)
+                    .venue("Venue " + i)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(4))
+                    .salesStart(start.minusDays(30))
+                    .salesEnd(start.plusDays(i))
+                    .status(EventStatusEnum.PUBLISHED)
+                    .build();
+
+            for (int t = 0; t < TICKET_TYPES_PER_EVENT; t++) {
+                event.getTicketTypes().add(TicketType.builder()
+                        .id(UUID.randomUUID())
+                        .name("Tier " + t)
+                        .price(25.0 * (t + 1))
+                        .description("Tier " + t + " admission")
+                        .totalAvailable(500)
+                        .event(event)
+                        .build());
+            }
+            events.add(event);
+
+            tickets.add(Ticket.builder()
+                    .id(UUID.randomUUID())
+                    .status(TicketStatusEnum.PURCHASED)
+                    .ticketType(event.getTicketTypes().get(i % TICKET_TYPES_PER_EVENT))
+                    .createdAt(start.minusDays(1))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ListEventResponseDto> listEvents() {
+        return events.stream()
+                .map(eventMapper::toListEventResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ListPublishedEventResponseDto> listPublishedEvents() {
+        return events.stream()
+                .map(eventMapper::toListPublishedEventResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ListTicketResponseDto> listTickets() {
+        return tickets.stream()
+                .map(ticketMapper::toListTicketResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ListAttendeeTicketResponseDto> listAttendeeTickets() {
+        return tickets.stream()
+                .map(ticketMapper::toListAttendeeTicketDto)
+                .collect(Collectors.toList());
+    }
+}
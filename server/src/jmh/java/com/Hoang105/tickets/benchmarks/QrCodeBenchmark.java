@@ -0,0 +1,125 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Hoang105.tickets.domain.entities.ArchivedTicket;
+import com.Hoang105.tickets.domain.entities.QrCode;
+import com.Hoang105.tickets.domain.entities.Ticket;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.metrics.PurchaseMetrics;
+import com.Hoang105.tickets.repositories.ArchivedTicketRepository;
+import com.Hoang105.tickets.repositories.QrCodePoolRepository;
+import com.Hoang105.tickets.repositories.QrCodePoolRepository.ClaimedQrCode;
+import com.Hoang105.tickets.repositories.QrCodeRepository;
+import com.Hoang105.tickets.services.impl.QrCodeServiceImpl;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * QR code rendering on purchase, or claiming a code pre-rendered into the pool
+ * when {@code pooled}, the Base64 decode when an attendee fetches the image, and
+ * the re-render for an archived ticket; the repositories are in-memory stubs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodeBenchmark {
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID ticketId = UUID.randomUUID();
+    private final UUID archivedTicketId = UUID.randomUUID();
+
+    private QrCodeServiceImpl qrCodeService;
+    private Ticket ticket;
+    private QrCode storedQrCode;
+    private String pooledQrCodeImage;
+
+    @Setup
+    public void setUp() {
+        QrCodeRepository qrCodeRepository = RepositoryStubs.stub(QrCodeRepository.class, Map.of(
+                "saveAndFlush", args -> args[0],
+                "findByTicketIdAndTicketPurchaserId", args -> ticketId.equals(args[0])
+                        ? Optional.of(storedQrCode)
+                        : Optional.empty()
+        ));
+        ArchivedTicket archivedTicket = ArchivedTicket.builder()
+                .id(archivedTicketId)
+                .qrCodeId(UUID.randomUUID())
+                .build();
+        ArchivedTicketRepository archivedTicketRepository = RepositoryStubs.stub(ArchivedTicketRepository.class, Map.of(
+                "findByIdAndPurchaserId", args -> Optional.of(archivedTicket)
+        ));
+
+        QrCodePoolRepository qrCodePoolRepository = RepositoryStubs.stub(QrCodePoolRepository.class, Map.of(
+                "claim", args -> pooled
+                        ? Optional.of(pooledQrCode(UUID.randomUUID(), pooledQrCodeImage))
+                        : Optional.empty()
+        ));
+
+        qrCodeService = new QrCodeServiceImpl(
+                new QRCodeWriter(),
+                qrCodeRepository,
+                qrCodePoolRepository,
+                archivedTicketRepository,
+                new PurchaseMetrics(new SimpleMeterRegistry(), 500));
+        pooledQrCodeImage = qrCodeService.renderQrCodeImage(UUID.randomUUID());
+
+        TicketType ticketType = new TicketType();
+        ticketType.setId(UUID.randomUUID());
+        ticket = new Ticket();
+        ticket.setId(ticketId);
+        ticket.setTicketType(ticketType);
+        storedQrCode = qrCodeService.generateQrCode(ticket);
+    }
+
+    private static ClaimedQrCode pooledQrCode(UUID id, String value) {
+        return new ClaimedQrCode() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getValue() {
+                return value;
+            }
+        };
+    }
+
+    @Benchmark
+    public QrCode generateQrCode() {
+        return qrCodeService.generateQrCode(ticket);
+    }
+
+    @Benchmark
+    public byte[] decodeQrCodeImage() {
+        return qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId);
+    }
+
+    @Benchmark
+    public byte[] renderArchivedQrCodeImage() {
+        return qrCodeService.getQrCodeImageForUserAndTicket(userId, archivedTicketId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.Hoang105.tickets.ratelimit.RateLimitKey;
+import com.Hoang105.tickets.ratelimit.RateLimitProperties;
+import com.Hoang105.tickets.ratelimit.RateLimiter;
+import com.Hoang105.tickets.ratelimit.TokenBuckets;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The rate limit check in front of purchases: taking a token from a bucket on
+ * its own, and a whole check of a purchase request by client address including
+ * the route match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 4096;
+
+    private final TokenBuckets buckets = new TokenBuckets(65536);
+    private final int[] keyHashes = new int[KEYS];
+    private int next;
+
+    private RateLimiter rateLimiter;
+    private MockHttpServletRequest purchaseRequest;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < KEYS; i++) {
+            keyHashes[i] = UUID.randomUUID().toString().hashCode();
+        }
+
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(Integer.MAX_VALUE);
+        limit.setRefillInterval(Duration.ofNanos(1));
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setMethod("POST");
+        route.setPath("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets");
+        route.getLimits().setClientIp(limit);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(Map.of("purchase", route));
+
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        purchaseRequest = new MockHttpServletRequest(
+                "POST", "/api/v1/events/" + UUID.randomUUID() + "/ticket-types/" + UUID.randomUUID() + "/tickets");
+    }
+
+    @Benchmark
+    public long takeToken() {
+        return buckets.tryTake(keyHashes[next++ & (KEYS - 1)], 10, 1_000);
+    }
+
+    @Benchmark
+    public long checkPurchaseRequest() {
+        // A new request each time as far as the route match is concerned
+        purchaseRequest.clearAttributes();
+        return rateLimiter.check(purchaseRequest, RateLimitKey.CLIENT_IP);
+    }
+}
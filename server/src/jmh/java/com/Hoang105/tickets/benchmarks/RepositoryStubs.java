@@ -0,0 +1,30 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories so services can be
+ * benchmarked without a database. Only the methods given are implemented.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (instance, method, args) -> {
+                    Function<Object[], Object> answer = methods.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(
+                                repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    }
+                    return answer.apply(args);
+                });
+        return repositoryType.cast(proxy);
+    }
+}
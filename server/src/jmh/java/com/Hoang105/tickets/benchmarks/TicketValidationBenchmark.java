@@ -0,0 +1,67 @@
+package com.Hoang105.tickets.benchmarks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Hoang105.tickets.domain.entities.Ticket;
+import com.Hoang105.tickets.domain.entities.TicketValidation;
+import com.Hoang105.tickets.repositories.QrCodeRepository;
+import com.Hoang105.tickets.repositories.TicketRepository;
+import com.Hoang105.tickets.repositories.TicketValidationRepository;
+import com.Hoang105.tickets.services.impl.TicketValidationServiceImpl;
+
+/**
+ * The VALID/INVALID decision for a manual check-in, for a ticket's first scan
+ * and for a re-scan. Whether the ticket was validated before is answered by the
+ * repository, so the cost no longer depends on the ticket's history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketValidationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean alreadyValidated;
+
+    private final UUID ticketId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+
+    private TicketValidationServiceImpl ticketValidationService;
+
+    @Setup
+    public void setUp() {
+        Ticket ticket = new Ticket();
+        ticket.setId(ticketId);
+        ticket.setEventId(eventId);
+
+        ticketValidationService = new TicketValidationServiceImpl(
+                RepositoryStubs.stub(TicketValidationRepository.class, Map.of(
+                        "save", args -> args[0],
+                        "existsByTicketIdAndEventIdAndStatus", args -> alreadyValidated)),
+                RepositoryStubs.stub(QrCodeRepository.class, Map.of()),
+                RepositoryStubs.stub(TicketRepository.class, Map.of("findByIdAndEventId", args -> Optional.of(ticket))),
+                event -> { });
+    }
+
+    @Benchmark
+    public TicketValidation validateTicketManually() {
+        return ticketValidationService.validateTicketManually(ticketId, eventId);
+    }
+}
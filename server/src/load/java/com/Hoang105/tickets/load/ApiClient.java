@@ -0,0 +1,121 @@
+package com.Hoang105.tickets.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventRequestDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventResponseDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateTicketTypeRequestDto;
+import com.Hoang105.tickets.domain.dtos.Staff.TicketValidationRequestDto;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The HTTP calls the simulator makes, built against the public API.
+ */
+final class ApiClient {
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    ApiClient(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper, Duration timeout) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    record CreatedEvent(UUID eventId, UUID ticketTypeId) {
+    }
+
+    CreatedEvent createPublishedEvent(String organizerToken, int capacity) throws IOException, InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        CreateTicketTypeRequestDto ticketType = new CreateTicketTypeRequestDto(
+                "General admission", 49.0, "Load test ticket type", capacity, null);
+        CreateEventRequestDto event = new CreateEventRequestDto(
+                "Load test " + now,
+                now.plusDays(7),
+                now.plusDays(7).plusHours(4),
+                "Load test arena",
+                now.minusHours(1),
+                now.plusDays(7),
+                EventStatusEnum.PUBLISHED,
+                List.of(ticketType));
+
+        HttpResponse<String> response = httpClient.send(
+                json(authorized("/api/v1/events", organizerToken), event),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Creating the event failed with " + response.statusCode() + ": " + response.body());
+        }
+
+        CreateEventResponseDto created = objectMapper.readValue(response.body(), CreateEventResponseDto.class);
+        return new CreatedEvent(created.getId(), created.getTicketTypes().getFirst().getId());
+    }
+
+    List<UUID> listTicketIds(String attendeeToken) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+                authorized("/api/v1/tickets?size=100", attendeeToken).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing tickets failed with " + response.statusCode());
+        }
+
+        List<UUID> ids = new ArrayList<>();
+        for (JsonNode ticket : objectMapper.readTree(response.body()).path("content")) {
+            ids.add(UUID.fromString(ticket.path("id").asText()));
+        }
+        return ids;
+    }
+
+    HttpRequest purchase(String attendeeToken, UUID eventId, UUID ticketTypeId) {
+        return authorized("/api/v1/events/" + eventId + "/ticket-types/" + ticketTypeId + "/tickets", attendeeToken)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    HttpRequest validate(String staffToken, UUID eventId, UUID ticketId) {
+        return json(authorized("/api/v1/ticket-validations", staffToken),
+                new TicketValidationRequestDto(ticketId, TicketValidationMethodEnum.MANUAL, eventId));
+    }
+
+    HttpRequest listPublishedEvents(int page) {
+        return request("/api/v1/published-events?page=" + page + "&size=20").GET().build();
+    }
+
+    HttpRequest getPublishedEvent(UUID eventId) {
+        return request("/api/v1/published-events/" + eventId).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, Object body) {
+        try {
+            return builder
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to serialize request body", ex);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.Hoang105.tickets.load;
+
+/**
+ * Request arrival rate over the lifetime of an open-loop scenario. Curves are
+ * configured as colon-separated specs, rates in requests per second and times
+ * in seconds:
+ * <ul>
+ *     <li>{@code constant:<rate>:<duration>}</li>
+ *     <li>{@code ramp:<from>:<to>:<duration>}</li>
+ *     <li>{@code burst:<peak>:<rampUp>:<hold>:<decay>} - an on-sale opening</li>
+ *     <li>{@code waves:<base>:<peak>:<period>:<duration>} - crowds reaching the gates</li>
+ * </ul>
+ */
+interface ArrivalCurve {
+
+    double ratePerSecond(double elapsedSeconds);
+
+    double durationSeconds();
+
+    static ArrivalCurve parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            return switch (parts[0]) {
+                case "constant" -> new Constant(number(parts, 1), number(parts, 2));
+                case "ramp" -> new Ramp(number(parts, 1), number(parts, 2), number(parts, 3));
+                case "burst" -> new Burst(number(parts, 1), number(parts, 2), number(parts, 3), number(parts, 4));
+                case "waves" -> new Waves(number(parts, 1), number(parts, 2), number(parts, 3), number(parts, 4));
+                default -> throw new IllegalArgumentException("Unknown arrival curve: " + spec);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid arrival curve: " + spec, ex);
+        }
+    }
+
+    private static double number(String[] parts, int index) {
+        return Double.parseDouble(parts[index]);
+    }
+
+    record Constant(double rate, double duration) implements ArrivalCurve {
+        @Override
+        public double ratePerSecond(double elapsedSeconds) {
+            return rate;
+        }
+
+        @Override
+        public double durationSeconds() {
+            return duration;
+        }
+    }
+
+    record Ramp(double from, double to, double duration) implements ArrivalCurve {
+        @Override
+        public double ratePerSecond(double elapsedSeconds) {
+            return from + (to - from) * Math.min(1, elapsedSeconds / duration);
+        }
+
+        @Override
+        public double durationSeconds() {
+            return duration;
+        }
+    }
+
+    record Burst(double peak, double rampUp, double hold, double decay) implements ArrivalCurve {
+        @Override
+        public double ratePerSecond(double elapsedSeconds) {
+            if (elapsedSeconds < rampUp) {
+                return peak * elapsedSeconds / rampUp;
+            }
+            if (elapsedSeconds < rampUp + hold) {
+                return peak;
+            }
+            return peak * Math.max(0, 1 - (elapsedSeconds - rampUp - hold) / decay);
+        }
+
+        @Override
+        public double durationSeconds() {
+            return rampUp + hold + decay;
+        }
+    }
+
+    record Waves(double base, double peak, double period, double duration) implements ArrivalCurve {
+        @Override
+        public double ratePerSecond(double elapsedSeconds) {
+            double wave = Math.sin(Math.PI * elapsedSeconds / period);
+            return base + (peak - base) * wave * wave;
+        }
+
+        @Override
+        public double durationSeconds() {
+            return duration;
+        }
+    }
+}
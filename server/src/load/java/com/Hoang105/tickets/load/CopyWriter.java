@@ -0,0 +1,106 @@
+package com.Hoang105.tickets.load;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Streams rows into a table with {@code COPY ... FROM STDIN} in Postgres text
+ * format, one field at a time.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final PGCopyOutputStream copy;
+    private final Writer writer;
+    private boolean firstField = true;
+    private long rows;
+
+    CopyWriter(Connection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        this.copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    CopyWriter uuid(UUID value) throws IOException {
+        return raw(value == null ? null : value.toString());
+    }
+
+    CopyWriter text(String value) throws IOException {
+        if (value == null) {
+            return raw(null);
+        }
+        separate();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+        return this;
+    }
+
+    CopyWriter number(double value) throws IOException {
+        return raw(Double.toString(value));
+    }
+
+    CopyWriter number(long value) throws IOException {
+        return raw(Long.toString(value));
+    }
+
+    CopyWriter timestamp(LocalDateTime value) throws IOException {
+        return raw(value == null ? null : TIMESTAMP.format(value));
+    }
+
+    CopyWriter enumValue(Enum<?> value) throws IOException {
+        return raw(value == null ? null : value.name());
+    }
+
+    void endRow() throws IOException {
+        writer.write('\n');
+        firstField = true;
+        rows++;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    // Values that never need escaping
+    private CopyWriter raw(String value) throws IOException {
+        separate();
+        writer.write(value == null ? "\\N" : value);
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (!firstField) {
+            writer.write('\t');
+        }
+        firstField = false;
+    }
+
+    /**
+     * Completes the COPY; rows become visible when the connection's transaction commits.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,339 @@
+package com.Hoang105.tickets.load;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.Hoang105.tickets.TicketsApplication;
+import com.Hoang105.tickets.repositories.SalesRollupRepository;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+/**
+ * Fills the configured database with a {@link SyntheticDataset} using
+ * {@code COPY}. The application is booted first so Flyway brings the schema up
+ * to date. Run with
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dload.main=com.Hoang105.tickets.load.DatasetSeeder \
+ *     -Dload.args="--spring.profiles.active=test --load.seed.users=1000000"
+ * </pre>
+ * Settings:
+ * <ul>
+ *     <li>{@code load.seed.random-seed} - default 42</li>
+ *     <li>{@code load.seed.reference-date} - ISO date the data is placed around, default today;
+ *     the same seed and reference date always produce the same rows</li>
+ *     <li>{@code load.seed.users} - default 500000</li>
+ *     <li>{@code load.seed.events} - default 10000</li>
+ *     <li>{@code load.seed.mega-events} - default 5</li>
+ *     <li>{@code load.seed.render-qr-codes} - store a real QR image in every QR code instead of a
+ *     short placeholder, for realistic table sizes; default false</li>
+ *     <li>{@code load.seed.parallelism} - tables loaded at the same time, default the number of CPUs</li>
+ *     <li>{@code load.seed.truncate} - empty the tables first; without it the seeder refuses to
+ *     run against a database that already has users</li>
+ * </ul>
+ */
+public final class DatasetSeeder {
+
+    private static final String[] TABLES = {
+            "users", "events", "ticket_types", "tickets", "qr_codes", "ticket_validations"
+    };
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(CopyWriter out, T row) throws IOException;
+    }
+
+    private final DataSource dataSource;
+    private final SalesRollupRepository salesRollupRepository;
+    private final int parallelism;
+
+    private DatasetSeeder(DataSource dataSource, SalesRollupRepository salesRollupRepository, int parallelism) {
+        this.dataSource = dataSource;
+        this.salesRollupRepository = salesRollupRepository;
+        this.parallelism = parallelism;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] applicationArgs = Arrays.copyOf(args, args.length + 1);
+        applicationArgs[args.length] = "--server.port=0";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketsApplication.class)
+                .properties(Map.of(
+                        "app.frontend.origin", "http://localhost",
+                        // Nothing is authenticated; the decoder only has to be creatable
+                        "spring.security.oauth2.resourceserver.jwt.issuer-uri", "http://localhost/unused",
+                        "app.database.verify-indexes", "false"))
+                .run(applicationArgs)) {
+
+            Environment environment = context.getEnvironment();
+            String referenceDate = environment.getProperty("load.seed.reference-date");
+
+            SyntheticDataset dataset = new SyntheticDataset(
+                    environment.getProperty("load.seed.random-seed", Long.class, 42L),
+                    referenceDate == null ? LocalDate.now() : LocalDate.parse(referenceDate),
+                    environment.getProperty("load.seed.users", Integer.class, 500_000),
+                    environment.getProperty("load.seed.events", Integer.class, 10_000),
+                    environment.getProperty("load.seed.mega-events", Integer.class, 5));
+
+            DatasetSeeder seeder = new DatasetSeeder(
+                    context.getBean(DataSource.class),
+                    context.getBean(SalesRollupRepository.class),
+                    environment.getProperty("load.seed.parallelism", Integer.class,
+                            Runtime.getRuntime().availableProcessors()));
+
+            seeder.seed(
+                    dataset,
+                    environment.getProperty("load.seed.truncate", Boolean.class, false),
+                    environment.getProperty("load.seed.render-qr-codes", Boolean.class, false)
+                            ? renderQrCode()
+                            : "seed");
+        }
+    }
+
+    private void seed(SyntheticDataset dataset, boolean truncate, String qrCodeValue) throws SQLException {
+        prepare(truncate);
+        System.out.println("Seeding " + dataset);
+        long start = System.nanoTime();
+
+        // Loading into bare tables and building indexes and foreign keys once at the end
+        // is several times faster than maintaining them row by row
+        List<String> restore = dropIndexesAndForeignKeys();
+        try {
+            load(dataset, qrCodeValue);
+        } finally {
+            execute("rebuild", restore);
+        }
+
+        // COPY bypasses the purchase path, so the sales rollups are built from the loaded tickets
+        long rollupStart = System.nanoTime();
+        int buckets = salesRollupRepository.backfill();
+        System.out.printf("%-20s %,12d rows in %6.1fs%n",
+                "sales_rollups", buckets, (System.nanoTime() - rollupStart) / 1e9);
+
+        analyze();
+        System.out.printf("Seeded in %.1fs%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    // Without foreign keys the tables are independent and can be loaded side by side
+    private void load(SyntheticDataset dataset, String qrCodeValue) throws SQLException {
+        List<Callable<Long>> copies = new ArrayList<>();
+
+        copies.add(() -> copy("users", new String[]{"id", "name", "email", "role", "created_at", "updated_at"},
+                dataset::forEachUser,
+                (out, user) -> out.uuid(user.id()).text(user.name()).text(user.email()).enumValue(user.role())
+                        .timestamp(user.createdAt()).timestamp(user.createdAt())));
+
+        copies.add(() -> copy("events", new String[]{"id", "name", "event_start", "event_end", "venue", "sales_start", "sales_end",
+                        "status", "organizer_id", "created_at", "updated_at"},
+                dataset::forEachEvent,
+                (out, event) -> out.uuid(event.id()).text(event.name()).timestamp(event.start())
+                        .timestamp(event.end()).text(event.venue()).timestamp(event.salesStart())
+                        .timestamp(event.salesEnd()).enumValue(event.status()).uuid(event.organizerId())
+                        .timestamp(event.createdAt()).timestamp(event.createdAt())));
+
+        copies.add(() -> copy("ticket_types", new String[]{"id", "name", "price", "description", "total_available", "event_id",
+                        "created_at", "updated_at"},
+                dataset::forEachTicketType,
+                (out, ticketType) -> out.uuid(ticketType.id()).text(ticketType.name()).number(ticketType.price())
+                        .text(ticketType.description()).number(ticketType.totalAvailable())
+                        .uuid(ticketType.eventId()).timestamp(ticketType.createdAt())
+                        .timestamp(ticketType.createdAt())));
+
+        copies.add(() -> copy("tickets", new String[]{"id", "status", "ticket_type_id", "event_id", "purchaser_id", "created_at",
+                        "updated_at"},
+                dataset::forEachTicket,
+                (out, ticket) -> out.uuid(ticket.id()).enumValue(ticket.status()).uuid(ticket.ticketTypeId())
+                        .uuid(ticket.eventId()).uuid(ticket.purchaserId()).timestamp(ticket.createdAt()).timestamp(ticket.createdAt())));
+
+        copies.add(() -> copy("qr_codes", new String[]{"id", "status", "value", "ticket_id", "event_id", "created_at", "updated_at"},
+                dataset::forEachQrCode,
+                (out, qrCode) -> out.uuid(qrCode.id()).enumValue(qrCode.status()).text(qrCodeValue)
+                        .uuid(qrCode.ticketId()).uuid(qrCode.eventId()).timestamp(qrCode.createdAt()).timestamp(qrCode.createdAt())));
+
+        copies.add(() -> copy("ticket_validations", new String[]{"id", "status", "validation_method", "ticket_id", "event_id",
+                        "created_at", "updated_at"},
+                dataset::forEachValidation,
+                (out, validation) -> out.uuid(validation.id()).enumValue(validation.status())
+                        .enumValue(validation.method()).uuid(validation.ticketId()).uuid(validation.eventId())
+                        .timestamp(validation.createdAt()).timestamp(validation.createdAt())));
+
+        ExecutorService loaders = Executors.newFixedThreadPool(Math.min(parallelism, copies.size()));
+        try {
+            for (Future<Long> copy : loaders.invokeAll(copies)) {
+                copy.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Loading failed", ex.getCause());
+        } finally {
+            loaders.shutdownNow();
+        }
+    }
+
+
+    private void prepare(boolean truncate) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (truncate) {
+                statement.execute("TRUNCATE " + String.join(", ", TABLES)
+                        + ", user_attending_events, user_staffing_events CASCADE");
+                return;
+            }
+            try (ResultSet existing = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM users)")) {
+                existing.next();
+                if (existing.getBoolean(1)) {
+                    throw new IllegalStateException(
+                            "The database already has users; pass --load.seed.truncate=true to replace its data");
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the foreign keys and the indexes not backing a constraint on the seeded
+     * tables, and returns the statements that recreate them: indexes first, so the
+     * foreign key checks can use them.
+     */
+    private List<String> dropIndexesAndForeignKeys() throws SQLException {
+        List<String> drop = new ArrayList<>();
+        List<String> createIndexes = new ArrayList<>();
+        List<String> addForeignKeys = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            Array tables = connection.createArrayOf("text", TABLES);
+
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT conrelid::regclass::text, conname, pg_get_constraintdef(oid)
+                    FROM pg_constraint
+                    WHERE contype = 'f' AND conparentid = 0 AND conrelid::regclass::text = ANY (?)""")) {
+                statement.setArray(1, tables);
+                try (ResultSet foreignKeys = statement.executeQuery()) {
+                    while (foreignKeys.next()) {
+                        String table = foreignKeys.getString(1);
+                        String name = foreignKeys.getString(2);
+                        drop.add("ALTER TABLE " + table + " DROP CONSTRAINT " + name);
+                        addForeignKeys.add("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + foreignKeys.getString(3));
+                    }
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT i.indexname, i.indexdef
+                    FROM pg_indexes i
+                    WHERE i.schemaname = current_schema()
+                      AND i.tablename = ANY (?)
+                      AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname)""")) {
+                statement.setArray(1, tables);
+                try (ResultSet indexes = statement.executeQuery()) {
+                    while (indexes.next()) {
+                        drop.add("DROP INDEX " + indexes.getString(1));
+                        // A partitioned table's index is reported as ON ONLY, which would leave the partitions unindexed
+                        createIndexes.add(indexes.getString(2).replace(" ON ONLY ", " ON "));
+                    }
+                }
+            }
+        }
+
+        execute("drop", drop);
+
+        List<String> restore = new ArrayList<>();
+        restore.add("SET maintenance_work_mem = '512MB'");
+        restore.addAll(createIndexes);
+        restore.addAll(addForeignKeys);
+        return restore;
+    }
+
+    private void execute(String step, List<String> statements) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+        System.out.printf("%-20s %,12d statements in %6.1fs%n",
+                step, statements.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private <T> long copy(String table, String[] columns, Consumer<Consumer<T>> rows, RowWriter<T> writer)
+            throws SQLException {
+        long start = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            long count;
+            try (CopyWriter out = new CopyWriter(connection, table, columns)) {
+                rows.accept(row -> {
+                    try {
+                        writer.write(out, row);
+                        out.endRow();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                count = out.getRows();
+            } catch (IOException ex) {
+                connection.rollback();
+                throw new UncheckedIOException("Copying into " + table + " failed", ex);
+            }
+            connection.commit();
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-20s %,12d rows in %6.1fs (%,.0f rows/s)%n", table, count, seconds, count / seconds);
+            return count;
+        }
+    }
+
+    // Fresh statistics, so query plans reflect the seeded volumes straight away
+    private void analyze() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE " + String.join(", ", TABLES));
+        }
+    }
+
+    // Same size and encoding as the images QrCodeServiceImpl stores; one image is shared by all rows
+    private static String renderQrCode() throws WriterException, IOException {
+        BufferedImage image = MatrixToImageWriter.toBufferedImage(
+                new QRCodeWriter().encode(new UUID(0, 0).toString(), BarcodeFormat.QR_CODE, 300, 300));
+        try (ByteArrayOutputStream png = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "PNG", png);
+            return Base64.getEncoder().encodeToString(png.toByteArray());
+        }
+    }
+}
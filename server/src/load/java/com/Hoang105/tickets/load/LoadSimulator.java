@@ -0,0 +1,231 @@
+package com.Hoang105.tickets.load;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.Hoang105.tickets.TicketsApplication;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.repositories.TicketRepository;
+import com.Hoang105.tickets.repositories.TicketTypeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Boots the application on a random port against the configured database and
+ * drives it over HTTP:
+ * <ol>
+ *     <li>an on-sale burst of purchases against one ticket type, with catalogue
+ *     browsing running alongside,</li>
+ *     <li>an oversell check of the tickets sold against {@code TicketType.totalAvailable},</li>
+ *     <li>gate-scanning waves validating the tickets that were sold.</li>
+ * </ol>
+ * Settings are ordinary Spring properties, passed like any other argument:
+ * <ul>
+ *     <li>{@code load.on-sale.capacity} - tickets on sale, default 500</li>
+ *     <li>{@code load.on-sale.buyers} - distinct attendees, default 2000; arrivals beyond this are repeat buyers</li>
+ *     <li>{@code load.on-sale.curve}, {@code load.browse.curve}, {@code load.gate.curve} - see {@link ArrivalCurve}</li>
+ *     <li>{@code load.http-timeout} - default 30s</li>
+ * </ul>
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dload.args="--spring.profiles.active=test --load.on-sale.capacity=1000"
+ * </pre>
+ * Exits with status 1 if more tickets were sold than were available, or if the
+ * number sold does not match the number of successful purchase responses.
+ */
+public final class LoadSimulator {
+
+    private LoadSimulator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(args));
+    }
+
+    private static int run(String[] args) throws Exception {
+        TokenMinter tokens = new TokenMinter();
+        Path publicKey = tokens.writePublicKey(Files.createTempFile("load-test-jwt", ".pem"));
+
+        // Tokens are verified against the generated key instead of a configured Keycloak issuer
+        String[] applicationArgs = Arrays.copyOf(args, args.length + 3);
+        applicationArgs[args.length] = "--spring.security.oauth2.resourceserver.jwt.public-key-location=file:" + publicKey;
+        applicationArgs[args.length + 1] = "--spring.security.oauth2.resourceserver.jwt.issuer-uri=";
+        applicationArgs[args.length + 2] = "--server.port=0";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketsApplication.class)
+                .properties(Map.of(
+                        "app.frontend.origin", "http://localhost",
+                        // Every simulated client connects from the same address
+                        "app.rate-limit.enabled", "false",
+                        // Sold-out responses are expected by the thousands during a burst
+                        "logging.level.com.Hoang105.tickets.controllers.GlobalExceptionHandler", "OFF"))
+                .run(applicationArgs)) {
+
+            return new Run(context, tokens).execute();
+        } finally {
+            Files.deleteIfExists(publicKey);
+        }
+    }
+
+    private static final class Run {
+
+        private final ConfigurableApplicationContext context;
+        private final Environment environment;
+        private final TokenMinter tokens;
+        private final HttpClient httpClient;
+        private final ApiClient api;
+        private final OpenLoopDriver driver;
+
+        private Run(ConfigurableApplicationContext context, TokenMinter tokens) {
+            this.context = context;
+            this.environment = context.getEnvironment();
+            this.tokens = tokens;
+            this.httpClient = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            this.api = new ApiClient(
+                    httpClient,
+                    URI.create("http://localhost:" + port),
+                    context.getBean(ObjectMapper.class),
+                    environment.getProperty("load.http-timeout", Duration.class, Duration.ofSeconds(30)));
+            this.driver = new OpenLoopDriver(httpClient);
+        }
+
+        private int execute() throws Exception {
+            int capacity = environment.getProperty("load.on-sale.capacity", Integer.class, 500);
+            int buyerCount = environment.getProperty("load.on-sale.buyers", Integer.class, 2000);
+            ArrivalCurve onSaleCurve = ArrivalCurve.parse(environment.getProperty("load.on-sale.curve", "burst:400:2:8:2"));
+            ArrivalCurve browseCurve = ArrivalCurve.parse(environment.getProperty("load.browse.curve", "constant:50:12"));
+            ArrivalCurve gateCurve = ArrivalCurve.parse(environment.getProperty("load.gate.curve", "waves:5:150:4:12"));
+
+            String organizer = tokens.mint(UUID.randomUUID(), "load-organizer", "ROLE_ORGANIZER");
+            String staff = tokens.mint(UUID.randomUUID(), "load-staff", "ROLE_STAFF");
+            List<String> buyers = IntStream.range(0, buyerCount)
+                    .mapToObj(i -> tokens.mint(UUID.randomUUID(), "load-buyer-" + i, "ROLE_ATTENDEE"))
+                    .toList();
+
+            ApiClient.CreatedEvent event = api.createPublishedEvent(organizer, capacity);
+            System.out.printf("Event %s, ticket type %s, %d tickets, %d buyers%n",
+                    event.eventId(), event.ticketTypeId(), capacity, buyerCount);
+
+            // On-sale burst with catalogue browsing alongside
+            Set<Integer> successfulBuyers = ConcurrentHashMap.newKeySet();
+            ScenarioResult onSale;
+            ScenarioResult browse;
+            try (ExecutorService scenarios = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<ScenarioResult> browsing = scenarios.submit(() -> driver.run("browse", browseCurve,
+                        arrival -> arrival % 4 == 0
+                                ? api.getPublishedEvent(event.eventId())
+                                : api.listPublishedEvents(arrival % 5),
+                        arrival -> { }));
+                onSale = driver.run("on-sale", onSaleCurve,
+                        arrival -> api.purchase(buyers.get(arrival % buyerCount), event.eventId(), event.ticketTypeId()),
+                        arrival -> successfulBuyers.add(arrival % buyerCount));
+                browse = browsing.get();
+            }
+
+            int failures = checkOversell(event.ticketTypeId(), onSale.count(204));
+
+            // Gate scanning over the tickets that were sold; scans past the number of
+            // tickets are re-scans and should be rejected as INVALID
+            List<UUID> ticketIds = collectTicketIds(successfulBuyers, buyers);
+            ScenarioResult gate = ticketIds.isEmpty()
+                    ? new ScenarioResult("gate")
+                    : driver.run("gate", gateCurve,
+                            arrival -> api.validate(staff, event.eventId(), ticketIds.get(arrival % ticketIds.size())),
+                            arrival -> { });
+
+            System.out.println();
+            System.out.println(onSale.report());
+            System.out.println(browse.report());
+            System.out.println(gate.report());
+            System.out.println(lockWaitReport());
+
+            return failures == 0 ? 0 : 1;
+        }
+
+        private int checkOversell(UUID ticketTypeId, long purchaseResponses) {
+            TicketType ticketType = context.getBean(TicketTypeRepository.class).findById(ticketTypeId).orElseThrow();
+            int sold = context.getBean(TicketRepository.class)
+                    .countByEventIdAndTicketTypeId(ticketType.getEvent().getId(), ticketTypeId);
+            int available = ticketType.getTotalAvailable();
+
+            int failures = 0;
+            if (sold > available) {
+                System.out.printf("FAIL oversold: %d tickets sold, %d available%n", sold, available);
+                failures++;
+            }
+            if (sold != purchaseResponses) {
+                System.out.printf("FAIL %d tickets sold but %d purchases succeeded%n", sold, purchaseResponses);
+                failures++;
+            }
+            if (failures == 0) {
+                System.out.printf("OK %d of %d tickets sold, no oversell%n", sold, available);
+            }
+            return failures;
+        }
+
+        private List<UUID> collectTicketIds(Set<Integer> buyerIndexes, List<String> buyers) throws Exception {
+            List<Future<List<UUID>>> wallets = new ArrayList<>();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int buyer : buyerIndexes) {
+                    wallets.add(clients.submit(() -> api.listTicketIds(buyers.get(buyer))));
+                }
+            }
+
+            List<UUID> ticketIds = new ArrayList<>();
+            for (Future<List<UUID>> wallet : wallets) {
+                ticketIds.addAll(wallet.get());
+            }
+            return ticketIds;
+        }
+
+        private String lockWaitReport() {
+            Timer lockWait = context.getBean(MeterRegistry.class)
+                    .find("tickets.purchase.phase")
+                    .tag("phase", "lock_wait")
+                    .timer();
+            if (lockWait == null) {
+                return "lock wait: not recorded";
+            }
+
+            StringBuilder report = new StringBuilder(String.format(
+                    "lock wait  count=%d mean=%.1fms max=%.1fms",
+                    lockWait.count(),
+                    lockWait.mean(TimeUnit.MILLISECONDS),
+                    lockWait.max(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile percentile : lockWait.takeSnapshot().percentileValues()) {
+                report.append(String.format(" p%s=%.1fms",
+                        BigDecimal.valueOf(percentile.percentile() * 100).stripTrailingZeros().toPlainString(),
+                        percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.Hoang105.tickets.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Issues requests at the rate an {@link ArrivalCurve} prescribes, each on its
+ * own virtual thread, regardless of how quickly earlier requests complete.
+ */
+final class OpenLoopDriver {
+
+    // Resolution at which the curve is integrated to place arrivals; also caps the rate at 20k/s
+    private static final double STEP_SECONDS = 0.00005;
+
+    private final HttpClient httpClient;
+
+    OpenLoopDriver(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Runs the curve to completion and waits for every request to finish.
+     * {@code onSuccess} receives the arrival number of each 2xx response.
+     */
+    ScenarioResult run(String name, ArrivalCurve curve, IntFunction<HttpRequest> requests, IntConsumer onSuccess) {
+        ScenarioResult result = new ScenarioResult(name);
+        long start = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            double elapsed = nextArrival(curve, 0);
+            int arrival = 0;
+
+            while (elapsed < curve.durationSeconds()) {
+                long scheduledAt = start + (long) (elapsed * 1e9);
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                int current = arrival++;
+                HttpRequest request = requests.apply(current);
+                clients.execute(() -> send(request, scheduledAt, current, result, onSuccess));
+
+                elapsed = nextArrival(curve, elapsed);
+            }
+        }
+
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    // Time at which the area under the curve since the previous arrival reaches one request
+    private static double nextArrival(ArrivalCurve curve, double previous) {
+        double expected = 0;
+        double elapsed = previous;
+        while (expected < 1 && elapsed < curve.durationSeconds()) {
+            expected += curve.ratePerSecond(elapsed) * STEP_SECONDS;
+            elapsed += STEP_SECONDS;
+        }
+        return elapsed;
+    }
+
+    private void send(HttpRequest request, long scheduledAt, int arrival, ScenarioResult result, IntConsumer onSuccess) {
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            result.record(System.nanoTime() - scheduledAt, response.statusCode());
+            if (response.statusCode() / 100 == 2) {
+                onSuccess.accept(arrival);
+            }
+        } catch (IOException ex) {
+            result.recordFailure(System.nanoTime() - scheduledAt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            result.recordFailure(System.nanoTime() - scheduledAt);
+        }
+    }
+}
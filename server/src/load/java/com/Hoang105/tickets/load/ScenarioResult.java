@@ -0,0 +1,75 @@
+package com.Hoang105.tickets.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and response statuses of one scenario. Latency is measured from
+ * the time a request was scheduled to arrive, not from when it was sent, so a
+ * saturated server shows up as latency instead of a lower arrival rate.
+ */
+final class ScenarioResult {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    private volatile long elapsedNanos;
+
+    ScenarioResult(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, int status) {
+        recordLatency(latencyNanos);
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    // The request never got a response: connection refused, timeout, etc.
+    void recordFailure(long latencyNanos) {
+        recordLatency(latencyNanos);
+        failures.increment();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        latencyMicros.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long count(int status) {
+        LongAdder count = statuses.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    long requests() {
+        return latencyMicros.getTotalCount();
+    }
+
+    String report() {
+        double seconds = elapsedNanos / 1e9;
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+
+        return String.format(
+                "%-10s requests=%d in %.1fs (%.1f req/s) statuses=%s failures=%d%n"
+                        + "%-10s latency ms p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+                name, requests(), seconds, seconds == 0 ? 0 : requests() / seconds, byStatus, failures.sum(),
+                "", millis(50), millis(90), millis(99), millis(99.9), latencyMicros.getMaxValue() / 1000.0);
+    }
+
+    private double millis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,335 @@
+package com.Hoang105.tickets.load;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.QrCodeStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+import com.Hoang105.tickets.domain.entities.enums.UserRoleEnum;
+
+/**
+ * A production-shaped dataset that is a pure function of a seed and a reference
+ * date: every id and attribute is derived from the seed and the row's position,
+ * so rows can be generated in any order, any number of times, and always come
+ * out the same. Nothing is held in memory.
+ * <p>
+ * Shape: a handful of sold-out mega events with tens of thousands of tickets
+ * per ticket type and an on-sale rush, a long tail of small events, a few
+ * promoters organizing a large share of events, and a small set of heavy repeat
+ * buyers holding a quarter of all tickets. Past events are completed and most
+ * of their tickets were scanned at the gate, some twice.
+ */
+final class SyntheticDataset {
+
+    private static final int ADMINISTRATORS = 10;
+    private static final int DAYS_OF_HISTORY = 3 * 365;
+
+    private static final String[] TICKET_TYPE_NAMES = {
+            "General admission", "VIP", "Early bird", "Student", "Balcony", "Backstage"
+    };
+    private static final String[] GENRES = {
+            "Jazz night", "Indie showcase", "Comedy club", "Tech meetup", "Theatre", "Food fair",
+            "Classical recital", "Hip hop live", "Film screening", "Book launch", "Startup pitch", "Dance party"
+    };
+    private static final String[] VENUES = {
+            "Riverside Hall", "The Old Warehouse", "Blue Door Club", "City Library Auditorium",
+            "Harbour Pavilion", "Northside Community Centre", "The Attic", "Grand Theatre",
+            "Union Square Stage", "Lakeside Amphitheatre", "Arts Quarter Gallery", "Station Hall"
+    };
+    private static final String[] STADIUMS = {
+            "National Stadium", "Olympic Park", "Expo Grounds", "Central Arena", "Racecourse Fields"
+    };
+
+    // Independent streams so that, e.g., the number of events does not shift user ids
+    private static final long USERS = 1;
+    private static final long EVENTS = 2;
+    private static final long TICKET_TYPES = 3;
+    private static final long TICKETS = 4;
+    private static final long QR_CODES = 5;
+    private static final long VALIDATIONS = 6;
+
+    record UserRow(UUID id, String name, String email, UserRoleEnum role, LocalDateTime createdAt) {
+    }
+
+    record EventRow(UUID id, String name, LocalDateTime start, LocalDateTime end, String venue,
+                    LocalDateTime salesStart, LocalDateTime salesEnd, EventStatusEnum status,
+                    UUID organizerId, LocalDateTime createdAt, boolean mega, int ticketTypeCount) {
+    }
+
+    record TicketTypeRow(UUID id, String name, double price, String description, int totalAvailable,
+                         int sold, UUID eventId, LocalDateTime createdAt) {
+    }
+
+    record TicketRow(UUID id, TicketStatusEnum status, UUID ticketTypeId, UUID eventId, UUID purchaserId,
+                     LocalDateTime createdAt) {
+    }
+
+    record QrCodeRow(UUID id, QrCodeStatusEnum status, UUID ticketId, UUID eventId, LocalDateTime createdAt) {
+    }
+
+    record ValidationRow(UUID id, TicketValidationEnum status, TicketValidationMethodEnum method,
+                         UUID ticketId, UUID eventId, LocalDateTime createdAt) {
+    }
+
+    private final long seed;
+    private final LocalDateTime reference;
+
+    private final int organizers;
+    private final int staff;
+    private final int attendees;
+    private final int events;
+    private final int megaEvents;
+
+    SyntheticDataset(long seed, LocalDate referenceDate, int users, int events, int megaEvents) {
+        this.seed = seed;
+        this.reference = referenceDate.atStartOfDay();
+        this.organizers = Math.max(1, users / 200);
+        this.staff = Math.max(1, users / 200);
+        this.attendees = users - ADMINISTRATORS - organizers - staff;
+        this.events = events;
+        this.megaEvents = Math.min(megaEvents, events);
+
+        if (attendees < 1) {
+            throw new IllegalArgumentException("At least " + (ADMINISTRATORS + organizers + staff + 1) + " users are required");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("seed=%d reference=%s users=%d events=%d megaEvents=%d",
+                seed, reference.toLocalDate(), ADMINISTRATORS + organizers + staff + attendees, events, megaEvents);
+    }
+
+    void forEachUser(Consumer<UserRow> rows) {
+        int index = 0;
+        index = users(rows, index, ADMINISTRATORS, UserRoleEnum.ADMINISTRATOR);
+        index = users(rows, index, organizers, UserRoleEnum.ORGANIZER);
+        index = users(rows, index, staff, UserRoleEnum.STAFF);
+        users(rows, index, attendees, UserRoleEnum.ATTENDEE);
+    }
+
+    private int users(Consumer<UserRow> rows, int first, int count, UserRoleEnum role) {
+        String prefix = role.name().toLowerCase();
+        for (int index = first; index < first + count; index++) {
+            SplittableRandom random = random(USERS, index);
+            // Sign-ups grow over time: more recent days are more likely
+            double daysAgo = DAYS_OF_HISTORY * (1 - Math.sqrt(random.nextDouble()));
+            rows.accept(new UserRow(
+                    id(USERS, index),
+                    prefix + "-" + index,
+                    prefix + "-" + index + "@seed.example",
+                    role,
+                    reference.minusSeconds((long) (daysAgo * 86_400))));
+        }
+        return first + count;
+    }
+
+    void forEachEvent(Consumer<EventRow> rows) {
+        for (int index = 0; index < events; index++) {
+            rows.accept(event(index));
+        }
+    }
+
+    void forEachTicketType(Consumer<TicketTypeRow> rows) {
+        int index = 0;
+        for (int e = 0; e < events; e++) {
+            EventRow event = event(e);
+            for (int k = 0; k < event.ticketTypeCount(); k++) {
+                rows.accept(ticketType(event, k, index++));
+            }
+        }
+    }
+
+    void forEachTicket(Consumer<TicketRow> rows) {
+        forEachSoldTicket((event, ticket, index) -> rows.accept(ticket));
+    }
+
+    void forEachQrCode(Consumer<QrCodeRow> rows) {
+        forEachSoldTicket((event, ticket, index) -> rows.accept(new QrCodeRow(
+                id(QR_CODES, index),
+                ticket.status() == TicketStatusEnum.PURCHASED && event.end().isAfter(reference)
+                        ? QrCodeStatusEnum.ACTIVE
+                        : QrCodeStatusEnum.EXPIRED,
+                ticket.id(),
+                ticket.eventId(),
+                ticket.createdAt())));
+    }
+
+    void forEachValidation(Consumer<ValidationRow> rows) {
+        long[] validationIndex = {0};
+        forEachSoldTicket((event, ticket, index) -> {
+            if (event.status() != EventStatusEnum.COMPLETED || ticket.status() != TicketStatusEnum.PURCHASED) {
+                return;
+            }
+            SplittableRandom random = random(VALIDATIONS, index);
+            if (random.nextDouble() >= 0.88) {
+                return; // no-show
+            }
+
+            LocalDateTime scannedAt = event.start().plusMinutes(random.nextInt(-60, 120));
+            TicketValidationMethodEnum method = random.nextDouble() < 0.95
+                    ? TicketValidationMethodEnum.QR_SCAN
+                    : TicketValidationMethodEnum.MANUAL;
+            rows.accept(new ValidationRow(id(VALIDATIONS, validationIndex[0]++),
+                    TicketValidationEnum.VALID, method, ticket.id(), ticket.eventId(), scannedAt));
+
+            if (random.nextDouble() < 0.04) {
+                rows.accept(new ValidationRow(id(VALIDATIONS, validationIndex[0]++),
+                        TicketValidationEnum.INVALID, TicketValidationMethodEnum.QR_SCAN, ticket.id(), ticket.eventId(),
+                        scannedAt.plusMinutes(random.nextInt(1, 90))));
+            }
+        });
+    }
+
+    private interface SoldTicketVisitor {
+        void visit(EventRow event, TicketRow ticket, long index);
+    }
+
+    private void forEachSoldTicket(SoldTicketVisitor visitor) {
+        long index = 0;
+        int ticketTypeIndex = 0;
+        for (int e = 0; e < events; e++) {
+            EventRow event = event(e);
+            for (int k = 0; k < event.ticketTypeCount(); k++) {
+                TicketTypeRow ticketType = ticketType(event, k, ticketTypeIndex++);
+                for (int sold = 0; sold < ticketType.sold(); sold++) {
+                    visitor.visit(event, ticket(event, ticketType, index), index);
+                    index++;
+                }
+            }
+        }
+    }
+
+    private EventRow event(int index) {
+        SplittableRandom random = random(EVENTS, index);
+        boolean mega = index < megaEvents;
+
+        LocalDateTime start = reference
+                .plusDays(random.nextInt(-730, 366))
+                .withHour(random.nextInt(17, 22));
+        LocalDateTime end = mega
+                ? start.plusDays(random.nextInt(1, 4))
+                : start.plusHours(random.nextInt(2, 6));
+        LocalDateTime salesStart = start.minusDays(random.nextInt(30, 121)).withHour(10);
+        LocalDateTime createdAt = salesStart.minusDays(random.nextInt(1, 15));
+
+        EventStatusEnum status;
+        double roll = random.nextDouble();
+        if (start.isBefore(reference)) {
+            status = roll < 0.95 ? EventStatusEnum.COMPLETED : EventStatusEnum.CANCELLED;
+        } else {
+            status = roll < 0.85 ? EventStatusEnum.PUBLISHED
+                    : roll < 0.97 ? EventStatusEnum.DRAFT
+                    : EventStatusEnum.CANCELLED;
+        }
+
+        // A few promoters organize a large share of all events
+        int organizer = random.nextDouble() < 0.3
+                ? random.nextInt(Math.max(1, organizers / 100))
+                : random.nextInt(organizers);
+
+        return new EventRow(
+                id(EVENTS, index),
+                mega ? "Festival " + index : GENRES[random.nextInt(GENRES.length)] + " #" + index,
+                start,
+                end,
+                mega ? STADIUMS[random.nextInt(STADIUMS.length)] : VENUES[random.nextInt(VENUES.length)],
+                salesStart,
+                start,
+                status,
+                id(USERS, ADMINISTRATORS + organizer),
+                createdAt,
+                mega,
+                mega ? random.nextInt(4, 7) : random.nextInt(1, 5));
+    }
+
+    private TicketTypeRow ticketType(EventRow event, int position, int index) {
+        SplittableRandom random = random(TICKET_TYPES, index);
+        String name = TICKET_TYPE_NAMES[position % TICKET_TYPE_NAMES.length];
+
+        int capacity = event.mega()
+                ? random.nextInt(20_000, 60_001)
+                : (int) Math.min(5_000, Math.max(10, Math.round(120 * Math.exp(random.nextGaussian()))));
+        double price = Math.round(15 * Math.exp(0.6 * random.nextGaussian()) * (position == 1 ? 3 : 1) * 100) / 100.0;
+
+        return new TicketTypeRow(
+                id(TICKET_TYPES, index),
+                name,
+                event.mega() ? price * 4 : price,
+                name + " for " + event.name(),
+                capacity,
+                (int) (capacity * sellThrough(event, random)),
+                event.id(),
+                event.createdAt());
+    }
+
+    private double sellThrough(EventRow event, SplittableRandom random) {
+        if (event.mega()) {
+            return event.status() == EventStatusEnum.DRAFT ? 0 : random.nextDouble(0.95, 1);
+        }
+        return switch (event.status()) {
+            case DRAFT -> 0;
+            case COMPLETED -> random.nextDouble(0.5, 1);
+            case CANCELLED -> random.nextDouble(0, 0.5);
+            case PUBLISHED -> {
+                double salesElapsed = (double) Duration.between(event.salesStart(), reference).toSeconds()
+                        / Duration.between(event.salesStart(), event.salesEnd()).toSeconds();
+                yield Math.clamp(salesElapsed, 0, 1) * random.nextDouble(0.2, 1);
+            }
+        };
+    }
+
+    private TicketRow ticket(EventRow event, TicketTypeRow ticketType, long index) {
+        SplittableRandom random = random(TICKETS, index);
+
+        // Heavy repeat buyers: 1% of attendees hold a quarter of all tickets
+        int attendee = random.nextDouble() < 0.25
+                ? random.nextInt(Math.max(1, attendees / 100))
+                : random.nextInt(attendees);
+
+        LocalDateTime salesClose = event.salesEnd().isBefore(reference) ? event.salesEnd() : reference;
+        long window = Math.max(1, Duration.between(event.salesStart(), salesClose).toSeconds());
+        // Mega events sell most of their tickets in the first two hours of the on-sale
+        long offset = event.mega() && random.nextDouble() < 0.7
+                ? random.nextLong(Math.min(window, 7_200))
+                : random.nextLong(window);
+
+        TicketStatusEnum status = event.status() == EventStatusEnum.CANCELLED || random.nextDouble() < 0.03
+                ? TicketStatusEnum.CANCELLED
+                : TicketStatusEnum.PURCHASED;
+
+        return new TicketRow(
+                id(TICKETS, index),
+                status,
+                ticketType.id(),
+                event.id(),
+                id(USERS, ADMINISTRATORS + organizers + staff + attendee),
+                event.salesStart().plusSeconds(offset));
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(mix(seed, stream + 128, index));
+    }
+
+    private UUID id(long stream, long index) {
+        long high = mix(seed, stream, index);
+        long low = mix(seed, stream + 64, index);
+        // Shape the bits like a random (version 4) UUID
+        return new UUID((high & ~0xF000L) | 0x4000L, (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    // SplitMix64 finalizer over the seed, stream and position
+    private static long mix(long seed, long stream, long index) {
+        long z = seed + stream * 0x9E3779B97F4A7C15L + index * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
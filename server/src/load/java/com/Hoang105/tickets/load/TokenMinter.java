@@ -0,0 +1,70 @@
+package com.Hoang105.tickets.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Signs Keycloak-shaped access tokens with a key pair generated for the run.
+ * The server under test is pointed at the public key instead of Keycloak.
+ */
+final class TokenMinter {
+
+    private final RSAKey key;
+    private final RSASSASigner signer;
+
+    TokenMinter() {
+        try {
+            this.key = new RSAKeyGenerator(2048).generate();
+            this.signer = new RSASSASigner(key);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to generate signing key", ex);
+        }
+    }
+
+    Path writePublicKey(Path file) throws IOException {
+        try {
+            String encoded = Base64.getMimeEncoder(64, "\n".getBytes())
+                    .encodeToString(key.toRSAPublicKey().getEncoded());
+            return Files.writeString(file,
+                    "-----BEGIN PUBLIC KEY-----\n" + encoded + "\n-----END PUBLIC KEY-----\n");
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to export public key", ex);
+        }
+    }
+
+    String mint(UUID subject, String username, String role) {
+        Instant now = Instant.now();
+
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .subject(subject.toString())
+                .claim("preferred_username", username)
+                .claim("email", username + "@load.test")
+                .claim("realm_access", Map.of("roles", List.of(role)))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)));
+
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims.build());
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to sign token", ex);
+        }
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,110 @@
+package com.Hoang105.tickets.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.config.BackgroundWorkThrottle;
+import com.Hoang105.tickets.repositories.ArchivedTicketRepository;
+import com.Hoang105.tickets.repositories.EventRepository;
+import com.Hoang105.tickets.repositories.TicketRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the tickets of finished events out of the partitioned hot tables into
+ * archived_tickets, one chunk per tick, so the hot tables and their indexes
+ * only hold tickets that can still be bought, cancelled or scanned.
+ * <p>
+ * An event qualifies once both its end and its sales end lie further back than
+ * {@code app.archival.delay}. Every chunk is its own short transaction that
+ * skips rows locked by live requests, and a tick is skipped altogether while
+ * requests are queueing for a connection, a primary or lane pool is busier than
+ * {@code app.archival.max-pool-utilisation}, or a read replica lags by more than
+ * {@code app.archival.max-replica-lag}; live traffic therefore always wins and
+ * the archive simply catches up later.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.archival.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketArchiver {
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final BackgroundWorkThrottle backgroundWorkThrottle;
+
+    private final Duration delay;
+    private final int chunkSize;
+    private final double maxPoolUtilisation;
+    private final long maxReplicaLagMillis;
+
+    private final Counter archived;
+    private final Counter throttled;
+
+    // Only touched by the scheduler thread
+    private UUID currentEventId;
+
+    public TicketArchiver(
+            EventRepository eventRepository,
+            TicketRepository ticketRepository,
+            ArchivedTicketRepository archivedTicketRepository,
+            BackgroundWorkThrottle backgroundWorkThrottle,
+            MeterRegistry meterRegistry,
+            @Value("${app.archival.delay:P7D}") Duration delay,
+            @Value("${app.archival.chunk-size:500}") int chunkSize,
+            @Value("${app.archival.max-pool-utilisation:0.5}") double maxPoolUtilisation,
+            @Value("${app.archival.max-replica-lag:PT1S}") Duration maxReplicaLag) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.backgroundWorkThrottle = backgroundWorkThrottle;
+        this.delay = delay;
+        this.chunkSize = chunkSize;
+        this.maxPoolUtilisation = maxPoolUtilisation;
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+
+        this.archived = Counter.builder("tickets.archival.archived")
+                .description("Tickets moved from the hot tables to archived_tickets")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("tickets.archival.throttled")
+                .description("Archival ticks skipped to leave the database to live traffic")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archival.interval:PT1S}")
+    public void archiveNextChunk() {
+        if (backgroundWorkThrottle.isDatabaseBusy(maxPoolUtilisation, maxReplicaLagMillis)) {
+            throttled.increment();
+            return;
+        }
+
+        if (currentEventId == null) {
+            List<UUID> next = eventRepository.findArchivableEventIds(LocalDateTime.now().minus(delay), Limit.of(1));
+            if (next.isEmpty()) {
+                return;
+            }
+            currentEventId = next.get(0);
+            log.info("Archiving the tickets of event {}", currentEventId);
+        }
+
+        int moved = archivedTicketRepository.archiveChunk(currentEventId, chunkSize, LocalDateTime.now());
+        archived.increment(moved);
+
+        // A short chunk either emptied the event or skipped locked rows; only the first finishes it
+        if (moved < chunkSize && !ticketRepository.existsByEventId(currentEventId)) {
+            eventRepository.markArchived(currentEventId, LocalDateTime.now());
+            log.info("Archived the tickets of event {}", currentEventId);
+            currentEventId = null;
+        }
+    }
+}
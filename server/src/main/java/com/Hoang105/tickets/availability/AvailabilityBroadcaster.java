@@ -0,0 +1,309 @@
+package com.Hoang105.tickets.availability;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Hoang105.tickets.domain.TicketTypeAvailability;
+import com.Hoang105.tickets.domain.dtos.GetPublishedEventAvailabilityResponseDto;
+import com.Hoang105.tickets.domain.dtos.GetPublishedEventAvailabilityTicketTypeResponseDto;
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+import com.Hoang105.tickets.domain.events.EventDeleted;
+import com.Hoang105.tickets.domain.events.EventUpdated;
+import com.Hoang105.tickets.domain.events.TicketPurchased;
+import com.Hoang105.tickets.repositories.TicketTypeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes the remaining quantity of every ticket type of a published event to
+ * the clients watching it, served by
+ * {@code GET /api/v1/published-events/{eventId}/availability} as Server-Sent
+ * Events.
+ * <p>
+ * A single producer thread does all the work. Each tick it recomputes, with one
+ * query, every watched event that had a purchase or an update since the last
+ * tick or has not been recomputed for {@code app.availability.max-staleness},
+ * serialises the result once and writes it to all of the event's watchers. An
+ * event is therefore sent at most once per {@code app.availability.interval}
+ * however many tickets sell in between and however many clients watch it, and
+ * nothing is sent while availability does not change. Purchases are noticed
+ * through the outbox; the staleness refresh covers purchases whose outbox
+ * events another instance dispatched. New watchers get the current
+ * availability on the next tick, so every write to a client happens on the
+ * producer thread and updates arrive in order.
+ */
+@Component
+@Slf4j
+public class AvailabilityBroadcaster implements SmartLifecycle {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration interval;
+    private final long maxStalenessNanos;
+    private final long heartbeatNanos;
+    private final Duration timeout;
+
+    private final Counter updates;
+
+    private final Map<UUID, EventStream> streams = new ConcurrentHashMap<>();
+    private final Set<UUID> changedEvents = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AvailabilityBroadcaster(
+            TicketTypeRepository ticketTypeRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.availability.interval:PT0.25S}") Duration interval,
+            @Value("${app.availability.max-staleness:PT5S}") Duration maxStaleness,
+            @Value("${app.availability.heartbeat:PT15S}") Duration heartbeat,
+            @Value("${app.availability.timeout:PT30M}") Duration timeout) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.objectMapper = objectMapper;
+        // Read from the primary, so a refresh right after a purchase already includes it
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.interval = interval;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.timeout = timeout;
+
+        Gauge.builder("tickets.availability.watchers", streams,
+                        s -> s.values().stream().mapToInt(EventStream::size).sum())
+                .description("Clients watching the availability of an event")
+                .register(meterRegistry);
+        this.updates = Counter.builder("tickets.availability.updates")
+                .description("Availability changes sent to the watchers of an event")
+                .register(meterRegistry);
+    }
+
+    public boolean isStreaming(UUID eventId) {
+        return streams.containsKey(eventId);
+    }
+
+    public SseEmitter subscribe(UUID eventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> unsubscribe(eventId, emitter));
+        emitter.onError(ex -> unsubscribe(eventId, emitter));
+
+        streams.compute(eventId, (id, stream) -> {
+            EventStream target = stream != null ? stream : new EventStream();
+            target.joining.add(emitter);
+            return target;
+        });
+        return emitter;
+    }
+
+    private void unsubscribe(UUID eventId, SseEmitter emitter) {
+        EventStream stream = streams.get(eventId);
+        if (stream != null) {
+            stream.joining.remove(emitter);
+            stream.watching.remove(emitter);
+        }
+    }
+
+    @EventListener
+    public void onTicketPurchased(TicketPurchased event) {
+        markChanged(event.eventId());
+    }
+
+    @EventListener
+    public void onEventUpdated(EventUpdated event) {
+        if (event.changed(EventFieldEnum.STATUS) || event.changed(TicketTypeFieldEnum.TOTAL_AVAILABLE)) {
+            markChanged(event.eventId());
+        }
+    }
+
+    @EventListener
+    public void onEventDeleted(EventDeleted event) {
+        markChanged(event.eventId());
+    }
+
+    private void markChanged(UUID eventId) {
+        if (streams.containsKey(eventId)) {
+            changedEvents.add(eventId);
+        }
+    }
+
+    /**
+     * Refreshes, sends and prunes every watched event once.
+     */
+    void tick() {
+        long now = System.nanoTime();
+
+        for (Map.Entry<UUID, EventStream> entry : streams.entrySet()) {
+            UUID eventId = entry.getKey();
+            EventStream stream = entry.getValue();
+
+            try {
+                boolean changed = changedEvents.remove(eventId);
+                if (changed || stream.payload == null || now - stream.refreshedAt >= maxStalenessNanos) {
+                    refresh(eventId, stream, now);
+                }
+
+                if (stream.payload != null) {
+                    for (SseEmitter emitter : stream.joining) {
+                        stream.joining.remove(emitter);
+                        if (send(emitter, stream.payload)) {
+                            stream.watching.add(emitter);
+                        }
+                    }
+                }
+
+                if (now - stream.sentAt >= heartbeatNanos) {
+                    // Also how connections closed by the client are found
+                    stream.watching.removeIf(emitter -> !send(emitter, HEARTBEAT));
+                    stream.sentAt = now;
+                }
+            } catch (RuntimeException | JsonProcessingException ex) {
+                log.warn("Refreshing the availability of event {} failed", eventId, ex);
+            }
+
+            streams.computeIfPresent(eventId, (id, s) -> s.size() == 0 ? null : s);
+        }
+    }
+
+    private void refresh(UUID eventId, EventStream stream, long now) throws JsonProcessingException {
+        List<TicketTypeAvailability> availability = transactionTemplate.execute(status ->
+                ticketTypeRepository.findAvailabilityByEventId(eventId, EventStatusEnum.PUBLISHED));
+        stream.refreshedAt = now;
+
+        // Unpublished or deleted since the clients subscribed
+        if (availability.isEmpty()) {
+            stream.joining.forEach(SseEmitter::complete);
+            stream.watching.forEach(SseEmitter::complete);
+            stream.joining.clear();
+            stream.watching.clear();
+            return;
+        }
+
+        String json = objectMapper.writeValueAsString(new GetPublishedEventAvailabilityResponseDto(
+                eventId,
+                availability.stream()
+                        .map(ticketType -> new GetPublishedEventAvailabilityTicketTypeResponseDto(
+                                ticketType.ticketTypeId(), ticketType.remaining()))
+                        .toList()));
+        if (json.equals(stream.json)) {
+            return;
+        }
+
+        stream.json = json;
+        stream.payload = SseEmitter.event()
+                .id(Long.toString(++stream.version))
+                .name("availability")
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+
+        stream.watching.removeIf(emitter -> !send(emitter, stream.payload));
+        stream.sentAt = now;
+        updates.increment();
+    }
+
+    /**
+     * Writes to one client, returning false once it can no longer be written to.
+     * A failed write needs no clean-up here: the container reports the broken
+     * connection and the emitter's error callback unsubscribes it.
+     */
+    private static boolean send(SseEmitter emitter, Set<DataWithMediaType> payload) {
+        try {
+            emitter.send(payload);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            return false;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long start = System.nanoTime();
+            try {
+                tick();
+            } catch (RuntimeException ex) {
+                log.warn("Broadcasting availability failed", ex);
+            }
+
+            long remaining = interval.toNanos() - (System.nanoTime() - start);
+            if (remaining > 0) {
+                try {
+                    Thread.sleep(Duration.ofNanos(remaining));
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("availability-broadcaster").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(interval.toMillis() * 4);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Clients reconnect, to another instance if this one is going away
+        for (EventStream stream : streams.values()) {
+            stream.joining.forEach(SseEmitter::complete);
+            stream.watching.forEach(SseEmitter::complete);
+        }
+        streams.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static final class EventStream {
+
+        // Subscribed since the last tick and not sent anything yet
+        final Set<SseEmitter> joining = ConcurrentHashMap.newKeySet();
+        final Set<SseEmitter> watching = ConcurrentHashMap.newKeySet();
+
+        // Only touched by the producer thread
+        String json;
+        Set<DataWithMediaType> payload;
+        long version;
+        long refreshedAt;
+        long sentAt;
+
+        int size() {
+            return joining.size() + watching.size();
+        }
+    }
+}
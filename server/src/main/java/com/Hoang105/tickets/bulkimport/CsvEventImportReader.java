@@ -0,0 +1,195 @@
+package com.Hoang105.tickets.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventRequestDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateTicketTypeRequestDto;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.exceptions.EventImportException;
+
+/**
+ * RFC 4180 CSV with a header row and one row per ticket type:
+ * <pre>
+ * event,name,start,end,venue,sales_start,sales_end,status,ticket_type_name,ticket_type_price,ticket_type_description,ticket_type_total_available,ticket_type_inventory_buckets
+ * </pre>
+ * Consecutive rows with the same {@code event} reference make up one event,
+ * whose own columns are taken from the first of them; a row without one is an
+ * event of its own. Dates are ISO local date-times. Columns other than
+ * {@code event} may be left out of the header, and unknown ones are ignored.
+ */
+class CsvEventImportReader implements EventImportReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String EVENT_COLUMN = "event";
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    private int line;
+    private Row pending;
+
+    CsvEventImportReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        Row header = readRow();
+        if (header != null) {
+            for (int i = 0; i < header.fields().size(); i++) {
+                columns.putIfAbsent(header.fields().get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.containsKey(EVENT_COLUMN)) {
+            throw new EventImportException("Expected a CSV header row with an event column");
+        }
+    }
+
+    @Override
+    public EventImportItem next() throws IOException {
+        Row first = pending != null ? pending : readRow();
+        pending = null;
+        if (first == null) {
+            return null;
+        }
+
+        List<Row> rows = new ArrayList<>();
+        rows.add(first);
+
+        String reference = value(first, EVENT_COLUMN);
+        if (reference != null) {
+            Row row;
+            while ((row = readRow()) != null) {
+                if (!reference.equals(value(row, EVENT_COLUMN))) {
+                    pending = row;
+                    break;
+                }
+                rows.add(row);
+            }
+        }
+
+        return toItem(rows);
+    }
+
+    private EventImportItem toItem(List<Row> rows) {
+        List<String> errors = new ArrayList<>();
+        Row first = rows.getFirst();
+
+        CreateEventRequestDto event = new CreateEventRequestDto();
+        event.setName(value(first, "name"));
+        event.setStart(parse(first, "start", LocalDateTime::parse, errors));
+        event.setEnd(parse(first, "end", LocalDateTime::parse, errors));
+        event.setVenue(value(first, "venue"));
+        event.setSalesStart(parse(first, "sales_start", LocalDateTime::parse, errors));
+        event.setSalesEnd(parse(first, "sales_end", LocalDateTime::parse, errors));
+        event.setStatus(parse(first, "status", EventStatusEnum::valueOf, errors));
+
+        List<CreateTicketTypeRequestDto> ticketTypes = new ArrayList<>();
+        for (Row row : rows) {
+            CreateTicketTypeRequestDto ticketType = new CreateTicketTypeRequestDto();
+            ticketType.setName(value(row, "ticket_type_name"));
+            ticketType.setPrice(parse(row, "ticket_type_price", Double::valueOf, errors));
+            ticketType.setDescription(value(row, "ticket_type_description"));
+            ticketType.setTotalAvailable(parse(row, "ticket_type_total_available", Integer::valueOf, errors));
+            ticketType.setInventoryBuckets(parse(row, "ticket_type_inventory_buckets", Integer::valueOf, errors));
+
+            // An event row without ticket type columns
+            if (ticketType.getName() != null || ticketType.getPrice() != null
+                    || ticketType.getDescription() != null || ticketType.getTotalAvailable() != null
+                    || ticketType.getInventoryBuckets() != null) {
+                ticketTypes.add(ticketType);
+            }
+        }
+        event.setTicketTypes(ticketTypes);
+
+        return errors.isEmpty()
+                ? EventImportItem.read(event)
+                : EventImportItem.unreadable(event.getName(), errors);
+    }
+
+    /**
+     * The next non-blank row, or null at the end of the input.
+     */
+    private Row readRow() throws IOException {
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+
+            int rowLine = ++line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted value starting on line " + rowLine);
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+
+            if (fields.size() > 1 || !fields.getFirst().isBlank()) {
+                return new Row(rowLine, fields);
+            }
+        }
+    }
+
+    private record Row(int line, List<String> fields) {
+    }
+
+    private String value(Row row, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields().size()) {
+            return null;
+        }
+        String value = row.fields().get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(Row row, String column, Function<String, T> parser, List<String> errors) {
+        String value = value(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            errors.add("line " + row.line() + ", " + column + ": invalid value");
+            return null;
+        }
+    }
+}
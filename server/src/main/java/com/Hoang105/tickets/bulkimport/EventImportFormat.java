@@ -0,0 +1,36 @@
+package com.Hoang105.tickets.bulkimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum EventImportFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    EventImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static Optional<EventImportFormat> of(MediaType contentType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.isCompatibleWith(contentType))
+                .findFirst();
+    }
+
+    EventImportReader open(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case JSON -> new JsonEventImportReader(in, objectMapper);
+            case CSV -> new CsvEventImportReader(in);
+        };
+    }
+}
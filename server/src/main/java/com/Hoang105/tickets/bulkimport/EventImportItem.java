@@ -0,0 +1,20 @@
+package com.Hoang105.tickets.bulkimport;
+
+import java.util.List;
+
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventRequestDto;
+
+/**
+ * One event read from an import: either the request to validate and save, or
+ * why it could not be read.
+ */
+record EventImportItem(String name, CreateEventRequestDto event, List<String> errors) {
+
+    static EventImportItem read(CreateEventRequestDto event) {
+        return new EventImportItem(event.getName(), event, List.of());
+    }
+
+    static EventImportItem unreadable(String name, List<String> errors) {
+        return new EventImportItem(name, null, errors);
+    }
+}
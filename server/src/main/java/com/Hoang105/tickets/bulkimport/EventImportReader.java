@@ -0,0 +1,18 @@
+package com.Hoang105.tickets.bulkimport;
+
+import java.io.IOException;
+
+/**
+ * Reads the events of an import one at a time, so an import of any size is
+ * never held in memory whole.
+ */
+interface EventImportReader {
+
+    /**
+     * The next event, or null once the input is exhausted.
+     *
+     * @throws IOException if the input cannot be read any further, for example
+     *         because it is not well-formed
+     */
+    EventImportItem next() throws IOException;
+}
@@ -0,0 +1,232 @@
+package com.Hoang105.tickets.bulkimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Hoang105.tickets.config.ReadYourWritesTracker;
+import com.Hoang105.tickets.domain.CreateEventRequest;
+import com.Hoang105.tickets.domain.CreateTicketTypeRequest;
+import com.Hoang105.tickets.domain.dtos.Organizer.ImportEventErrorResponseDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.ImportEventsResponseDto;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.events.EventPublished;
+import com.Hoang105.tickets.exceptions.UserNotFoundException;
+import com.Hoang105.tickets.invalidation.CacheInvalidationBus;
+import com.Hoang105.tickets.invalidation.CacheRegion;
+import com.Hoang105.tickets.mappers.EventMapper;
+import com.Hoang105.tickets.outbox.DomainEventPublisher;
+import com.Hoang105.tickets.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates many events for one organizer from a JSON or CSV upload. Events are
+ * read and validated one at a time as the upload arrives, with the same rules
+ * as a single creation, and saved {@code app.import.chunk-size} at a time: each
+ * chunk is one transaction of two JDBC batch inserts, one for the events and
+ * one for their ticket types, instead of a round trip per row.
+ * <p>
+ * An event that cannot be read, fails validation or is refused by the database
+ * is reported by its position in the input and the rest are imported anyway.
+ * Chunks already committed stay so if the upload breaks off part way through.
+ */
+@Component
+@Slf4j
+public class EventImporter {
+
+    private static final String INSERT_EVENT_SQL = """
+            INSERT INTO events (id, name, event_start, event_end, venue, sales_start, sales_end,
+                                status, organizer_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_TICKET_TYPE_SQL = """
+            INSERT INTO ticket_types (id, name, price, description, total_available, inventory_buckets, event_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final UserRepository userRepository;
+    private final EventMapper eventMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final MeterRegistry meterRegistry;
+
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public EventImporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            UserRepository userRepository,
+            EventMapper eventMapper,
+            Validator validator,
+            ObjectMapper objectMapper,
+            DomainEventPublisher domainEventPublisher,
+            CacheInvalidationBus cacheInvalidationBus,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry,
+            @Value("${app.import.chunk-size:500}") int chunkSize,
+            @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.eventMapper = eventMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.domainEventPublisher = domainEventPublisher;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportEventsResponseDto importEvents(UUID organizerId, EventImportFormat format, InputStream in) throws IOException {
+        if (!userRepository.existsById(organizerId)) {
+            throw new UserNotFoundException(String.format("User with ID '%s' not found", organizerId));
+        }
+
+        long start = System.nanoTime();
+        ImportEventsResponseDto result = new ImportEventsResponseDto();
+        EventImportReader reader = format.open(in, objectMapper);
+        List<PendingEvent> chunk = new ArrayList<>(chunkSize);
+
+        try {
+            EventImportItem item;
+            while ((item = reader.next()) != null) {
+                int position = result.getReceived() + 1;
+                result.setReceived(position);
+
+                List<String> errors = item.event() == null ? item.errors() : validate(item);
+                if (!errors.isEmpty()) {
+                    fail(result, position, item.name(), errors);
+                    continue;
+                }
+
+                chunk.add(new PendingEvent(position, UUID.randomUUID(), eventMapper.fromDto(item.event())));
+                if (chunk.size() == chunkSize) {
+                    save(organizerId, chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            // What was read before the break is still worth saving
+            fail(result, result.getReceived() + 1, null,
+                    List.of("Unreadable input, nothing from here on was imported: " + ex.getMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            save(organizerId, chunk, result);
+        }
+
+        result.getErrors().sort(Comparator.comparingInt(ImportEventErrorResponseDto::getItem));
+
+        meterRegistry.counter("tickets.import.events", "format", format.name(), "outcome", "imported")
+                .increment(result.getImported());
+        meterRegistry.counter("tickets.import.events", "format", format.name(), "outcome", "failed")
+                .increment(result.getFailed());
+        log.info("Imported {} of {} events as {} for organizer {} in {} ms",
+                result.getImported(), result.getReceived(), format, organizerId,
+                (System.nanoTime() - start) / 1_000_000);
+
+        return result;
+    }
+
+    private List<String> validate(EventImportItem item) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<?> violation : validator.validate(item.event())) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    /**
+     * Saves a chunk in one transaction. If the database refuses it, each event
+     * is retried in a transaction of its own so only the offending ones fail.
+     */
+    private void save(UUID organizerId, List<PendingEvent> chunk, ImportEventsResponseDto result) {
+        try {
+            transaction.executeWithoutResult(status -> insert(organizerId, chunk));
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException ex) {
+            if (chunk.size() == 1) {
+                PendingEvent event = chunk.getFirst();
+                fail(result, event.position(), event.request().getName(),
+                        List.of("Could not be saved: " + ex.getMostSpecificCause().getMessage()));
+            } else {
+                log.debug("Chunk of {} imported events refused, saving them one by one", chunk.size(), ex);
+                chunk.forEach(event -> save(organizerId, List.of(event), result));
+            }
+            return;
+        }
+        readYourWritesTracker.markWrite(organizerId);
+    }
+
+    private void insert(UUID organizerId, List<PendingEvent> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> events = new ArrayList<>(chunk.size());
+        List<Object[]> ticketTypes = new ArrayList<>();
+
+        for (PendingEvent event : chunk) {
+            CreateEventRequest request = event.request();
+            events.add(new Object[] {
+                    event.id(), request.getName(), request.getStart(), request.getEnd(), request.getVenue(),
+                    request.getSalesStart(), request.getSalesEnd(), request.getStatus().name(),
+                    organizerId, now, now});
+
+            for (CreateTicketTypeRequest ticketType : request.getTicketTypes()) {
+                ticketTypes.add(new Object[] {
+                        UUID.randomUUID(), ticketType.getName(), ticketType.getPrice(), ticketType.getDescription(),
+                        ticketType.getTotalAvailable(), ticketType.getInventoryBuckets(), event.id(), now, now});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events);
+        jdbcTemplate.batchUpdate(INSERT_TICKET_TYPE_SQL, ticketTypes);
+
+        List<UUID> published = new ArrayList<>();
+        for (PendingEvent event : chunk) {
+            CreateEventRequest request = event.request();
+            if (EventStatusEnum.PUBLISHED.equals(request.getStatus())) {
+                domainEventPublisher.publish(new EventPublished(
+                        event.id(), organizerId, request.getSalesStart(), request.getSalesEnd(), now));
+                published.add(event.id());
+            }
+        }
+        // Sent once the chunk commits, as for a single creation
+        cacheInvalidationBus.invalidate(CacheRegion.EVENT, published);
+    }
+
+    private void fail(ImportEventsResponseDto result, int position, String name, List<String> errors) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportEventErrorResponseDto(position, name, errors));
+        }
+    }
+
+    private record PendingEvent(int position, UUID id, CreateEventRequest request) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.Hoang105.tickets.bulkimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventRequestDto;
+import com.Hoang105.tickets.exceptions.EventImportException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A JSON array of events in the same shape as a single event creation. Each
+ * element is read as a tree first, so one with a value of the wrong type is
+ * reported on its own and the rest of the array is still read.
+ */
+class JsonEventImportReader implements EventImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+
+    JsonEventImportReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.parser.disable(StreamReadFeature.AUTO_CLOSE_SOURCE.mappedFeature());
+
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new EventImportException("Expected a JSON array of events");
+        }
+    }
+
+    @Override
+    public EventImportItem next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+
+        JsonNode node = objectMapper.readTree(parser);
+        try {
+            return EventImportItem.read(objectMapper.treeToValue(node, CreateEventRequestDto.class));
+        } catch (JsonMappingException ex) {
+            return EventImportItem.unreadable(node.path("name").asText(null), List.of(describe(ex)));
+        }
+    }
+
+    private static String describe(JsonMappingException ex) {
+        String field = ex.getPath().stream()
+                .map(reference -> reference.getFieldName() != null
+                        ? reference.getFieldName()
+                        : "[" + reference.getIndex() + "]")
+                .collect(Collectors.joining("."))
+                .replace(".[", "[");
+
+        return field.isEmpty() ? "Not an event" : field + ": invalid value";
+    }
+}
@@ -0,0 +1,117 @@
+package com.Hoang105.tickets.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the calls in flight at a limit found from their latency, with the
+ * gradient algorithm: the limit follows the ratio of the usual latency to the
+ * latest window's. While latency stays near its usual level the limit grows by
+ * about its square root each window, so some calls queue on the connection pool
+ * and row locks and keep them busy. Once the queue grows,
+ * latency rises above the tolerated multiple of its usual level and the limit
+ * shrinks in proportion, down to half per window. Calls beyond the limit are
+ * refused instead of adding to a queue whose wait grows without bound.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Fewer samples than this say too little about latency to move the limit
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    // Share of a rise in latency taken into the usual latency each window
+    private static final double BASELINE_RISE_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long sampleWindowNanos;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double baselineRtt;
+
+    public AdaptiveConcurrencyLimiter(
+            int initialLimit, int minLimit, int maxLimit, long sampleWindowNanos, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.sampleWindowNanos = sampleWindowNanos;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Claims a slot; a caller that gets one must {@link #release} it.
+     */
+    public boolean tryAcquire() {
+        int limitNow = (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limitNow) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and records how long the call that held it took.
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        sample(rttNanos, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightBefore) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+
+        long now = System.nanoTime();
+        if (now - windowStart < sampleWindowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        double current = limit;
+        boolean usingLimit = windowMaxInFlight >= current / 2;
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        // Follows a fall in latency at once and a rise only over a hundred or so windows,
+        // so a burst of queueing is not mistaken for the database's usual speed
+        if (baselineRtt == 0 || shortRtt < baselineRtt) {
+            baselineRtt = shortRtt;
+        } else {
+            baselineRtt += (shortRtt - baselineRtt) * BASELINE_RISE_WEIGHT;
+        }
+
+        // Latency says nothing about a limit that is not being reached
+        if (!usingLimit) {
+            return;
+        }
+
+        double gradient = Math.clamp(tolerance * baselineRtt / shortRtt, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+}
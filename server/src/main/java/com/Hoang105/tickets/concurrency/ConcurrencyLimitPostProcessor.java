@@ -0,0 +1,59 @@
+package com.Hoang105.tickets.concurrency;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link ConcurrencyLimited} to the beans that use it, the way Spring
+ * applies {@code @Async}. The advice goes in front of any already on the bean,
+ * the transaction interceptor included, so a call is refused before it opens a
+ * transaction and takes a connection from the pool.
+ */
+@Component
+@SuppressWarnings("serial")
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public final class ConcurrencyLimitPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public ConcurrencyLimitPostProcessor(ObjectProvider<ConcurrencyLimits> concurrencyLimits) {
+        // Looked up on the first call, so post-processing does not create the meter registry early
+        Map<Method, String> limiterNames = new ConcurrentHashMap<>();
+        MethodInterceptor interceptor = invocation -> {
+            // Empty for the proxy's methods that are not limited themselves
+            String name = limiterNames.computeIfAbsent(invocation.getMethod(), method -> {
+                Method targetMethod = invocation.getThis() == null ? method : AopUtils.getMostSpecificMethod(
+                        method, AopProxyUtils.ultimateTargetClass(invocation.getThis()));
+                ConcurrencyLimited limited = AnnotatedElementUtils.findMergedAnnotation(
+                        targetMethod, ConcurrencyLimited.class);
+                return limited == null ? "" : limited.value();
+            });
+            if (name.isEmpty()) {
+                return invocation.proceed();
+            }
+
+            ConcurrencyLimits limits = concurrencyLimits.getObject();
+            long start = limits.acquire(name);
+            try {
+                return invocation.proceed();
+            } finally {
+                limits.release(name, start);
+            }
+        };
+
+        this.advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(ConcurrencyLimited.class), interceptor);
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
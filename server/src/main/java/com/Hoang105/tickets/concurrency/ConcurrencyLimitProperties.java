@@ -0,0 +1,37 @@
+package com.Hoang105.tickets.concurrency;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Sent to refused clients
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // Latencies are averaged over a window before the limit is adjusted
+    private Duration sampleWindow = Duration.ofMillis(500);
+
+    // Latency up to this multiple of the long-term average does not shrink the limit
+    private double tolerance = 1.5;
+
+    // Share of a new limit taken each window
+    private double smoothing = 0.2;
+
+    private Map<String, Limiter> limiters = new LinkedHashMap<>();
+
+    @Data
+    public static class Limiter {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+    }
+}
@@ -0,0 +1,23 @@
+package com.Hoang105.tickets.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method under the named adaptive concurrency limit, configured under
+ * {@code app.concurrency-limit.limiters}. Calls beyond the limit fail straight
+ * away with a {@link com.Hoang105.tickets.exceptions.ServiceOverloadedException}.
+ * The limit is applied outside the method's transaction, so a refused call never
+ * waits for a connection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConcurrencyLimited {
+
+    // Methods naming the same limiter share its limit
+    String value();
+}
@@ -0,0 +1,96 @@
+package com.Hoang105.tickets.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.exceptions.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The named concurrency limiters and their metrics: the current limit and the
+ * calls in flight as gauges, and the calls let through and refused as
+ * {@code tickets.concurrency.calls} tagged by outcome, whose ratio is the drop
+ * rate. Limiters missing from the configuration get the default limits.
+ */
+@Component
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimits {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimits(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getLimiters().keySet().forEach(this::limiter);
+    }
+
+    /**
+     * Claims a slot of the named limiter.
+     *
+     * @return the start of the call, to pass to {@link #release}
+     * @throws ServiceOverloadedException if the limiter has no slot free
+     */
+    public long acquire(String name) {
+        Limiter limiter = limiter(name);
+        if (!limiter.limiter().tryAcquire()) {
+            limiter.dropped().increment();
+            throw new ServiceOverloadedException(properties.getRetryAfter());
+        }
+        limiter.accepted().increment();
+        return System.nanoTime();
+    }
+
+    public void release(String name, long start) {
+        limiter(name).limiter().release(System.nanoTime() - start);
+    }
+
+    private Limiter limiter(String name) {
+        return limiters.computeIfAbsent(name, this::create);
+    }
+
+    private Limiter create(String name) {
+        ConcurrencyLimitProperties.Limiter settings =
+                properties.getLimiters().getOrDefault(name, new ConcurrencyLimitProperties.Limiter());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                settings.getInitialLimit(),
+                settings.getMinLimit(),
+                settings.getMaxLimit(),
+                properties.getSampleWindow().toNanos(),
+                properties.getTolerance(),
+                properties.getSmoothing());
+
+        Gauge.builder("tickets.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Calls allowed in flight at once")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("tickets.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls in flight")
+                .tag("limiter", name)
+                .register(meterRegistry);
+
+        return new Limiter(
+                limiter,
+                calls(name, "accepted"),
+                calls(name, "dropped"));
+    }
+
+    private Counter calls(String name, String outcome) {
+        return Counter.builder("tickets.concurrency.calls")
+                .description("Calls let through or refused by a concurrency limit")
+                .tag("limiter", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Limiter(AdaptiveConcurrencyLimiter limiter, Counter accepted, Counter dropped) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.Hoang105.tickets.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.lanes.LaneRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Tells background jobs when to leave the database to live traffic: while
+ * requests queue for a connection or a pool is busier than the job allows, be
+ * it the primary pool or a lane's, or while a read replica lags by more than
+ * the job allows.
+ */
+@Component
+public class BackgroundWorkThrottle {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    public BackgroundWorkThrottle(
+            HikariDataSource primaryDataSource,
+            LaneRoutingDataSource laneRoutingDataSource,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.pools.add(primaryDataSource);
+        this.pools.addAll(laneRoutingDataSource.getLanePools());
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    public boolean isDatabaseBusy(double maxPoolUtilisation, long maxReplicaLagMillis) {
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+            if (stats != null && (stats.getThreadsAwaitingConnection() > 0
+                    || stats.getActiveConnections() > maxPoolUtilisation * pool.getMaximumPoolSize())) {
+                return true;
+            }
+        }
+
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        return monitor != null && monitor.getLagMillis().values().stream()
+                .anyMatch(lag -> lag > maxReplicaLagMillis);
+    }
+}
@@ -0,0 +1,71 @@
+package com.Hoang105.tickets.config;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports indexes from db/migration/R__performance_indexes.sql that are missing
+ * in the connected database, e.g. because someone dropped one by hand.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.database.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class DatabaseIndexVerifier {
+
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "idx_tickets_ticket_type_id",
+            "idx_tickets_purchaser_id_created_at",
+            "idx_tickets_status",
+            "idx_qr_codes_ticket_id",
+            "idx_qr_codes_id_status",
+            "idx_ticket_validations_ticket_id_status",
+            "idx_ticket_types_event_id",
+            "idx_events_status_created_at",
+            "idx_events_organizer_id",
+            "idx_users_role_created_at",
+            "idx_events_published_created_at",
+            "idx_events_published_search",
+            "idx_tickets_purchased_ticket_type_id"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        List<String> missing = findMissingIndexes();
+
+        if (missing.isEmpty()) {
+            log.info("All {} performance indexes are present", EXPECTED_INDEXES.size());
+        } else {
+            log.warn("Missing performance indexes: {}. Run the Flyway migrations to recreate them", missing);
+        }
+    }
+
+    public List<String> findMissingIndexes() {
+        Set<String> present;
+        try {
+            present = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()",
+                    String.class));
+        } catch (DataAccessException ex) {
+            log.warn("Unable to read index catalog, skipping index verification", ex);
+            return List.of();
+        }
+
+        return EXPECTED_INDEXES.stream()
+                .filter(index -> !present.contains(index))
+                .toList();
+    }
+}
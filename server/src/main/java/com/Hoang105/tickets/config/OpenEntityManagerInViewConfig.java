@@ -0,0 +1,38 @@
+package com.Hoang105.tickets.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Keeps an entity manager open for the rendering of a request, as Spring Boot
+ * does by default, except on responses that are streamed for minutes. The
+ * entity manager holds on to its JDBC connection until the request completes,
+ * which for an asynchronous request is when the stream ends, so a few hundred
+ * clients watching availability or downloading exports would otherwise take
+ * every connection in the pool. Declaring the interceptor makes Spring Boot
+ * back off from registering its own for every path.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private static final String[] STREAMING_PATHS = {
+            "/api/v1/published-events/*/availability",
+            "/api/v1/events/*/tickets/export",
+            "/api/v1/admin/events/*/tickets/export",
+            "/api/v1/admin/attendees/export"
+    };
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(STREAMING_PATHS);
+    }
+}
@@ -0,0 +1,51 @@
+package com.Hoang105.tickets.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.Hoang105.tickets.lanes.LaneProperties;
+import com.Hoang105.tickets.lanes.LaneRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connections to the primary database: the pool configured under
+ * {@code spring.datasource.hikari}, partitioned by lane. Used directly unless
+ * replica routing is enabled, in which case {@link ReplicaRoutingConfig} sends
+ * writes and sticky reads here.
+ */
+@Configuration
+public class PrimaryDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public LaneRoutingDataSource laneRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            LaneProperties laneProperties,
+            MeterRegistry meterRegistry) {
+        return new LaneRoutingDataSource(primaryDataSource, laneProperties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(LaneRoutingDataSource laneRoutingDataSource) {
+        return laneRoutingDataSource;
+    }
+}
@@ -0,0 +1,48 @@
+package com.Hoang105.tickets.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which users wrote recently so their reads keep going to the primary
+ * until the replicas have had time to catch up.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final long stickinessNanos;
+    private final Map<UUID, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(
+            @Value("${app.datasource.routing.stickiness:PT5S}") Duration stickiness) {
+        this.stickinessNanos = stickiness.toNanos();
+    }
+
+    public void markWrite(UUID userId) {
+        lastWrites.put(userId, System.nanoTime());
+    }
+
+    public boolean isSticky(UUID userId) {
+        Long lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < stickinessNanos) {
+            return true;
+        }
+        lastWrites.remove(userId, lastWrite);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.stickiness:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+    }
+}
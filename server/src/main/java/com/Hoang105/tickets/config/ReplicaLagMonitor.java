@@ -0,0 +1,119 @@
+package com.Hoang105.tickets.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically measures how far each replica is behind the primary and hands out
+ * only the replicas that are within {@code app.datasource.routing.max-lag}. A
+ * replica without a connected WAL receiver counts as too far behind, however
+ * caught up it looks.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit.
+    // Null when it is not streaming from the primary, as then it has received nothing and looks caught up;
+    // roles without pg_read_all_stats see the WAL receiver but not its status.
+    private static final String LAG_QUERY =
+            "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status IS NULL OR status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Map<String, HikariDataSource> replicas;
+    private final List<String> replicaKeys;
+    private final long maxLagMillis;
+
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+    private volatile List<String> healthyReplicas = List.of();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, HikariDataSource> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public Map<String, Long> getLagMillis() {
+        return Map.copyOf(lagMillis);
+    }
+
+    public Optional<String> nextHealthyReplica() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return Optional.empty();
+        }
+        int index = Math.floorMod(nextReplica.getAndIncrement(), healthy.size());
+        return Optional.of(healthy.get(index));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:PT5S}")
+    public void checkLag() {
+        List<String> healthy = replicaKeys.stream()
+                .filter(this::isWithinMaxLag)
+                .toList();
+
+        if (healthy.size() != healthyReplicas.size()) {
+            log.info("Healthy read replicas changed from {} to {}", healthyReplicas, healthy);
+        }
+        healthyReplicas = healthy;
+    }
+
+    private boolean isWithinMaxLag(String key) {
+        DataSource replica = replicas.get(key);
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+
+            resultSet.next();
+            double lagSeconds = resultSet.getDouble(1);
+            if (resultSet.wasNull()) {
+                log.warn("Replica {} is not streaming from the primary, routing its reads to the primary", key);
+                lagMillis.remove(key);
+                return false;
+            }
+            long lag = Math.round(lagSeconds * 1000);
+            lagMillis.put(key, lag);
+
+            if (lag > maxLagMillis) {
+                log.warn("Replica {} is {} ms behind the primary, routing its reads to the primary", key, lag);
+                return false;
+            }
+            return true;
+
+        } catch (SQLException ex) {
+            log.warn("Replica {} is unreachable, routing its reads to the primary", key, ex);
+            lagMillis.remove(key);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,74 @@
+package com.Hoang105.tickets.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.Hoang105.tickets.lanes.LaneRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}) to the
+ * configured replicas and everything else to the primary, through its lane
+ * partitions (see {@link PrimaryDataSourceConfig}). The lazy proxy only
+ * fetches a physical connection on the first statement, once the transaction's
+ * read-only flag is known.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingProperties properties,
+            DataSourceProperties dataSourceProperties) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+
+            replicas.put("replica-" + i, dataSource);
+        }
+
+        return new ReplicaLagMonitor(replicas, properties.getMaxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            LaneRoutingDataSource laneRoutingDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        ReplicaRoutingDataSource readOnlyDataSource =
+                new ReplicaRoutingDataSource(laneRoutingDataSource, replicaLagMonitor, readYourWritesTracker);
+        readOnlyDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(laneRoutingDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+}
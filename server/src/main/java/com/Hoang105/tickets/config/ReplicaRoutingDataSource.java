@@ -0,0 +1,58 @@
+package com.Hoang105.tickets.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.Hoang105.tickets.utils.JwtUtil;
+
+/**
+ * Data source used for read-only transactions. Picks a replica that is within the
+ * allowed lag, and falls back to the primary when none is, or when the current
+ * user wrote something recently and must be able to read it back.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+        targets.put(PRIMARY, primary);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        UUID userId = currentUserId();
+        if (userId != null && readYourWritesTracker.isSticky(userId)) {
+            return PRIMARY;
+        }
+        return replicaLagMonitor.nextHealthyReplica().orElse(PRIMARY);
+    }
+
+    private UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return JwtUtil.parseUserId(jwt);
+        }
+        return null;
+    }
+}
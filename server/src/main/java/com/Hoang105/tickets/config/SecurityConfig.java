@@ -3,10 +3,12 @@ package com.Hoang105.tickets.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.config.ObjectPostProcessor;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.header.HeaderWriterFilter;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.cors.CorsConfiguration;
@@ -14,6 +16,10 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.Hoang105.tickets.filters.UserProvisioningFilter;
+import com.Hoang105.tickets.ratelimit.RateLimitFilter;
+import com.Hoang105.tickets.ratelimit.RateLimitKey;
+import com.Hoang105.tickets.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -40,7 +46,9 @@ public class SecurityConfig {
             HttpSecurity http, 
             UserProvisioningFilter userProvisioningFilter,
             JwtAuthenticationConverter jwtAuthenticationConverter,
-            CorsConfigurationSource corsConfigurationSource) throws Exception{
+            CorsConfigurationSource corsConfigurationSource,
+            RateLimiter rateLimiter,
+            ObjectMapper objectMapper) throws Exception{
 
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource))
@@ -52,13 +60,26 @@ public class SecurityConfig {
                             "/swagger-ui/**",
                             "/swagger-ui.html"
                     ).permitAll()
+                    .requestMatchers("/actuator/health/**").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMINISTRATOR")
                     .requestMatchers("/api/v1/users/**").hasRole("ADMINISTRATOR")
                     .requestMatchers("/api/v1/admin/**").hasRole("ADMINISTRATOR")
                     .requestMatchers("/api/v1/events").hasRole("ORGANIZER")
+                    .requestMatchers("/api/v1/events/import").hasRole("ORGANIZER")
                     .requestMatchers("/api/v1/ticket-validations").hasRole("STAFF")
                     .anyRequest().authenticated())
 
 
+            // Streamed responses (exports, Server-Sent Events) are written by other threads
+            // while the request thread unwinds; writing the security headers after the
+            // chain would race with them
+            .headers(headers -> headers.addObjectPostProcessor(new ObjectPostProcessor<HeaderWriterFilter>() {
+                @Override
+                public <O extends HeaderWriterFilter> O postProcess(O filter) {
+                    filter.setShouldWriteHeadersEagerly(true);
+                    return filter;
+                }
+            }))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> 
                     session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -66,6 +87,13 @@ public class SecurityConfig {
                     oauth2.jwt(jwt -> 
                         jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)
                     ))
+            // Limited per client before the token signature is checked, and per
+            // subject before the user is looked up or provisioned
+            .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper, RateLimitKey.CLIENT_IP),
+                    BearerTokenAuthenticationFilter.class)
+            // Filters added at the same position run in the order they are added
+            .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper, RateLimitKey.SUBJECT),
+                    BearerTokenAuthenticationFilter.class)
             .addFilterAfter(userProvisioningFilter, BearerTokenAuthenticationFilter.class);
 
         return http.build();
@@ -0,0 +1,45 @@
+package com.Hoang105.tickets.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.Hoang105.tickets.metrics.SqlProfiler;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the application data source so every statement passes through the
+ * {@link SqlProfiler}. Every JDBC call and result set row then goes through a
+ * proxy, so this is off unless {@code app.sql-profiler.enabled} is set, as the
+ * dev and test profiles do.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-profiler.enabled", havingValue = "true")
+public class SqlProfilerConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                SqlProfiler profiler = sqlProfiler.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(profiler)
+                        .methodListener(profiler)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
@@ -1,17 +1,29 @@
 package com.Hoang105.tickets.controllers;
 
 import com.Hoang105.tickets.domain.dtos.Administrator.PlatformStatisticsResponseDto;
+import com.Hoang105.tickets.domain.dtos.Administrator.SqlProfileResponseDto;
 import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.export.ExportFormat;
+import com.Hoang105.tickets.export.TicketExporter;
+import com.Hoang105.tickets.mappers.SqlProfileMapper;
+import com.Hoang105.tickets.metrics.SqlProfiler;
 import com.Hoang105.tickets.services.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,6 +34,9 @@ public class AdministratorController {
     private final UserService userService;
     private final EventService eventService;
     private final TicketService ticketService;
+    private final SqlProfiler sqlProfiler;
+    private final SqlProfileMapper sqlProfileMapper;
+    private final TicketExporter ticketExporter;
 
     @GetMapping
     @Operation(summary = "Get platform statistics", description = "Retrieve various statistics about the platform")
@@ -50,4 +65,51 @@ public class AdministratorController {
 
         return ResponseEntity.ok(responseDto);
     };
+
+    @GetMapping(path = "/sql-profile")
+    @Operation(summary = "Get SQL profile", description = "Retrieve statement counts, rows fetched and database time per endpoint, suspected N+1 selects and the slowest statements")
+    public ResponseEntity<SqlProfileResponseDto> getSqlProfile(
+            @AuthenticationPrincipal Jwt jwt){
+
+        return ResponseEntity.ok(sqlProfileMapper.toSqlProfileResponseDto(
+                sqlProfiler.getEndpointProfiles(),
+                sqlProfiler.getSlowestStatements()
+        ));
+    }
+
+    @DeleteMapping(path = "/sql-profile")
+    @Operation(summary = "Reset SQL profile", description = "Clear the collected SQL profile")
+    public ResponseEntity<Void> resetSqlProfile(
+            @AuthenticationPrincipal Jwt jwt){
+
+        sqlProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(path = "/attendees/export")
+    @Operation(summary = "Export attendees", description = "Stream every attendee with their ticket count and last purchase as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "CSV") ExportFormat format){
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName("attendees")).build().toString())
+                .body(out -> ticketExporter.exportAttendees(format, out));
+    }
+
+    @GetMapping(path = "/events/{eventId}/tickets/export")
+    @Operation(summary = "Export tickets of an event", description = "Stream every ticket of any event, with its attendee and validation summary, as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportEventTickets(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID eventId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format){
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName("event-" + eventId + "-tickets")).build().toString())
+                .body(out -> ticketExporter.exportEventTickets(eventId, format, out));
+    }
 }
@@ -1,22 +1,39 @@
 package com.Hoang105.tickets.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.Hoang105.tickets.bulkimport.EventImportFormat;
+import com.Hoang105.tickets.bulkimport.EventImporter;
 import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventRequestDto;
 import com.Hoang105.tickets.domain.dtos.Organizer.CreateEventResponseDto;
 import com.Hoang105.tickets.domain.dtos.Organizer.UpdateEventRequestDto;
 import com.Hoang105.tickets.domain.dtos.Organizer.UpdateEventResponseDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.PatchEventRequestDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.PatchEventResponseDto;
 import com.Hoang105.tickets.domain.dtos.Organizer.GetEventDetailsResponseDto;
 import com.Hoang105.tickets.domain.dtos.Organizer.ListEventResponseDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.GetEventSalesResponseDto;
+import com.Hoang105.tickets.domain.dtos.Organizer.ImportEventsResponseDto;
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+import com.Hoang105.tickets.export.ExportFormat;
+import com.Hoang105.tickets.export.TicketExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.Hoang105.tickets.domain.*;
 import com.Hoang105.tickets.mappers.*;
@@ -34,6 +51,9 @@ import lombok.RequiredArgsConstructor;
 public class EventController {
     private final EventMapper eventMapper;
     private final EventService eventService;
+    private final TicketExporter ticketExporter;
+    private final SalesRollupService salesRollupService;
+    private final EventImporter eventImporter;
 
     @PostMapping
     @Operation(summary = "Create a new event", description = "Create a new event associated with the authenticated organizer")
@@ -51,6 +71,19 @@ public class EventController {
         return new ResponseEntity<>(createEventResponseDto, HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, EventImportFormat.CSV_VALUE})
+    @Operation(summary = "Import events", description = "Create many events for the authenticated organizer from a JSON array of events or a CSV with one row per ticket type; events that cannot be created are reported by their position and the rest are still imported")
+    public ResponseEntity<ImportEventsResponseDto> importEvents(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        UUID userId = JwtUtil.parseUserId(jwt);
+
+        EventImportFormat format = EventImportFormat.of(contentType).orElseThrow();
+
+        return ResponseEntity.ok(eventImporter.importEvents(userId, format, body));
+    }
+
     @Operation(summary = "Update an existing event", description = "Update details of an existing event associated with the authenticated organizer")
     @PutMapping(path = "/{eventId}")
     public ResponseEntity<UpdateEventResponseDto> updateEvent(
@@ -68,6 +101,21 @@ public class EventController {
         return new ResponseEntity<>(updateEventResponseDto, HttpStatus.OK);
     }
 
+    @Operation(summary = "Partially update an event", description = "Change only the fields present in the body of an event associated with the authenticated organizer, and of the ticket types listed by ID; a field sent as null is cleared. Returns the fields whose value actually changed")
+    @PatchMapping(path = "/{eventId}")
+    public ResponseEntity<PatchEventResponseDto> patchEvent(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID eventId,
+            @Valid @RequestBody PatchEventRequestDto patchEventRequestDto){
+        PatchEventRequest patchEventRequest = eventMapper.fromDto(patchEventRequestDto);
+
+        UUID userId = JwtUtil.parseUserId(jwt);
+
+        EventChangeSet changeSet = eventService.patchEventForOrganizer(userId, eventId, patchEventRequest);
+
+        return ResponseEntity.ok(eventMapper.toPatchEventResponseDto(changeSet));
+    }
+
     @Operation(summary = "List events created by the authenticated organizer", description = "Retrieve a paginated list of events created by the authenticated organizer")
     @GetMapping
     public ResponseEntity<Page<ListEventResponseDto>> listEvents(
@@ -108,4 +156,41 @@ public class EventController {
 
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Export tickets of an event created by the authenticated organizer", description = "Stream every ticket of the event, with its attendee and validation summary, as CSV or NDJSON")
+    @GetMapping(path = "/{eventId}/tickets/export")
+    public ResponseEntity<StreamingResponseBody> exportEventTickets(
+        @AuthenticationPrincipal Jwt jwt,
+        @PathVariable UUID eventId,
+        @RequestParam(defaultValue = "CSV") ExportFormat format){
+
+        UUID userId = JwtUtil.parseUserId(jwt);
+
+        if (eventService.getEventForOrganizer(userId, eventId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(format.fileName("event-" + eventId + "-tickets")).build().toString())
+            .body(out -> ticketExporter.exportEventTickets(eventId, format, out));
+    }
+
+    @Operation(summary = "Get sales of an event created by the authenticated organizer", description = "Retrieve tickets sold, revenue and sell-through per ticket type, and a sales curve in minute, hour or day buckets between from (inclusive) and to (exclusive)")
+    @GetMapping(path = "/{eventId}/sales")
+    public ResponseEntity<GetEventSalesResponseDto> getEventSales(
+        @AuthenticationPrincipal Jwt jwt,
+        @PathVariable UUID eventId,
+        @RequestParam(defaultValue = "HOUR") SalesGranularityEnum granularity,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+
+        UUID userId = JwtUtil.parseUserId(jwt);
+
+        return salesRollupService.getSalesDashboardForOrganizer(userId, eventId, granularity, from, to)
+            .map(eventMapper::toGetEventSalesResponseDto)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -4,6 +4,8 @@ import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -11,6 +13,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import com.Hoang105.tickets.domain.dtos.Error.ErrorDto;
 import com.Hoang105.tickets.exceptions.*;
@@ -42,6 +46,47 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(TicketSalesClosedException.class)
+    @Operation(summary = "Handle TicketSalesClosedException", description = "Handles TicketSalesClosedException and returns a 400 Bad Request response")
+    public ResponseEntity<ErrorDto> handleTicketSalesClosedException(TicketSalesClosedException ex) {
+        log.debug("Caught TicketSalesClosedException: {}", ex.getMessage());
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Ticket sales are not open for this ticket type");
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    @Operation(summary = "Handle ServiceOverloadedException", description = "Handles ServiceOverloadedException and returns a 503 Service Unavailable response with Retry-After")
+    public ResponseEntity<ErrorDto> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        log.debug("Caught ServiceOverloadedException");
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Service is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    @Operation(summary = "Handle TaskRejectedException", description = "Handles a request refused by its full lane and returns a 503 Service Unavailable response with Retry-After")
+    public ResponseEntity<ErrorDto> handleTaskRejectedException(TaskRejectedException ex) {
+        log.debug("Caught TaskRejectedException");
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Service is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    @Operation(summary = "Handle AsyncRequestTimeoutException", description = "Handles a request that did not finish in time and returns a 503 Service Unavailable response without Retry-After, as its work may still complete")
+    public ResponseEntity<ErrorDto> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException ex) {
+        log.warn("Request did not finish in time");
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Request did not finish in time and may still complete");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(errorDto);
+    }
+
     @ExceptionHandler(QrCodeNotFoundException.class)
     @Operation(summary = "Handle QrCodeNotFoundException", description = "Handles QrCodeNotFoundException and returns a 500 Internal Server Error response")
     public ResponseEntity<ErrorDto> handleQrCodeNotFoundException(QrCodeNotFoundException ex) {
@@ -71,6 +116,15 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(EventImportException.class)
+    @Operation(summary = "Handle EventImportException", description = "Handles EventImportException and returns a 400 Bad Request response")
+    public ResponseEntity<ErrorDto> handleEventImportException(EventImportException ex){
+        log.debug("Caught EventImportException: {}", ex.getMessage());
+        ErrorDto errorDto = new ErrorDto(); 
+        errorDto.setError(ex.getMessage());
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(TicketTypetNotFoundException.class)
     @Operation(summary = "Handle TicketTypetNotFoundException", description = "Handles TicketTypetNotFoundException and returns a 400 Bad Request response")
     public ResponseEntity<ErrorDto> handleTicketTypeNotFoundException(TicketTypetNotFoundException ex){
@@ -81,6 +135,15 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(TicketTypeNotInEventException.class)
+    @Operation(summary = "Handle TicketTypeNotInEventException", description = "Handles TicketTypeNotInEventException and returns a 404 Not Found response")
+    public ResponseEntity<ErrorDto> handleTicketTypeNotInEventException(TicketTypeNotInEventException ex) {
+        log.debug("Caught TicketTypeNotInEventException: {}", ex.getMessage());
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Ticket type not found");
+        return new ResponseEntity<>(errorDto, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(EventNotFoundException.class)
     @Operation(summary = "Handle EventNotFoundException", description = "Handles EventNotFoundException and returns a 400 Bad Request response")
     public ResponseEntity<ErrorDto> handleEventNotFoundException(EventNotFoundException ex){
@@ -137,6 +200,12 @@ public class GlobalExceptionHandler {
 
     }
 
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    @Operation(summary = "Handle AsyncRequestNotUsableException", description = "Handles a client disconnecting from a streamed response; nothing can be sent back")
+    public void handleAsyncRequestNotUsableException(AsyncRequestNotUsableException ex) {
+        log.debug("Client disconnected: {}", ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     @Operation(summary = "Handle generic Exception", description = "Handles generic Exception and returns a 500 Internal Server Error response")
     public ResponseEntity<ErrorDto> handleException(Exception ex) {
@@ -6,16 +6,24 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Hoang105.tickets.availability.AvailabilityBroadcaster;
 
 import com.Hoang105.tickets.domain.dtos.*;
 import com.Hoang105.tickets.domain.entities.*;
+import com.Hoang105.tickets.lanes.Lane;
+import com.Hoang105.tickets.lanes.LaneExecutors;
 import com.Hoang105.tickets.mappers.EventMapper;
+import com.Hoang105.tickets.sales.PublishedEventDetailsCache;
 import com.Hoang105.tickets.services.EventService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,36 +36,57 @@ public class PublishedEventController {
 
     private final EventService eventService;
     private final EventMapper eventMapper;
+    private final PublishedEventDetailsCache publishedEventDetailsCache;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final LaneExecutors laneExecutors;
 
     @GetMapping
     @Operation(summary = "List published events", description = "Retrieve a paginated list of published events with optional search query")
-    public ResponseEntity<Page<ListPublishedEventResponseDto>> listPublishedEvents(
+    public WebAsyncTask<ResponseEntity<Page<ListPublishedEventResponseDto>>> listPublishedEvents(
         @RequestParam(required = false) String q,
         Pageable pageable) {
 
-        Page<Event> events;
+        return laneExecutors.submit(Lane.BROWSE, () -> {
+            Page<Event> events;
 
-        if (null != q && !q.trim().isEmpty()){
-            events = eventService.searchPublishedEvents(q, pageable);
-        } else {
-            events = eventService.listPublishedEvents(pageable);
-        }
+            if (null != q && !q.trim().isEmpty()){
+                events = eventService.searchPublishedEvents(q, pageable);
+            } else {
+                events = eventService.listPublishedEvents(pageable);
+            }
 
-        return ResponseEntity.ok(
-            events.map(eventMapper::toListPublishedEventResponseDto)
-        );
+            return ResponseEntity.ok(
+                events.map(eventMapper::toListPublishedEventResponseDto)
+            );
+        });
     }
 
     @GetMapping(path = "/{eventId}")
     @Operation(summary = "Get published event details", description = "Retrieve detailed information about a specific published event by its ID")
-    public ResponseEntity<GetPublishedEventDetailsResponseDto> getPublishedEventDetails(
+    public WebAsyncTask<ResponseEntity<GetPublishedEventDetailsResponseDto>> getPublishedEventDetails(
         @PathVariable UUID eventId) {
 
-        return eventService.getPublishedEvent(eventId)
-                        .map(eventMapper::toGetPublishedEventDetailsResponseDto)
+        return laneExecutors.submit(Lane.BROWSE, () -> publishedEventDetailsCache.get(eventId)
+                        .or(() -> eventService.getPublishedEvent(eventId)
+                                .map(eventMapper::toGetPublishedEventDetailsResponseDto))
                         .map(ResponseEntity::ok)
-                        .orElse(ResponseEntity.notFound().build());
+                        .orElse(ResponseEntity.notFound().build()));
 
     }
 
+    @GetMapping(path = "/{eventId}/availability", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream published event availability", description = "Server-Sent Events stream of the remaining quantity of each ticket type of a published event, sent when it changes and at most a few times per second")
+    public ResponseEntity<SseEmitter> streamAvailability(
+        @PathVariable UUID eventId) {
+
+        // Once anyone watches the event it is known to be published
+        boolean published = availabilityBroadcaster.isStreaming(eventId)
+                || publishedEventDetailsCache.get(eventId).isPresent()
+                || eventService.getPublishedEvent(eventId).isPresent();
+
+        if (!published) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(availabilityBroadcaster.subscribe(eventId));
+    }
 }
@@ -12,7 +12,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.Hoang105.tickets.lanes.Lane;
+import com.Hoang105.tickets.lanes.LaneExecutors;
+import com.Hoang105.tickets.sales.SalesWindowGuard;
 import com.Hoang105.tickets.services.TicketTypeService;
 import com.Hoang105.tickets.utils.JwtUtil;
 
@@ -24,17 +28,25 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping(path = "/api/v1/events/{eventId}/ticket-types")
 public class TicketTypeController {
     private final TicketTypeService ticketTypeService;
+    private final SalesWindowGuard salesWindowGuard;
+    private final LaneExecutors laneExecutors;
 
     @PostMapping(path = "/{ticketTypeId}/tickets")
     @Operation(summary = "Purchase a ticket", description = "Purchase a ticket of a specific ticket type for the authenticated attendee")
-    public ResponseEntity<Void> purchaseTicket(
+    public WebAsyncTask<ResponseEntity<Void>> purchaseTicket(
         @AuthenticationPrincipal Jwt jwt,
+        @PathVariable UUID eventId,
         @PathVariable UUID ticketTypeId
     ){
         UUID userId = JwtUtil.parseUserId(jwt);
 
-        ticketTypeService.purchaseTicket(userId, ticketTypeId);
+        // Before the purchase transaction takes a connection
+        salesWindowGuard.checkOpen(eventId, ticketTypeId);
 
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        return laneExecutors.submit(Lane.PURCHASE, () -> {
+            ticketTypeService.purchaseTicket(userId, eventId, ticketTypeId);
+
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        });
     }
 }
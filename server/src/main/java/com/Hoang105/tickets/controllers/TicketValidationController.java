@@ -4,6 +4,8 @@ import com.Hoang105.tickets.domain.dtos.Staff.TicketValidationRequestDto;
 import com.Hoang105.tickets.domain.dtos.Staff.TicketValidationResponseDto;
 import com.Hoang105.tickets.domain.entities.TicketValidation;
 import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+import com.Hoang105.tickets.lanes.Lane;
+import com.Hoang105.tickets.lanes.LaneExecutors;
 import com.Hoang105.tickets.mappers.TicketValidationMapper;
 import com.Hoang105.tickets.services.TicketValidationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @Tag(name = "Ticket Validations", description = "Operations related to ticket validation, accessible by authenticated staff")
@@ -22,23 +25,28 @@ import org.springframework.web.bind.annotation.RestController;
 public class TicketValidationController {
     private final TicketValidationService ticketValidationService;
     private final TicketValidationMapper ticketValidationMapper;
+    private final LaneExecutors laneExecutors;
 
     @PostMapping
     @Operation (summary = "Validate a ticket", description = "Validate a ticket either manually or by scanning a QR code by authenticated staff")
-    public ResponseEntity<TicketValidationResponseDto> validateticket(
+    public WebAsyncTask<ResponseEntity<TicketValidationResponseDto>> validateticket(
             @RequestBody TicketValidationRequestDto ticketValidationRequestDto
     ) {
-        TicketValidationMethodEnum method = ticketValidationRequestDto.getMethod();
+        return laneExecutors.submit(Lane.GATE, () -> {
+            TicketValidationMethodEnum method = ticketValidationRequestDto.getMethod();
 
-        TicketValidation ticketValidation;
+            TicketValidation ticketValidation;
 
-        if (TicketValidationMethodEnum.MANUAL.equals(method)) {
-            ticketValidation = ticketValidationService.validateTicketManually(ticketValidationRequestDto.getId());
-        } else {
-            ticketValidation = ticketValidationService.validateTicketByQrCode(ticketValidationRequestDto.getId());
-        }
+            if (TicketValidationMethodEnum.MANUAL.equals(method)) {
+                ticketValidation = ticketValidationService.validateTicketManually(
+                        ticketValidationRequestDto.getId(), ticketValidationRequestDto.getEventId());
+            } else {
+                ticketValidation = ticketValidationService.validateTicketByQrCode(
+                        ticketValidationRequestDto.getId(), ticketValidationRequestDto.getEventId());
+            }
 
-        return ResponseEntity.ok(ticketValidationMapper.toTicketValidationResponseDto(ticketValidation));
+            return ResponseEntity.ok(ticketValidationMapper.toTicketValidationResponseDto(ticketValidation));
+        });
     }
 
 }
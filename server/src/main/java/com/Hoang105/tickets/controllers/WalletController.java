@@ -0,0 +1,65 @@
+package com.Hoang105.tickets.controllers;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.Hoang105.tickets.domain.Wallet;
+import com.Hoang105.tickets.domain.dtos.Attendee.GetWalletResponseDto;
+import com.Hoang105.tickets.mappers.WalletMapper;
+import com.Hoang105.tickets.utils.JwtUtil;
+import com.Hoang105.tickets.wallet.WalletReadModel;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/wallet")
+@Tag(name = "Wallet", description = "The authenticated attendee's tickets, for opening the app at the door")
+@RequiredArgsConstructor
+public class WalletController {
+
+    private final WalletReadModel walletReadModel;
+    private final WalletMapper walletMapper;
+
+    @GetMapping
+    @Operation(summary = "Get wallet", description = "Retrieve every ticket of the authenticated attendee with its event and QR code id; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<GetWalletResponseDto> getWallet(
+        @AuthenticationPrincipal Jwt jwt,
+        WebRequest webRequest,
+        HttpServletResponse response
+    ){
+
+        UUID userId = JwtUtil.parseUserId(jwt);
+
+        // Replaces the no-store written by the security headers, which would stop
+        // the client keeping the copy it revalidates
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+
+        if (webRequest.checkNotModified(etag(userId, walletReadModel.currentVersion(userId)))) {
+            return null;
+        }
+
+        Wallet wallet = walletReadModel.load(userId);
+
+        return ResponseEntity.ok()
+                .eTag(etag(userId, wallet.version()))
+                .body(walletMapper.toGetWalletResponseDto(wallet));
+    }
+
+    // The user id keeps an ETag kept from one account matching another account's wallet
+    private static String etag(UUID userId, long version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+}
@@ -12,6 +12,7 @@ public class CreateTicketTypeRequest {
     private Double price;
     private String description;
     private Integer totalAvailable;
+    private Integer inventoryBuckets;
     
 
 }
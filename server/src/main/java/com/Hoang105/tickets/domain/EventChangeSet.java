@@ -0,0 +1,22 @@
+package com.Hoang105.tickets.domain;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+
+/**
+ * The fields a partial update actually changed; fields set to the value they
+ * already had are left out, and ticket types with no change are not listed.
+ */
+public record EventChangeSet(
+        UUID eventId,
+        Set<EventFieldEnum> fields,
+        Map<UUID, Set<TicketTypeFieldEnum>> ticketTypes) {
+
+    public boolean isEmpty() {
+        return fields.isEmpty() && ticketTypes.isEmpty();
+    }
+}
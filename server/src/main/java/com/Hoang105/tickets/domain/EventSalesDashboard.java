@@ -0,0 +1,26 @@
+package com.Hoang105.tickets.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+
+/**
+ * Sales of an event from its rollups. Revenue uses the ticket types' current
+ * prices; sell-through is unknown when a ticket type has no limit.
+ */
+public record EventSalesDashboard(
+        UUID eventId,
+        SalesGranularityEnum granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        long purchased,
+        long cancelled,
+        long sold,
+        double revenue,
+        Integer totalAvailable,
+        Double sellThroughPercentage,
+        List<TicketTypeSales> ticketTypes,
+        List<SalesCurvePoint> curve) {
+}
@@ -0,0 +1,32 @@
+package com.Hoang105.tickets.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import lombok.*;
+
+/**
+ * A partial update of an event: only the fields in {@code patchedFields} are
+ * changed, to the value held here, which may be null to clear the field.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchEventRequest {
+    private String name;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private String venue;
+    private LocalDateTime salesStart;
+    private LocalDateTime salesEnd;
+    private EventStatusEnum status;
+
+    private Set<EventFieldEnum> patchedFields = EnumSet.noneOf(EventFieldEnum.class);
+
+    private List<PatchTicketTypeRequest> ticketTypes = new ArrayList<>();
+}
@@ -0,0 +1,29 @@
+package com.Hoang105.tickets.domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A partial update of one existing ticket type, as in {@link PatchEventRequest}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchTicketTypeRequest {
+    private UUID id;
+
+    private String name;
+    private Double price;
+    private String description;
+    private Integer totalAvailable;
+    private Integer inventoryBuckets;
+
+    private Set<TicketTypeFieldEnum> patchedFields = EnumSet.noneOf(TicketTypeFieldEnum.class);
+}
@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * One bucket of a sales curve; the cumulative figures include everything sold
+ * before the bucket, not just the requested range.
+ */
+public record SalesCurvePoint(
+        LocalDateTime bucketStart,
+        long purchased,
+        long cancelled,
+        double revenue,
+        long cumulativeSold,
+        double cumulativeRevenue) {
+}
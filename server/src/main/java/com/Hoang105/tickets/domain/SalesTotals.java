@@ -0,0 +1,13 @@
+package com.Hoang105.tickets.domain;
+
+import java.util.UUID;
+
+public record SalesTotals(
+        UUID ticketTypeId,
+        long purchased,
+        long cancelled) {
+
+    public long sold() {
+        return purchased - cancelled;
+    }
+}
@@ -0,0 +1,17 @@
+package com.Hoang105.tickets.domain;
+
+import java.util.UUID;
+
+/**
+ * Cancelled tickets keep their place in the inventory, so every ticket ever
+ * purchased counts against the total, as in the purchase check.
+ */
+public record TicketTypeAvailability(
+        UUID ticketTypeId,
+        Integer totalAvailable,
+        long purchased) {
+
+    public Integer remaining() {
+        return totalAvailable == null ? null : (int) Math.max(0, totalAvailable - purchased);
+    }
+}
@@ -0,0 +1,15 @@
+package com.Hoang105.tickets.domain;
+
+import java.util.UUID;
+
+public record TicketTypeSales(
+        UUID id,
+        String name,
+        Double price,
+        Integer totalAvailable,
+        long purchased,
+        long cancelled,
+        long sold,
+        double revenue,
+        Double sellThroughPercentage) {
+}
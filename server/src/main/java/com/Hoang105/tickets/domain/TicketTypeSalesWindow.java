@@ -0,0 +1,11 @@
+package com.Hoang105.tickets.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TicketTypeSalesWindow(
+        UUID ticketTypeId,
+        UUID eventId,
+        LocalDateTime salesStart,
+        LocalDateTime salesEnd) {
+}
@@ -16,6 +16,7 @@ public class UpdateTicketTypeRequest {
     private Double price;
     private String description;
     private Integer totalAvailable;
+    private Integer inventoryBuckets;
     
 
 }
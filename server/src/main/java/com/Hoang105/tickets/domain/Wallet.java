@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.WalletTicket;
+
+/**
+ * An attendee's tickets, newest purchase first. The tickets are at least as new
+ * as the version, never older.
+ */
+public record Wallet(
+        UUID userId,
+        long version,
+        List<WalletTicket> tickets) {
+}
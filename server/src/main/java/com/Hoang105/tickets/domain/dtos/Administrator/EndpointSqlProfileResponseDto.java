@@ -0,0 +1,22 @@
+package com.Hoang105.tickets.domain.dtos.Administrator;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointSqlProfileResponseDto {
+    private String endpoint;
+    private long requests;
+    private long statements;
+    private double averageStatementsPerRequest;
+    private long maxStatementsPerRequest;
+    private long rows;
+    private double dbTimeMillis;
+    private double averageDbTimeMillis;
+    private Map<String, Integer> repeatedSelects;
+}
@@ -0,0 +1,18 @@
+package com.Hoang105.tickets.domain.dtos.Administrator;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowStatementResponseDto {
+    private String endpoint;
+    private String sql;
+    private String bindShape;
+    private double elapsedMillis;
+    private Instant executedAt;
+}
@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain.dtos.Administrator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlProfileResponseDto {
+    private List<EndpointSqlProfileResponseDto> endpoints = new ArrayList<>();
+    private List<SlowStatementResponseDto> slowestStatements = new ArrayList<>();
+}
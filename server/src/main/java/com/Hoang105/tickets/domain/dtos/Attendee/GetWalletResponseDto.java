@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain.dtos.Attendee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetWalletResponseDto {
+    private long version;
+    private List<GetWalletTicketResponseDto> tickets = new ArrayList<>();
+}
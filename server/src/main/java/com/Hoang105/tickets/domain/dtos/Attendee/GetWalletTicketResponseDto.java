@@ -0,0 +1,30 @@
+package com.Hoang105.tickets.domain.dtos.Attendee;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetWalletTicketResponseDto {
+    private UUID id;
+    private TicketStatusEnum status;
+    // What the ticket's QR code encodes, so the app can draw it without fetching the image
+    private UUID qrCodeId;
+    private LocalDateTime purchasedAt;
+    private UUID ticketTypeId;
+    private String ticketTypeName;
+    private Double price;
+    private String description;
+    private UUID eventId;
+    private String eventName;
+    private String eventVenue;
+    private LocalDateTime eventStart;
+    private LocalDateTime eventEnd;
+}
@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetPublishedEventAvailabilityResponseDto {
+    private UUID eventId;
+    private List<GetPublishedEventAvailabilityTicketTypeResponseDto> ticketTypes;
+}
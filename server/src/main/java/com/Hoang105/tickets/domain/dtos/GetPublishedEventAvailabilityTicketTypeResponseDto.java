@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain.dtos;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetPublishedEventAvailabilityTicketTypeResponseDto {
+    private UUID id;
+    // Null when the ticket type has no limit
+    private Integer remaining;
+}
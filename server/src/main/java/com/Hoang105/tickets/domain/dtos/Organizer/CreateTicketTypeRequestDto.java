@@ -1,5 +1,7 @@
 package com.Hoang105.tickets.domain.dtos.Organizer;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -22,4 +24,8 @@ public class CreateTicketTypeRequestDto {
     private String description;
 
     private Integer totalAvailable;
+
+    @Min(value = 1, message = "Inventory buckets must be between 1 and 64")
+    @Max(value = 64, message = "Inventory buckets must be between 1 and 64")
+    private Integer inventoryBuckets;
 }
@@ -0,0 +1,19 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetEventSalesCurvePointResponseDto {
+    private LocalDateTime bucketStart;
+    private long purchased;
+    private long cancelled;
+    private double revenue;
+    private long cumulativeSold;
+    private double cumulativeRevenue;
+}
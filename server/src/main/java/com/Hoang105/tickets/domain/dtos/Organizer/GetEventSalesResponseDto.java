@@ -0,0 +1,29 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetEventSalesResponseDto {
+    private UUID eventId;
+    private SalesGranularityEnum granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long purchased;
+    private long cancelled;
+    private long sold;
+    private double revenue;
+    private Integer totalAvailable;
+    private Double sellThroughPercentage;
+    private List<GetEventSalesTicketTypeResponseDto> ticketTypes;
+    private List<GetEventSalesCurvePointResponseDto> curve;
+}
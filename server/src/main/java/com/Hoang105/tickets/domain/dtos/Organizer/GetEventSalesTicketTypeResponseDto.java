@@ -0,0 +1,22 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetEventSalesTicketTypeResponseDto {
+    private UUID id;
+    private String name;
+    private Double price;
+    private Integer totalAvailable;
+    private long purchased;
+    private long cancelled;
+    private long sold;
+    private double revenue;
+    private Double sellThroughPercentage;
+}
@@ -0,0 +1,17 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportEventErrorResponseDto {
+    // Position of the event in the input, from 1
+    private int item;
+    private String name;
+    private List<String> errors;
+}
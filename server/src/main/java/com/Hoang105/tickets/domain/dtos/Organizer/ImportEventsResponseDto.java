@@ -0,0 +1,20 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportEventsResponseDto {
+    private int received;
+    private int imported;
+    private int failed;
+
+    // In input order; only the first so many are listed when there are very many
+    private List<ImportEventErrorResponseDto> errors = new ArrayList<>();
+}
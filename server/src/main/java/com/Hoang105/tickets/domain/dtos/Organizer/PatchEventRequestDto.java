@@ -0,0 +1,87 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Only the properties present in the body are changed; a property sent as null
+ * clears the field. Jackson calls a setter only for a property it reads, so the
+ * setters record which ones were sent.
+ */
+@Getter
+@NoArgsConstructor
+public class PatchEventRequestDto {
+
+    @Pattern(regexp = ".*\\S.*", message = "Event name cannot be blank")
+    private String name;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    @Pattern(regexp = ".*\\S.*", message = "Venue information cannot be blank")
+    private String venue;
+
+    private LocalDateTime salesStart;
+
+    private LocalDateTime salesEnd;
+
+    private EventStatusEnum status;
+
+    @Valid
+    private List<PatchTicketTypeRequestDto> ticketTypes = new ArrayList<>();
+
+    @JsonIgnore
+    private final Set<EventFieldEnum> patchedFields = EnumSet.noneOf(EventFieldEnum.class);
+
+    public void setName(String name) {
+        this.name = name;
+        patchedFields.add(EventFieldEnum.NAME);
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+        patchedFields.add(EventFieldEnum.START);
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+        patchedFields.add(EventFieldEnum.END);
+    }
+
+    public void setVenue(String venue) {
+        this.venue = venue;
+        patchedFields.add(EventFieldEnum.VENUE);
+    }
+
+    public void setSalesStart(LocalDateTime salesStart) {
+        this.salesStart = salesStart;
+        patchedFields.add(EventFieldEnum.SALES_START);
+    }
+
+    public void setSalesEnd(LocalDateTime salesEnd) {
+        this.salesEnd = salesEnd;
+        patchedFields.add(EventFieldEnum.SALES_END);
+    }
+
+    public void setStatus(EventStatusEnum status) {
+        this.status = status;
+        patchedFields.add(EventFieldEnum.STATUS);
+    }
+
+    public void setTicketTypes(List<PatchTicketTypeRequestDto> ticketTypes) {
+        this.ticketTypes = ticketTypes == null ? new ArrayList<>() : ticketTypes;
+    }
+}
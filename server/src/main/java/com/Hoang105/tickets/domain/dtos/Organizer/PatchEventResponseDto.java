@@ -0,0 +1,23 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchEventResponseDto {
+    private UUID id;
+    private Set<EventFieldEnum> changedFields = new HashSet<>();
+    private Map<UUID, Set<TicketTypeFieldEnum>> changedTicketTypes = new HashMap<>();
+}
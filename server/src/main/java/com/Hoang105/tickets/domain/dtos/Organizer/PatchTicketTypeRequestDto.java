@@ -0,0 +1,74 @@
+package com.Hoang105.tickets.domain.dtos.Organizer;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes to one existing ticket type, read like {@link PatchEventRequestDto}.
+ */
+@Getter
+@NoArgsConstructor
+public class PatchTicketTypeRequestDto {
+
+    @NotNull(message = "Ticket type ID must be provided")
+    private UUID id;
+
+    @Pattern(regexp = ".*\\S.*", message = "Ticket type name cannot be blank")
+    private String name;
+
+    @PositiveOrZero(message = "Price must be zero or greater")
+    private Double price;
+
+    private String description;
+
+    @PositiveOrZero(message = "Total available must be zero or greater")
+    private Integer totalAvailable;
+
+    @Min(value = 1, message = "Inventory buckets must be between 1 and 64")
+    @Max(value = 64, message = "Inventory buckets must be between 1 and 64")
+    private Integer inventoryBuckets;
+
+    @JsonIgnore
+    private final Set<TicketTypeFieldEnum> patchedFields = EnumSet.noneOf(TicketTypeFieldEnum.class);
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        patchedFields.add(TicketTypeFieldEnum.NAME);
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+        patchedFields.add(TicketTypeFieldEnum.PRICE);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        patchedFields.add(TicketTypeFieldEnum.DESCRIPTION);
+    }
+
+    public void setTotalAvailable(Integer totalAvailable) {
+        this.totalAvailable = totalAvailable;
+        patchedFields.add(TicketTypeFieldEnum.TOTAL_AVAILABLE);
+    }
+
+    public void setInventoryBuckets(Integer inventoryBuckets) {
+        this.inventoryBuckets = inventoryBuckets;
+        patchedFields.add(TicketTypeFieldEnum.INVENTORY_BUCKETS);
+    }
+}
@@ -2,6 +2,8 @@ package com.Hoang105.tickets.domain.dtos.Organizer;
 
 import java.util.UUID;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -26,4 +28,8 @@ public class UpdateTicketTypeRequestDto {
     private String description;
 
     private Integer totalAvailable;
+
+    @Min(value = 1, message = "Inventory buckets must be between 1 and 64")
+    @Max(value = 64, message = "Inventory buckets must be between 1 and 64")
+    private Integer inventoryBuckets;
 }
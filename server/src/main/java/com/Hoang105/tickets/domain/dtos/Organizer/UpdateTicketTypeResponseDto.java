@@ -16,6 +16,7 @@ public class UpdateTicketTypeResponseDto {
     private Double price;
     private String description;
     private Integer totalAvailable;
+    private Integer inventoryBuckets;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -13,6 +13,8 @@ import java.util.UUID;
 public class TicketValidationRequestDto {
     private UUID id;
     private TicketValidationMethodEnum method;
+    // Optional: the event the staff member is checking in for
+    private UUID eventId;
 
 
 }
@@ -0,0 +1,86 @@
+package com.Hoang105.tickets.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.QrCodeStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A ticket of a finished event, moved out of the hot tables by the
+ * TicketArchiver together with a summary of its QR code and validations.
+ * Rows are written by a bulk statement and never change afterwards.
+ */
+@Entity
+@Table(name = "archived_tickets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTicket {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_type_id", nullable = false, updatable = false)
+    private TicketType ticketType;
+
+    @Column(name = "purchaser_id", nullable = false, updatable = false)
+    private UUID purchaserId;
+
+    @Column(name = "status", nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TicketStatusEnum status;
+
+    // The ticket's latest QR code; its image is rendered again on request
+    @Column(name = "qr_code_id", updatable = false)
+    private UUID qrCodeId;
+
+    @Column(name = "qr_code_status", updatable = false)
+    @Enumerated(EnumType.STRING)
+    private QrCodeStatusEnum qrCodeStatus;
+
+    @Column(name = "validation_count", nullable = false, updatable = false)
+    private int validationCount;
+
+    @Column(name = "last_validation_status", updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TicketValidationEnum lastValidationStatus;
+
+    @Column(name = "last_validated_at", updatable = false)
+    private LocalDateTime lastValidatedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * The archived ticket in the shape the ticket read paths return. The result
+     * is not managed and has no QR codes or validations attached.
+     */
+    public Ticket toTicket() {
+        return Ticket.builder()
+                .id(id)
+                .status(status)
+                .ticketType(ticketType)
+                .eventId(eventId)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.UUID;
 
 import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -15,6 +17,8 @@ import lombok.*;
 
 @Entity
 @Table(name = "events")
+@SQLRestriction("deleted_at IS NULL")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -142,6 +146,14 @@ public class Event {
     @Builder.Default
     private List<TicketType> ticketTypes = new ArrayList<>();
 
+    // Set by TicketArchiver once every ticket of the event has moved to archived_tickets
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Set when the organizer deletes the event; the row is hidden from then on and purged later
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
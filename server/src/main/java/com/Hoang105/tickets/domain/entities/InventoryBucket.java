@@ -0,0 +1,41 @@
+package com.Hoang105.tickets.domain.entities;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One share of a ticket type's tickets still for sale. Written only through
+ * InventoryBucketRepository, never as an entity.
+ */
+@Entity
+@Table(name = "inventory_buckets")
+@IdClass(InventoryBucket.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryBucket {
+
+    @Id
+    @Column(name = "ticket_type_id", updatable = false, nullable = false)
+    private UUID ticketTypeId;
+
+    @Id
+    @Column(name = "bucket", updatable = false, nullable = false)
+    private int bucket;
+
+    @Column(name = "remaining", nullable = false)
+    private int remaining;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ticketTypeId;
+        private int bucket;
+    }
+}
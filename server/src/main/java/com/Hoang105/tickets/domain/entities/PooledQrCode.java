@@ -0,0 +1,38 @@
+package com.Hoang105.tickets.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A QR code rendered ahead of the purchase that will claim it. Written by
+ * QrCodePoolFiller and claimed through QrCodePoolRepository.claim, never as an
+ * entity.
+ */
+@Entity
+@Table(name = "qr_code_pool")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PooledQrCode {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "ticket_type_id", updatable = false, nullable = false)
+    private UUID ticketTypeId;
+
+    @Column(name = "event_id", updatable = false, nullable = false)
+    private UUID eventId;
+
+    @Column(name = "value", columnDefinition = "TEXT", updatable = false, nullable = false)
+    private String value;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+}
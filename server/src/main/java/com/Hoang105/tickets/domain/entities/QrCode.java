@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.Hoang105.tickets.domain.entities.enums.QrCodeStatusEnum;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -34,6 +35,10 @@ public class QrCode {
     @JoinColumn(name = "ticket_id", nullable = false)
     private Ticket ticket;
 
+    @PartitionKey
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+
     
     @Override
     public int hashCode() {
@@ -0,0 +1,62 @@
+package com.Hoang105.tickets.domain.entities;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Tickets of one ticket type purchased and cancelled within one bucket, in one
+ * of the shards the bucket is kept in. Written only through
+ * SalesRollupRepository.increment, never as an entity.
+ */
+@Entity
+@Table(name = "sales_rollups")
+@IdClass(SalesRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+
+    @Id
+    @Column(name = "ticket_type_id", updatable = false, nullable = false)
+    private UUID ticketTypeId;
+
+    @Id
+    @Column(name = "granularity", length = 16, updatable = false, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SalesGranularityEnum granularity;
+
+    @Id
+    @Column(name = "bucket_start", updatable = false, nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "shard", updatable = false, nullable = false)
+    private int shard;
+
+    @Column(name = "event_id", updatable = false, nullable = false)
+    private UUID eventId;
+
+    @Column(name = "purchased", nullable = false)
+    private long purchased;
+
+    @Column(name = "cancelled", nullable = false)
+    private long cancelled;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ticketTypeId;
+        private SalesGranularityEnum granularity;
+        private LocalDateTime bucketStart;
+        private int shard;
+    }
+}
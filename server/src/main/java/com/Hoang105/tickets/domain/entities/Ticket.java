@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -37,6 +38,11 @@ public class Ticket {
     @JoinColumn(name = "purchaser_id", nullable = false)
     private User purchaser;
 
+    // The ticket type's event; tickets are partitioned by it
+    @PartitionKey
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL)
     @Builder.Default
     private List<TicketValidation> validations = new ArrayList<>();
@@ -3,6 +3,7 @@ package com.Hoang105.tickets.domain.entities;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -11,6 +12,7 @@ import lombok.*;
 
 @Entity
 @Table(name = "ticket_types")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +37,10 @@ public class TicketType {
     @Column(name = "total_available")
     private Integer totalAvailable;
 
+    // The rows totalAvailable is split across for purchases; null for app.inventory.buckets
+    @Column(name = "inventory_buckets")
+    private Integer inventoryBuckets;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
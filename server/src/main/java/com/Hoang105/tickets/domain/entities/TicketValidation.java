@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
 import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -36,6 +37,10 @@ public class TicketValidation {
     @JoinColumn(name = "ticket_id")
     private Ticket ticket;
 
+    @PartitionKey
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+
     
 
     @Override
@@ -0,0 +1,68 @@
+package com.Hoang105.tickets.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A ticket as its purchaser's wallet shows it, with copies of the event and
+ * ticket type details. Written only through WalletTicketRepository, never as an
+ * entity.
+ */
+@Entity
+@Table(name = "wallet_tickets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletTicket {
+
+    @Id
+    @Column(name = "ticket_id", updatable = false, nullable = false)
+    private UUID ticketId;
+
+    @Column(name = "purchaser_id", updatable = false, nullable = false)
+    private UUID purchaserId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TicketStatusEnum status;
+
+    @Column(name = "qr_code_id")
+    private UUID qrCodeId;
+
+    @Column(name = "purchased_at", nullable = false)
+    private LocalDateTime purchasedAt;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "event_name", nullable = false)
+    private String eventName;
+
+    @Column(name = "event_venue", nullable = false)
+    private String eventVenue;
+
+    @Column(name = "event_start")
+    private LocalDateTime eventStart;
+
+    @Column(name = "event_end")
+    private LocalDateTime eventEnd;
+
+    @Column(name = "ticket_type_id", nullable = false)
+    private UUID ticketTypeId;
+
+    @Column(name = "ticket_type_name", nullable = false)
+    private String ticketTypeName;
+
+    @Column(name = "ticket_type_price", nullable = false)
+    private Double ticketTypePrice;
+
+    @Column(name = "ticket_type_description")
+    private String ticketTypeDescription;
+}
@@ -0,0 +1,24 @@
+package com.Hoang105.tickets.domain.entities.enums;
+
+/**
+ * The fields of an event an organizer can change one at a time.
+ */
+public enum EventFieldEnum {
+    NAME(false),
+    START(true),
+    END(true),
+    VENUE(false),
+    SALES_START(true),
+    SALES_END(true),
+    STATUS(false);
+
+    private final boolean clearable;
+
+    EventFieldEnum(boolean clearable) {
+        this.clearable = clearable;
+    }
+
+    public boolean isClearable() {
+        return clearable;
+    }
+}
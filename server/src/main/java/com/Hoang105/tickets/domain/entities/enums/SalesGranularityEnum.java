@@ -0,0 +1,5 @@
+package com.Hoang105.tickets.domain.entities.enums;
+
+public enum SalesGranularityEnum {
+    MINUTE, HOUR, DAY
+}
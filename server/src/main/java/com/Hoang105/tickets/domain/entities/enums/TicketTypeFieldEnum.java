@@ -0,0 +1,22 @@
+package com.Hoang105.tickets.domain.entities.enums;
+
+/**
+ * The fields of a ticket type an organizer can change one at a time.
+ */
+public enum TicketTypeFieldEnum {
+    NAME(false),
+    PRICE(false),
+    DESCRIPTION(true),
+    TOTAL_AVAILABLE(true),
+    INVENTORY_BUCKETS(true);
+
+    private final boolean clearable;
+
+    TicketTypeFieldEnum(boolean clearable) {
+        this.clearable = clearable;
+    }
+
+    public boolean isClearable() {
+        return clearable;
+    }
+}
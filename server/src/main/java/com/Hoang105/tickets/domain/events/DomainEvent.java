@@ -0,0 +1,17 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Something that happened to an aggregate, recorded in the outbox in the same
+ * transaction as the change and delivered to {@code @EventListener} methods
+ * after commit. Delivery is at-least-once, so subscribers must be idempotent.
+ */
+public sealed interface DomainEvent
+        permits TicketPurchased, TicketCancelled, TicketValidated, EventPublished, EventUpdated, EventDeleted {
+
+    UUID aggregateId();
+
+    LocalDateTime occurredAt();
+}
@@ -0,0 +1,19 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An organizer deleted an event. It is hidden from then on; its rows are purged
+ * later by the DeletedEventPurger.
+ */
+public record EventDeleted(
+        UUID eventId,
+        UUID organizerId,
+        LocalDateTime occurredAt) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return eventId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An event became visible to attendees, either created as PUBLISHED or moved to
+ * PUBLISHED by an update (which also produces an {@link EventUpdated}).
+ */
+public record EventPublished(
+        UUID eventId,
+        UUID organizerId,
+        LocalDateTime salesStart,
+        LocalDateTime salesEnd,
+        LocalDateTime occurredAt) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return eventId;
+    }
+}
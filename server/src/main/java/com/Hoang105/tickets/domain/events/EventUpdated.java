@@ -0,0 +1,41 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+
+/**
+ * An organizer changed an event. A partial update lists the fields it changed,
+ * so subscribers can skip work the change does not touch; a full update, and
+ * records written before the lists existed, leave them null, meaning anything
+ * may have changed, including which ticket types the event has.
+ */
+public record EventUpdated(
+        UUID eventId,
+        UUID organizerId,
+        EventStatusEnum status,
+        LocalDateTime salesStart,
+        LocalDateTime salesEnd,
+        Set<EventFieldEnum> changedFields,
+        Map<UUID, Set<TicketTypeFieldEnum>> changedTicketTypes,
+        LocalDateTime occurredAt) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return eventId;
+    }
+
+    public boolean changed(EventFieldEnum field) {
+        return changedFields == null || changedFields.contains(field);
+    }
+
+    public boolean changed(TicketTypeFieldEnum field) {
+        return changedTicketTypes == null
+                || changedTicketTypes.values().stream().anyMatch(fields -> fields.contains(field));
+    }
+}
@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TicketCancelled(
+        UUID ticketId,
+        UUID ticketTypeId,
+        UUID purchaserId,
+        LocalDateTime occurredAt) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return ticketId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TicketPurchased(
+        UUID ticketId,
+        UUID ticketTypeId,
+        UUID eventId,
+        UUID purchaserId,
+        Double price,
+        LocalDateTime occurredAt) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return ticketId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.Hoang105.tickets.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+
+public record TicketValidated(
+        UUID validationId,
+        UUID ticketId,
+        TicketValidationEnum status,
+        TicketValidationMethodEnum validationMethod,
+        LocalDateTime occurredAt) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return ticketId;
+    }
+}
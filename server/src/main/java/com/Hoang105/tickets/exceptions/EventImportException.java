@@ -0,0 +1,28 @@
+package com.Hoang105.tickets.exceptions;
+
+
+public class EventImportException extends EventTicketException{
+
+    public EventImportException() {
+    }
+
+    public EventImportException(String message) {
+        super(message);
+    }
+    
+    public EventImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public EventImportException(Throwable cause) {
+        super(cause);
+    }
+
+    public EventImportException(String message, 
+                                Throwable cause, 
+                                boolean enableSuppression, 
+                                boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+}
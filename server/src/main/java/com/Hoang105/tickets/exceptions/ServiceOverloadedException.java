@@ -0,0 +1,23 @@
+package com.Hoang105.tickets.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Thrown for calls refused by a concurrency limit, or that waited too long for a
+ * lane thread, before any of their work was done. Refusals come in bursts
+ * whenever the database slows down, so no stack trace is captured.
+ */
+public class ServiceOverloadedException extends EventTicketException{
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(Duration retryAfter) {
+        super(null, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.Hoang105.tickets.exceptions;
+
+/**
+ * Thrown for purchases outside the event's sales window. Rejections can arrive
+ * in bursts around an on-sale, so no stack trace is captured.
+ */
+public class TicketSalesClosedException extends EventTicketException{
+
+    public TicketSalesClosedException() {
+        super(null, null, false, false);
+    }
+
+    public TicketSalesClosedException(String message) {
+        super(message, null, false, false);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.Hoang105.tickets.exceptions;
+
+/**
+ * Thrown when a request names a ticket type under an event it does not belong
+ * to. Limits keyed on the event in the path must not be escaped by naming
+ * another event, and such requests can arrive in bursts, so no stack trace is
+ * captured.
+ */
+public class TicketTypeNotInEventException extends EventTicketException{
+
+    public TicketTypeNotInEventException(String message) {
+        super(message, null, false, false);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.Hoang105.tickets.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row. Text starting with a character a spreadsheet
+ * would read as a formula is prefixed with a quote, since names and emails are
+ * user input.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final int columnCount;
+
+    CsvExportWriter(OutputStream out, List<String> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.columnCount = columns.size();
+
+        for (int i = 0; i < columnCount; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void writeRow(ResultSet row) throws IOException, SQLException {
+        for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            Object value = ExportWriter.exportValue(row.getObject(i));
+            if (value instanceof Number || value instanceof Boolean) {
+                writer.write(value.toString());
+            } else if (value != null) {
+                writeText(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeText(String text) throws IOException {
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
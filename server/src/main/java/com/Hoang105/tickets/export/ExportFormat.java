@@ -0,0 +1,35 @@
+package com.Hoang105.tickets.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv"),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+
+    ExportWriter open(OutputStream out, List<String> columns) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvExportWriter(out, columns);
+            case NDJSON -> new NdjsonExportWriter(out, columns);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.Hoang105.tickets.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes rows of an export to the response as they are read; nothing is kept
+ * between rows apart from the writer's output buffer.
+ */
+interface ExportWriter {
+
+    void writeRow(ResultSet row) throws IOException, SQLException;
+
+    /**
+     * Flushes buffered output. The response stream itself is left open.
+     */
+    void finish() throws IOException;
+
+    /**
+     * Timestamps are written in the same ISO format the JSON API uses.
+     */
+    static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp.toLocalDateTime());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,59 @@
+package com.Hoang105.tickets.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+/**
+ * One JSON object per line, keyed by column name.
+ */
+class NdjsonExportWriter implements ExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    NdjsonExportWriter(OutputStream out, List<String> columns) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out);
+        this.columns = columns;
+    }
+
+    @Override
+    public void writeRow(ResultSet row) throws IOException, SQLException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            generator.writeFieldName(columns.get(i));
+
+            Object value = ExportWriter.exportValue(row.getObject(i + 1));
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Integer number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Long number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Double number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
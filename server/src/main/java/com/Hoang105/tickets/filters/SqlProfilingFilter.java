@@ -0,0 +1,74 @@
+package com.Hoang105.tickets.filters;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.Hoang105.tickets.metrics.SqlCapture;
+import com.Hoang105.tickets.metrics.SqlProfiler;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.sql-profiler.enabled", havingValue = "true")
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private static final String CAPTURE_ATTRIBUTE = SqlProfilingFilter.class.getName() + ".CAPTURE";
+
+    private final SqlProfiler sqlProfiler;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        // Handling finished by an executor, recorded once the result has been written
+        if (isAsyncDispatch(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (request.getAttribute(CAPTURE_ATTRIBUTE) instanceof SqlCapture capture && !request.isAsyncStarted()) {
+                    sqlProfiler.recordEndpoint(endpointOf(request), capture);
+                }
+            }
+            return;
+        }
+
+        try (SqlCapture capture = sqlProfiler.capture()) {
+            capture.setLabel(request.getMethod() + " " + request.getRequestURI());
+
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (request.isAsyncStarted()) {
+                    request.setAttribute(CAPTURE_ATTRIBUTE, capture);
+                } else {
+                    sqlProfiler.recordEndpoint(endpointOf(request), capture);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    // Group by route template rather than raw URI so path variables don't create one entry per ID
+    private String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+    }
+}
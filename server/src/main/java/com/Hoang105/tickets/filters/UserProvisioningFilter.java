@@ -3,7 +3,9 @@ package com.Hoang105.tickets.filters;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.Hoang105.tickets.domain.entities.enums.UserRoleEnum;
 import org.springframework.security.core.Authentication;
@@ -25,8 +27,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserProvisioningFilter extends OncePerRequestFilter{
 
+    // Bounds the memory of provisionedUsers; forgetting users only costs a lookup
+    private static final int MAX_PROVISIONED_USERS = 100_000;
+
     private final UserRepository userRepository;
 
+    // Users known to exist with a role, so their requests need no database access here.
+    // Otherwise every request waits for a pooled connection before reaching any limit.
+    private final Set<UUID> provisionedUsers = ConcurrentHashMap.newKeySet();
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, 
@@ -38,6 +47,10 @@ public class UserProvisioningFilter extends OncePerRequestFilter{
         if (authentication != null && authentication.isAuthenticated() && authentication.getPrincipal() instanceof Jwt jwt) {
             UUID keycloakId = UUID.fromString(jwt.getSubject());
 
+            if (provisionedUsers.contains(keycloakId)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             if (userRepository.existsById(keycloakId)) {
 
@@ -46,6 +59,9 @@ public class UserProvisioningFilter extends OncePerRequestFilter{
                     existingUser.setRole(determineUserRole(jwt));
                     userRepository.save(existingUser);
                 }
+                if (existingUser != null) {
+                    rememberProvisioned(keycloakId);
+                }
 
             } else {
 
@@ -56,12 +72,20 @@ public class UserProvisioningFilter extends OncePerRequestFilter{
                 user.setRole(determineUserRole(jwt));
 
                 userRepository.save(user);
+                rememberProvisioned(keycloakId);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void rememberProvisioned(UUID userId) {
+        if (provisionedUsers.size() >= MAX_PROVISIONED_USERS) {
+            provisionedUsers.clear();
+        }
+        provisionedUsers.add(userId);
+    }
+
     private UserRoleEnum determineUserRole(Jwt jwt) {
         Map<String, Object> realmAccess = jwt.getClaim("realm_access");
 
@@ -0,0 +1,17 @@
+package com.Hoang105.tickets.invalidation;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entries of a cache region that may no longer match the database, delivered by
+ * the {@link CacheInvalidationBus} to {@code @EventListener} methods on its
+ * thread, outside a transaction. Null ids mean every entry of the region, after
+ * this instance may have missed invalidations.
+ */
+public record CacheInvalidated(CacheRegion region, Set<UUID> ids) {
+
+    public boolean all() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,359 @@
+package com.Hoang105.tickets.invalidation;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidates in-process caches on every instance of the application through
+ * Postgres {@code LISTEN}/{@code NOTIFY}, so a write handled by one instance
+ * does not leave the others serving what it replaced until their own refresh.
+ * <p>
+ * A single thread owns a connection to the primary of its own, outside the
+ * pool. Invalidations are collected once the transaction that made them
+ * commits; each {@code app.cache-invalidation.interval} the thread sends what
+ * was collected as a few {@code NOTIFY} payloads of comma-separated
+ * {@code <region>:<id>} keys, each key once however often it was invalidated,
+ * and reads what the other instances sent. Every batch, sent or received, is
+ * published as one {@link CacheInvalidated} per region, on this instance as
+ * well as the others; subscribers hold up the thread, so they should be quick
+ * even for a whole region. When more than {@code app.cache-invalidation.max-pending}
+ * keys pile up, {@code *} is sent instead, and every instance drops all of its
+ * cached state.
+ * <p>
+ * {@code NOTIFY} only reaches connections listening at the time, so after the
+ * connection is lost and opened again every region is invalidated in full.
+ * Invalidations collected meanwhile are sent once it is back. Subscribers must
+ * still expire what they cache on their own: invalidations collected by an
+ * instance that crashes before sending them are lost.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final String EVERYTHING = "*";
+    // Postgres rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final Duration interval;
+    private final long heartbeatNanos;
+    private final Duration reconnectDelay;
+    private final int maxPending;
+
+    private final Counter sent;
+    private final Counter received;
+    private final Counter resyncs;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean overflowed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // Only touched by the worker thread
+    private Connection connection;
+    private int backendPid;
+
+    public CacheInvalidationBus(
+            DataSourceProperties dataSourceProperties,
+            ApplicationEventPublisher applicationEventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache-invalidation.interval:PT0.05S}") Duration interval,
+            @Value("${app.cache-invalidation.heartbeat:PT10S}") Duration heartbeat,
+            @Value("${app.cache-invalidation.reconnect-delay:PT1S}") Duration reconnectDelay,
+            @Value("${app.cache-invalidation.max-pending:10000}") int maxPending) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.interval = interval;
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.reconnectDelay = reconnectDelay;
+        this.maxPending = maxPending;
+
+        this.sent = invalidationCounter(meterRegistry, "sent");
+        this.received = invalidationCounter(meterRegistry, "received");
+        this.resyncs = Counter.builder("tickets.cache_invalidation.resyncs")
+                .description("Times every cache region was invalidated, after a reconnect or an overflow")
+                .register(meterRegistry);
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("tickets.cache_invalidation.keys")
+                .description("Cache keys invalidated across instances, by direction")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Invalidates entries on every instance, this one included, once the
+     * caller's transaction commits, or right away outside a transaction.
+     */
+    public void invalidate(CacheRegion region, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<String> keys = ids.stream().map(id -> region.getPrefix() + ":" + id).toList();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            collect(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                collect(keys);
+            }
+        });
+    }
+
+    private void collect(List<String> keys) {
+        if (overflowed) {
+            return;
+        }
+        if (pending.size() + keys.size() > maxPending) {
+            overflowed = true;
+            return;
+        }
+        pending.addAll(keys);
+    }
+
+    private void run() {
+        boolean missed = false;
+        while (running) {
+            try {
+                connect();
+                if (missed) {
+                    // Whatever the others sent while this instance was not listening is gone
+                    resync();
+                    missed = false;
+                }
+
+                long lastUsed = System.nanoTime();
+                while (running) {
+                    if (flush()) {
+                        lastUsed = System.nanoTime();
+                    } else if (System.nanoTime() - lastUsed > heartbeatNanos) {
+                        heartbeat();
+                        lastUsed = System.nanoTime();
+                    }
+                    receive();
+                }
+            } catch (SQLException ex) {
+                log.warn("Cache invalidation connection failed, reconnecting in {}", reconnectDelay, ex);
+                disconnect();
+                missed = true;
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+        disconnect();
+    }
+
+    private void connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        // Tells this connection apart from the pool's in pg_stat_activity
+        properties.setProperty("ApplicationName", "tickets-cache-invalidation");
+
+        connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        connection.setAutoCommit(true);
+        backendPid = connection.unwrap(PGConnection.class).getBackendPID();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+    }
+
+    private void disconnect() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Closing the cache invalidation connection failed", ex);
+        }
+        connection = null;
+    }
+
+    /**
+     * Sends and applies what was collected, returning whether there was any.
+     * Keys that could not be sent are collected again.
+     */
+    private boolean flush() throws SQLException {
+        boolean everything = overflowed;
+        List<String> keys = new ArrayList<>();
+        for (Iterator<String> collected = pending.iterator(); collected.hasNext();) {
+            keys.add(collected.next());
+            collected.remove();
+        }
+        if (everything) {
+            overflowed = false;
+            keys = List.of(EVERYTHING);
+        }
+        if (keys.isEmpty()) {
+            return false;
+        }
+
+        apply(keys);
+        try {
+            broadcast(keys);
+        } catch (SQLException ex) {
+            if (everything) {
+                overflowed = true;
+            } else {
+                pending.addAll(keys);
+            }
+            throw ex;
+        }
+        sent.increment(keys.size());
+        return true;
+    }
+
+    private void broadcast(List<String> keys) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            StringBuilder payload = new StringBuilder();
+            for (String key : keys) {
+                if (!payload.isEmpty() && payload.length() + 1 + key.length() > MAX_PAYLOAD_LENGTH) {
+                    send(statement, payload);
+                    payload.setLength(0);
+                }
+                if (!payload.isEmpty()) {
+                    payload.append(',');
+                }
+                payload.append(key);
+            }
+            send(statement, payload);
+        }
+    }
+
+    private static void send(PreparedStatement statement, CharSequence payload) throws SQLException {
+        statement.setString(1, CHANNEL);
+        statement.setString(2, payload.toString());
+        statement.executeQuery().close();
+    }
+
+    private void heartbeat() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    private void receive() throws SQLException {
+        PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                .getNotifications((int) interval.toMillis());
+        if (notifications == null) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (PGNotification notification : notifications) {
+            // This instance applied its own before sending them
+            if (notification.getPID() != backendPid) {
+                keys.addAll(List.of(notification.getParameter().split(",")));
+            }
+        }
+        if (!keys.isEmpty()) {
+            received.increment(keys.size());
+            apply(keys);
+        }
+    }
+
+    private void apply(List<String> keys) {
+        Map<CacheRegion, Set<UUID>> invalidated = new EnumMap<>(CacheRegion.class);
+        for (String key : keys) {
+            if (EVERYTHING.equals(key)) {
+                resync();
+                return;
+            }
+            int separator = key.indexOf(':');
+            CacheRegion region = separator < 0 ? null : CacheRegion.fromPrefix(key.substring(0, separator));
+            if (region == null) {
+                log.warn("Ignoring unknown cache invalidation key {}", key);
+                continue;
+            }
+            try {
+                invalidated.computeIfAbsent(region, r -> new HashSet<>())
+                        .add(UUID.fromString(key.substring(separator + 1)));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Ignoring unknown cache invalidation key {}", key);
+            }
+        }
+        invalidated.forEach((region, ids) -> publish(new CacheInvalidated(region, Set.copyOf(ids))));
+    }
+
+    private void resync() {
+        resyncs.increment();
+        for (CacheRegion region : CacheRegion.values()) {
+            publish(new CacheInvalidated(region, null));
+        }
+    }
+
+    private void publish(CacheInvalidated invalidated) {
+        try {
+            applicationEventPublisher.publishEvent(invalidated);
+        } catch (RuntimeException ex) {
+            log.warn("Invalidating {} cache entries failed", invalidated.region(), ex);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("cache-invalidation").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(reconnectDelay.plus(interval).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,31 @@
+package com.Hoang105.tickets.invalidation;
+
+/**
+ * The kinds of in-process cached state that {@link CacheInvalidationBus}
+ * invalidates, each keyed by a UUID and named on the wire by its prefix.
+ */
+public enum CacheRegion {
+    /** Sales windows and published details of an event, by event id. */
+    EVENT("e"),
+    /** The remembered version of an attendee's wallet, by user id. */
+    WALLET("w");
+
+    private final String prefix;
+
+    CacheRegion(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    static CacheRegion fromPrefix(String prefix) {
+        for (CacheRegion region : values()) {
+            if (region.prefix.equals(prefix)) {
+                return region;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.Hoang105.tickets.inventory;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.repositories.InventoryBucketRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Evens out the inventory buckets of ticket types where some have run dry while
+ * others still hold tickets, so purchases keep spreading over all of them
+ * instead of crowding onto the last full ones. Each ticket type is rebalanced in
+ * its own short transaction that holds its buckets only for the update.
+ * <p>
+ * Unlike the archiver and the purge this is not held back while the database is
+ * busy: drained buckets matter most in the middle of an on-sale.
+ */
+@Component
+public class InventoryRebalancer {
+
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final int batchSize;
+
+    private final Counter rebalanced;
+
+    public InventoryRebalancer(
+            InventoryBucketRepository inventoryBucketRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.inventory.rebalance-batch-size:100}") int batchSize) {
+        this.inventoryBucketRepository = inventoryBucketRepository;
+        this.batchSize = batchSize;
+
+        this.rebalanced = Counter.builder("tickets.inventory.rebalanced")
+                .description("Ticket types whose inventory buckets were evened out after draining unevenly")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.rebalance-interval:PT1S}")
+    public void rebalanceDrained() {
+        List<UUID> drained = inventoryBucketRepository.findDrained(batchSize);
+        for (UUID ticketTypeId : drained) {
+            inventoryBucketRepository.rebalance(ticketTypeId);
+        }
+        rebalanced.increment(drained.size());
+    }
+}
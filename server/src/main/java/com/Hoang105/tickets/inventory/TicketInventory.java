@@ -0,0 +1,109 @@
+package com.Hoang105.tickets.inventory;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.repositories.InventoryBucketRepository;
+import com.Hoang105.tickets.repositories.InventoryBucketRepository.Capacity;
+import com.Hoang105.tickets.repositories.TicketRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The tickets of each ticket type still for sale, split across inventory
+ * buckets so purchases of one ticket type lock different rows and run side by
+ * side, on one instance or several. A purchase takes a ticket from a random
+ * bucket that has any, skipping buckets other purchases hold, and only waits for
+ * a held one when every other bucket is held or empty. The ticket type is sold
+ * out once all its buckets are empty, so totalAvailable stays exact.
+ * <p>
+ * A ticket type has {@code inventoryBuckets} buckets, or
+ * {@code app.inventory.buckets} when it does not say. They are created on the
+ * first purchase, or when the sales window is warmed, from the count of tickets
+ * sold, under the ticket type's lock. Changing the capacity or the number of
+ * buckets drops them, to be created again from the new values. The
+ * {@link InventoryRebalancer} evens them out as they drain. A cancelled ticket
+ * is not put back, as before.
+ */
+@Component
+@Slf4j
+public class TicketInventory {
+
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final TicketRepository ticketRepository;
+    private final int defaultBuckets;
+
+    public TicketInventory(
+            InventoryBucketRepository inventoryBucketRepository,
+            TicketRepository ticketRepository,
+            @Value("${app.inventory.buckets:8}") int defaultBuckets) {
+        this.inventoryBucketRepository = inventoryBucketRepository;
+        this.ticketRepository = ticketRepository;
+        this.defaultBuckets = defaultBuckets;
+    }
+
+    /**
+     * Takes one ticket of the type for the caller's transaction, returning the
+     * bucket it came from, or empty when the type is sold out.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Integer> take(TicketType ticketType) {
+        UUID ticketTypeId = ticketType.getId();
+        int start = ThreadLocalRandom.current().nextInt(buckets(ticketType.getInventoryBuckets()));
+
+        Optional<Integer> taken = inventoryBucketRepository.takeFromFree(ticketTypeId, start);
+        if (taken.isEmpty()) {
+            taken = inventoryBucketRepository.take(ticketTypeId);
+        }
+        // No buckets at all, rather than empty ones: the first purchase, or the first since a reset
+        if (taken.isEmpty() && !inventoryBucketRepository.existsByTicketTypeId(ticketTypeId)) {
+            prepare(ticketTypeId);
+            taken = inventoryBucketRepository.take(ticketTypeId);
+        }
+        return taken;
+    }
+
+    /**
+     * Creates the buckets of a ticket type that has none, returning whether it
+     * created them. A ticket type without a capacity gets empty buckets.
+     */
+    @Transactional
+    public boolean prepare(UUID ticketTypeId) {
+        Optional<Capacity> locked = inventoryBucketRepository.lockCapacity(ticketTypeId);
+        if (locked.isEmpty() || inventoryBucketRepository.existsByTicketTypeId(ticketTypeId)) {
+            return false;
+        }
+
+        Capacity capacity = locked.get();
+        int buckets = buckets(capacity.getInventoryBuckets());
+        int sold = ticketRepository.countByEventIdAndTicketTypeId(capacity.getEventId(), ticketTypeId);
+        int remaining = capacity.getTotalAvailable() == null ? 0 : Math.max(capacity.getTotalAvailable() - sold, 0);
+
+        inventoryBucketRepository.create(ticketTypeId, buckets, remaining);
+        log.debug("Created {} inventory buckets for ticket type {} with {} tickets left", buckets, ticketTypeId, remaining);
+        return true;
+    }
+
+    /**
+     * Drops the buckets of ticket types whose capacity or number of buckets the
+     * caller's transaction changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reset(Collection<UUID> ticketTypeIds) {
+        if (!ticketTypeIds.isEmpty()) {
+            inventoryBucketRepository.deleteByTicketTypeIds(ticketTypeIds);
+        }
+    }
+
+    private int buckets(Integer inventoryBuckets) {
+        return inventoryBuckets == null ? defaultBuckets : inventoryBuckets;
+    }
+}
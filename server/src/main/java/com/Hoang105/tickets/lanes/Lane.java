@@ -0,0 +1,31 @@
+package com.Hoang105.tickets.lanes;
+
+/**
+ * A class of traffic with its own threads and database connections, so a flood
+ * of one class cannot hold up another. Requests outside the lanes are handled
+ * on the container's threads with the primary connection pool.
+ */
+public enum Lane {
+    // Ticket validation at the doors
+    GATE,
+    PURCHASE,
+    // Anonymous reads of the published catalogue
+    BROWSE;
+
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The lane of the work running on the current thread, or null outside the lanes.
+     */
+    public static Lane current() {
+        return CURRENT.get();
+    }
+
+    static void enter(Lane lane) {
+        CURRENT.set(lane);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+}
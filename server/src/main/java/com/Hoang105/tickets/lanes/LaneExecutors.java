@@ -0,0 +1,102 @@
+package com.Hoang105.tickets.lanes;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.Hoang105.tickets.exceptions.ServiceOverloadedException;
+import com.Hoang105.tickets.metrics.SqlProfiler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * A bounded executor per {@link Lane}. Handlers return {@link #submit}'s task,
+ * which frees the container thread while the work waits for a lane thread; work
+ * that finds the lane's queue full is refused with 503 straight away, and work
+ * that waited longer than the lane's timeout is refused with 503 when its turn
+ * comes. Work that has started always runs to the end: a purchase may commit
+ * after any point, so answering its client "retry" would sell it a second
+ * ticket. Lane threads take their database connections from the lane's pool.
+ * <p>
+ * Each lane reports the usual {@code executor.*} metrics under the name
+ * {@code lane-<lane>}, and {@code tickets.lane.utilization}, the share of its
+ * threads busy.
+ */
+@Component
+@EnableConfigurationProperties(LaneProperties.class)
+public class LaneExecutors implements DisposableBean {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final LaneProperties properties;
+    private final Map<Lane, ThreadPoolTaskExecutor> executors = new EnumMap<>(Lane.class);
+
+    public LaneExecutors(LaneProperties properties, SqlProfiler sqlProfiler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        for (Lane lane : Lane.values()) {
+            LaneProperties.Settings settings = properties.get(lane);
+            String name = "lane-" + lane.name().toLowerCase();
+
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setThreadNamePrefix(name + "-");
+            executor.setCorePoolSize(settings.getThreads());
+            executor.setMaxPoolSize(settings.getThreads());
+            executor.setQueueCapacity(settings.getQueueCapacity());
+            executor.setTaskDecorator(task -> {
+                // Runs on the submitting thread; the SQL still counts towards its request
+                Runnable profiled = sqlProfiler.propagate(task);
+                return () -> {
+                    Lane.enter(lane);
+                    try {
+                        profiled.run();
+                    } finally {
+                        Lane.exit();
+                    }
+                };
+            });
+            executor.initialize();
+            executors.put(lane, executor);
+
+            ThreadPoolExecutor threadPool = executor.getThreadPoolExecutor();
+            new ExecutorServiceMetrics(threadPool, name, Tags.of("lane", lane.name().toLowerCase()))
+                    .bindTo(meterRegistry);
+            Gauge.builder("tickets.lane.utilization", threadPool,
+                            pool -> (double) pool.getActiveCount() / pool.getMaximumPoolSize())
+                    .description("Share of the lane's threads busy")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Runs the rest of a request's handling in the lane, provided it gets a
+     * thread within the lane's timeout. Once started it is only bounded by
+     * {@code spring.mvc.async.request-timeout}.
+     */
+    public <T> WebAsyncTask<T> submit(Lane lane, Callable<T> work) {
+        long deadline = System.nanoTime() + properties.get(lane).getTimeout().toNanos();
+        return new WebAsyncTask<>(null, executors.get(lane), () -> {
+            if (System.nanoTime() - deadline > 0) {
+                throw new ServiceOverloadedException(RETRY_AFTER);
+            }
+            return work.call();
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+}
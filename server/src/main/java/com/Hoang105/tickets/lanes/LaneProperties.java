@@ -0,0 +1,38 @@
+package com.Hoang105.tickets.lanes;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.lanes")
+public class LaneProperties {
+
+    private Settings gate = new Settings();
+    private Settings purchase = new Settings();
+    private Settings browse = new Settings();
+
+    public Settings get(Lane lane) {
+        return switch (lane) {
+            case GATE -> gate;
+            case PURCHASE -> purchase;
+            case BROWSE -> browse;
+        };
+    }
+
+    @Data
+    public static class Settings {
+        private int threads = 8;
+
+        // Requests waiting for a thread; beyond this they are refused
+        private int queueCapacity = 100;
+
+        // Size of the lane's own connection pool
+        private int connections = 4;
+
+        // Requests still waiting for a lane thread after this are answered 503 instead of started
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+}
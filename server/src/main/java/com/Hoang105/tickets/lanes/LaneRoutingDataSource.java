@@ -0,0 +1,65 @@
+package com.Hoang105.tickets.lanes;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Partitions the primary database's connections by {@link Lane}: work running in
+ * a lane takes connections from that lane's own pool, everything else from the
+ * primary pool. Each lane pool copies the primary pool's settings apart from
+ * its size, and reports the usual {@code hikaricp.*} metrics under the pool name
+ * {@code lane-<lane>}.
+ */
+public final class LaneRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<Lane, HikariDataSource> lanePools = new EnumMap<>(Lane.class);
+
+    public LaneRoutingDataSource(HikariDataSource primary, LaneProperties properties, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (Lane lane : Lane.values()) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("lane-" + lane.name().toLowerCase());
+            config.setMaximumPoolSize(properties.get(lane).getConnections());
+            if (config.getMinimumIdle() > config.getMaximumPoolSize()) {
+                config.setMinimumIdle(config.getMaximumPoolSize());
+            }
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            HikariDataSource pool = new HikariDataSource(config);
+            lanePools.put(lane, pool);
+            targets.put(lane, pool);
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public Collection<HikariDataSource> getLanePools() {
+        return lanePools.values();
+    }
+
+    public HikariDataSource getLanePool(Lane lane) {
+        return lanePools.get(lane);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Lane.current();
+    }
+
+    @Override
+    public void close() {
+        lanePools.values().forEach(HikariDataSource::close);
+    }
+}
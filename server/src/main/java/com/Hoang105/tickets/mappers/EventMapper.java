@@ -2,6 +2,7 @@ package com.Hoang105.tickets.mappers;
 
 import com.Hoang105.tickets.domain.dtos.Organizer.*;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
 import com.Hoang105.tickets.domain.*;
@@ -32,10 +33,24 @@ public interface EventMapper {
 
     UpdateEventResponseDto toUpdateEventResponseDto(Event event);
 
+    PatchTicketTypeRequest fromDto(PatchTicketTypeRequestDto dto);
+
+    PatchEventRequest fromDto(PatchEventRequestDto dto);
+
+    @Mapping(target = "id", source = "eventId")
+    @Mapping(target = "changedFields", source = "fields")
+    @Mapping(target = "changedTicketTypes", source = "ticketTypes")
+    PatchEventResponseDto toPatchEventResponseDto(EventChangeSet changeSet);
+
     ListPublishedEventResponseDto toListPublishedEventResponseDto(Event event);
 
     GetPublishedEventDetailsTicketTypeResponseDto toGetPublishedEventDetailsTicketTypeResponseDto(TicketType ticketType);
 
     GetPublishedEventDetailsResponseDto toGetPublishedEventDetailsResponseDto(Event event);
 
-}
\ No newline at end of file
+    GetEventSalesTicketTypeResponseDto toGetEventSalesTicketTypeResponseDto(TicketTypeSales ticketTypeSales);
+
+    GetEventSalesCurvePointResponseDto toGetEventSalesCurvePointResponseDto(SalesCurvePoint salesCurvePoint);
+
+    GetEventSalesResponseDto toGetEventSalesResponseDto(EventSalesDashboard eventSalesDashboard);
+}
@@ -0,0 +1,29 @@
+package com.Hoang105.tickets.mappers;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.Hoang105.tickets.domain.dtos.Administrator.EndpointSqlProfileResponseDto;
+import com.Hoang105.tickets.domain.dtos.Administrator.SlowStatementResponseDto;
+import com.Hoang105.tickets.domain.dtos.Administrator.SqlProfileResponseDto;
+import com.Hoang105.tickets.metrics.EndpointSqlProfile;
+import com.Hoang105.tickets.metrics.SlowStatement;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface SqlProfileMapper {
+
+    @Mapping(target = "averageStatementsPerRequest", expression = "java(average(profile.getStatements(), profile.getRequests()))")
+    @Mapping(target = "averageDbTimeMillis", expression = "java(average(profile.getDbTimeMillis(), profile.getRequests()))")
+    EndpointSqlProfileResponseDto toEndpointSqlProfileResponseDto(EndpointSqlProfile profile);
+
+    SlowStatementResponseDto toSlowStatementResponseDto(SlowStatement statement);
+
+    SqlProfileResponseDto toSqlProfileResponseDto(List<EndpointSqlProfile> endpoints, List<SlowStatement> slowestStatements);
+
+    default double average(double total, long requests) {
+        return requests == 0 ? 0 : total / requests;
+    }
+}
@@ -0,0 +1,21 @@
+package com.Hoang105.tickets.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.Hoang105.tickets.domain.Wallet;
+import com.Hoang105.tickets.domain.dtos.Attendee.GetWalletResponseDto;
+import com.Hoang105.tickets.domain.dtos.Attendee.GetWalletTicketResponseDto;
+import com.Hoang105.tickets.domain.entities.WalletTicket;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface WalletMapper {
+
+    @Mapping(target = "id", source = "ticketId")
+    @Mapping(target = "price", source = "ticketTypePrice")
+    @Mapping(target = "description", source = "ticketTypeDescription")
+    GetWalletTicketResponseDto toGetWalletTicketResponseDto(WalletTicket walletTicket);
+
+    GetWalletResponseDto toGetWalletResponseDto(Wallet wallet);
+}
@@ -0,0 +1,16 @@
+package com.Hoang105.tickets.metrics;
+
+import java.util.Map;
+
+import lombok.Value;
+
+@Value
+public class EndpointSqlProfile {
+    String endpoint;
+    long requests;
+    long statements;
+    long maxStatementsPerRequest;
+    long rows;
+    double dbTimeMillis;
+    Map<String, Integer> repeatedSelects;
+}
@@ -0,0 +1,213 @@
+package com.Hoang105.tickets.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency and outcome metrics for {@code TicketTypeServiceImpl.purchaseTicket}.
+ * <p>
+ * Every meter is registered up front and looked up by array index, and the
+ * per-purchase state lives in a per-thread object that is reused, so recording a
+ * purchase does not allocate once the thread has served its first one.
+ */
+@Component
+public class PurchaseMetrics {
+
+    public enum Phase {
+        USER_LOOKUP("user_lookup"),
+        TICKET_TYPE_LOOKUP("ticket_type_lookup"),
+        // Taking a ticket from the ticket type's inventory buckets, waiting for a held one if need be
+        LOCK_WAIT("lock_wait"),
+        TICKET_SAVE("ticket_save"),
+        // Getting the image plus the QR code insert. The image is claimed from the
+        // pool (QR_CLAIM) or, when the pool is empty, rendered (QR_RENDER)
+        QR_CODE("qr_code"),
+        QR_CLAIM("qr_claim"),
+        QR_RENDER("qr_render"),
+        TICKET_UPDATE("ticket_update"),
+        SALES_ROLLUP("sales_rollup"),
+        WALLET("wallet"),
+        OUTBOX("outbox"),
+        COMMIT("commit"),
+        TOTAL("total");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String OTHER_TICKET_TYPES = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTrackedTicketTypes;
+
+    private final Timer[] phaseTimers;
+    private final Counter purchased;
+    private final Counter soldOut;
+    private final Counter failed;
+    private final Counter outsideSalesWindow;
+
+    private final Map<UUID, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger otherInFlight;
+    private final Function<UUID, AtomicInteger> inFlightGaugeFactory = this::registerInFlightGauge;
+
+    private final ThreadLocal<PurchaseTimer> purchaseTimers = ThreadLocal.withInitial(PurchaseTimer::new);
+
+    public PurchaseMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${app.metrics.purchase.max-tracked-ticket-types:500}") int maxTrackedTicketTypes) {
+        this.meterRegistry = meterRegistry;
+        this.maxTrackedTicketTypes = maxTrackedTicketTypes;
+
+        Phase[] phases = Phase.values();
+        this.phaseTimers = new Timer[phases.length];
+        for (Phase phase : phases) {
+            phaseTimers[phase.ordinal()] = Timer.builder("tickets.purchase.phase")
+                    .description("Latency of each phase of a ticket purchase")
+                    .tag("phase", phase.tag)
+                    .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+        }
+
+        this.purchased = outcomeCounter("purchased");
+        this.soldOut = outcomeCounter("sold_out");
+        this.failed = outcomeCounter("failed");
+        this.outsideSalesWindow = outcomeCounter("outside_sales_window");
+
+        this.otherInFlight = new AtomicInteger();
+        Gauge.builder("tickets.purchase.in_flight", otherInFlight, AtomicInteger::get)
+                .tag("ticket_type", OTHER_TICKET_TYPES)
+                .register(meterRegistry);
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("tickets.purchase.outcome")
+                .description("Completed purchase attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts timing a purchase. Must be called inside the purchase transaction;
+     * commit time, total time, outcome and the in-flight gauge are settled when
+     * the transaction completes.
+     */
+    public long begin(UUID ticketTypeId) {
+        long now = System.nanoTime();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return now;
+        }
+
+        AtomicInteger ticketTypeInFlight = inFlightFor(ticketTypeId);
+        ticketTypeInFlight.incrementAndGet();
+
+        PurchaseTimer timer = purchaseTimers.get();
+        timer.start(now, ticketTypeInFlight);
+        TransactionSynchronizationManager.registerSynchronization(timer);
+
+        return now;
+    }
+
+    /**
+     * Records the time since {@code startNanos} against {@code phase} and returns
+     * the current time so consecutive phases can be chained.
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers[phase.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void markSoldOut() {
+        purchaseTimers.get().soldOut = true;
+    }
+
+    /**
+     * Counts a purchase rejected by the sales window check, which runs before
+     * {@link #begin} and outside any transaction.
+     */
+    public void recordOutsideSalesWindow() {
+        outsideSalesWindow.increment();
+    }
+
+    private AtomicInteger inFlightFor(UUID ticketTypeId) {
+        AtomicInteger counter = inFlight.get(ticketTypeId);
+        if (counter != null) {
+            return counter;
+        }
+        if (inFlight.size() >= maxTrackedTicketTypes) {
+            return otherInFlight;
+        }
+        return inFlight.computeIfAbsent(ticketTypeId, inFlightGaugeFactory);
+    }
+
+    private AtomicInteger registerInFlightGauge(UUID ticketTypeId) {
+        AtomicInteger counter = new AtomicInteger();
+        Gauge.builder("tickets.purchase.in_flight", counter, AtomicInteger::get)
+                .description("Purchases currently being processed for a ticket type")
+                .tag("ticket_type", ticketTypeId.toString())
+                .register(meterRegistry);
+        return counter;
+    }
+
+    private final class PurchaseTimer implements TransactionSynchronization {
+
+        private long startNanos;
+        private long beforeCommitNanos;
+        private boolean soldOut;
+        private AtomicInteger ticketTypeInFlight;
+
+        private void start(long now, AtomicInteger ticketTypeInFlight) {
+            this.startNanos = now;
+            this.beforeCommitNanos = 0;
+            this.soldOut = false;
+            this.ticketTypeInFlight = ticketTypeInFlight;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            beforeCommitNanos = System.nanoTime();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            long now = System.nanoTime();
+
+            if (status == STATUS_COMMITTED) {
+                if (beforeCommitNanos != 0) {
+                    record(Phase.COMMIT, beforeCommitNanos);
+                }
+                purchased.increment();
+            } else if (soldOut) {
+                PurchaseMetrics.this.soldOut.increment();
+            } else {
+                failed.increment();
+            }
+
+            phaseTimers[Phase.TOTAL.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+            ticketTypeInFlight.decrementAndGet();
+            ticketTypeInFlight = null;
+        }
+    }
+}
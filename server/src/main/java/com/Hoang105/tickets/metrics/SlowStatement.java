@@ -0,0 +1,14 @@
+package com.Hoang105.tickets.metrics;
+
+import java.time.Instant;
+
+import lombok.Value;
+
+@Value
+public class SlowStatement {
+    String endpoint;
+    String sql;
+    String bindShape;
+    double elapsedMillis;
+    Instant executedAt;
+}
@@ -0,0 +1,112 @@
+package com.Hoang105.tickets.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL executed on one thread between {@link SqlProfiler#capture()} and
+ * {@link #close()}. Used per HTTP request by the profiling filter, and directly
+ * by tests to pin down how many statements a code path may issue:
+ *
+ * <pre>
+ * try (SqlCapture capture = sqlProfiler.capture()) {
+ *     ticketService.listTicketForUser(userId, pageable);
+ *     capture.assertStatementCountAtMost(2);
+ * }
+ * </pre>
+ */
+public class SqlCapture implements AutoCloseable {
+
+    private final SqlProfiler profiler;
+    private final SqlCapture previous;
+    private final int nPlusOneThreshold;
+
+    private String label;
+    long statementStartNanos;
+
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+
+    SqlCapture(SqlProfiler profiler, SqlCapture previous, int nPlusOneThreshold) {
+        this.profiler = profiler;
+        this.previous = previous;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * Names the code path being captured, e.g. the request line; shown next to
+     * the slowest statements.
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    SqlCapture getPrevious() {
+        return previous;
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        dbNanos += elapsedNanos;
+
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            selectCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatementCount() {
+        return statements;
+    }
+
+    public long getRowCount() {
+        return rows;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    /**
+     * SELECT statements that ran at least {@code app.sql-profiler.n-plus-one-threshold}
+     * times with identical SQL, which is what a lazy load inside a loop looks like.
+     */
+    public Map<String, Integer> getRepeatedSelects() {
+        Map<String, Integer> repeated = new HashMap<>();
+        selectCounts.forEach((sql, count) -> {
+            if (count >= nPlusOneThreshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    public void assertStatementCountAtMost(int expected) {
+        if (statements > expected) {
+            throw new AssertionError(String.format(
+                    "Expected at most %d SQL statements but %d were executed: %s",
+                    expected, statements, selectCounts.keySet()));
+        }
+    }
+
+    public void assertNoRepeatedSelects() {
+        Map<String, Integer> repeated = getRepeatedSelects();
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Possible N+1 selects: " + repeated);
+        }
+    }
+
+    @Override
+    public void close() {
+        profiler.release(this, previous);
+    }
+}
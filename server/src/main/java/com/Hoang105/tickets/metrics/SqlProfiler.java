@@ -0,0 +1,235 @@
+package com.Hoang105.tickets.metrics;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Counts statements, fetched rows and database time for SQL issued through the
+ * application data source, grouped per HTTP endpoint, and keeps the slowest
+ * statements seen. Only SQL executed inside a {@link #capture()} is profiled;
+ * the profiling filter opens one per request.
+ */
+@Component
+public class SqlProfiler implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final Comparator<SlowStatement> BY_ELAPSED = Comparator.comparingDouble(SlowStatement::getElapsedMillis);
+
+    private final int nPlusOneThreshold;
+    private final int slowStatementsKept;
+
+    private final ThreadLocal<SqlCapture> current = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    private final PriorityQueue<SlowStatement> slowest = new PriorityQueue<>(BY_ELAPSED);
+    private volatile double slowestThresholdMillis = 0;
+
+    public SqlProfiler(
+            @Value("${app.sql-profiler.n-plus-one-threshold:5}") int nPlusOneThreshold,
+            @Value("${app.sql-profiler.slow-statements-kept:20}") int slowStatementsKept) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.slowStatementsKept = slowStatementsKept;
+    }
+
+    /**
+     * Starts capturing the SQL executed by the current thread. Captures nest: an
+     * inner capture's statements also count towards the outer one.
+     */
+    public SqlCapture capture() {
+        SqlCapture capture = new SqlCapture(this, current.get(), nPlusOneThreshold);
+        current.set(capture);
+        return capture;
+    }
+
+    void release(SqlCapture capture, SqlCapture previous) {
+        if (current.get() != capture) {
+            return;
+        }
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * Wraps a task handed to another thread so the SQL it executes counts towards
+     * the capture current on this thread, as for a request finished by an executor.
+     */
+    public Runnable propagate(Runnable task) {
+        SqlCapture capture = current.get();
+        if (capture == null) {
+            return task;
+        }
+        return () -> {
+            SqlCapture previous = current.get();
+            current.set(capture);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        };
+    }
+
+    public void recordEndpoint(String endpoint, SqlCapture capture) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+
+        stats.requests.increment();
+        stats.statements.add(capture.getStatementCount());
+        stats.rows.add(capture.getRowCount());
+        stats.dbNanos.add(capture.getDbNanos());
+        stats.maxStatements.accumulateAndGet(capture.getStatementCount(), Math::max);
+
+        capture.getRepeatedSelects().forEach((sql, count) ->
+                stats.repeatedSelects.merge(truncate(sql), count, Math::max));
+    }
+
+    public List<EndpointSqlProfile> getEndpointProfiles() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toProfile(entry.getKey()))
+                .sorted(Comparator.comparingDouble(EndpointSqlProfile::getDbTimeMillis).reversed())
+                .toList();
+    }
+
+    public synchronized List<SlowStatement> getSlowestStatements() {
+        List<SlowStatement> statements = new ArrayList<>(slowest);
+        statements.sort(BY_ELAPSED.reversed());
+        return statements;
+    }
+
+    public synchronized void reset() {
+        endpoints.clear();
+        slowest.clear();
+        slowestThresholdMillis = 0;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlCapture capture = current.get();
+        if (capture != null) {
+            capture.statementStartNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlCapture capture = current.get();
+        if (capture == null || queryInfoList.isEmpty()) {
+            return;
+        }
+
+        long elapsedNanos = System.nanoTime() - capture.statementStartNanos;
+        String sql = queryInfoList.get(0).getQuery();
+
+        for (SqlCapture c = capture; c != null; c = c.getPrevious()) {
+            c.recordStatement(sql, elapsedNanos);
+        }
+
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        if (elapsedMillis > slowestThresholdMillis) {
+            offerSlowStatement(new SlowStatement(
+                    capture.getLabel(),
+                    truncate(sql),
+                    bindShape(execInfo, queryInfoList),
+                    elapsedMillis,
+                    Instant.now()));
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!(executionContext.getTarget() instanceof ResultSet)
+                || !Boolean.TRUE.equals(executionContext.getResult())
+                || !"next".equals(executionContext.getMethod().getName())) {
+            return;
+        }
+        for (SqlCapture c = current.get(); c != null; c = c.getPrevious()) {
+            c.recordRow();
+        }
+    }
+
+    private synchronized void offerSlowStatement(SlowStatement statement) {
+        slowest.offer(statement);
+        if (slowest.size() > slowStatementsKept) {
+            slowest.poll();
+        }
+        if (slowest.size() == slowStatementsKept) {
+            slowestThresholdMillis = slowest.peek().getElapsedMillis();
+        }
+    }
+
+    // Types of the bound parameters, in order, e.g. "(UUID, String)"; values are never kept
+    private static String bindShape(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<List<ParameterSetOperation>> parametersList = queryInfoList.get(0).getParametersList();
+        if (parametersList.isEmpty()) {
+            return "()";
+        }
+
+        String shape = parametersList.get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> operation.getArgs()[0] instanceof Integer index ? index : 0))
+                .map(SqlProfiler::parameterType)
+                .collect(Collectors.joining(", ", "(", ")"));
+
+        return execInfo.isBatch() ? shape + " x " + execInfo.getBatchSize() : shape;
+    }
+
+    private static String parameterType(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final Map<String, Integer> repeatedSelects = new ConcurrentHashMap<>();
+
+        private EndpointSqlProfile toProfile(String endpoint) {
+            return new EndpointSqlProfile(
+                    endpoint,
+                    requests.sum(),
+                    statements.sum(),
+                    maxStatements.get(),
+                    rows.sum(),
+                    dbNanos.sum() / 1_000_000.0,
+                    Map.copyOf(repeatedSelects));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.Hoang105.tickets.outbox;
+
+import com.Hoang105.tickets.domain.events.DomainEvent;
+
+public interface DomainEventPublisher {
+
+    /**
+     * Records {@code event} in the outbox as part of the current transaction. It
+     * reaches subscribers only if that transaction commits.
+     */
+    void publish(DomainEvent event);
+}
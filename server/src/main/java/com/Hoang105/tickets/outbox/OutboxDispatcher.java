@@ -0,0 +1,235 @@
+package com.Hoang105.tickets.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Hoang105.tickets.domain.entities.OutboxEvent;
+import com.Hoang105.tickets.domain.events.DomainEvent;
+import com.Hoang105.tickets.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays outbox rows to in-process subscribers through the application event
+ * bus, so any {@code @EventListener} for a {@link DomainEvent} type receives it
+ * on the dispatcher thread, outside a transaction.
+ * <p>
+ * A committing transaction that published events wakes the dispatcher
+ * immediately; the poll interval only bounds how long retries, and rows
+ * written by other instances, can wait. Rows are claimed with a lease, so
+ * several instances can dispatch concurrently. A row is marked published only
+ * after every subscriber returned normally: a failure, or a crash before the
+ * row is marked, leads to redelivery once the backoff or lease has passed.
+ * Ordering is by outbox id within a batch but is not guaranteed across
+ * retries or instances.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher implements SmartLifecycle {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+
+    private final Timer deliveryLag;
+    private final Counter delivered;
+    private final Counter failed;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            ApplicationEventPublisher applicationEventPublisher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.poll-interval:PT2S}") Duration pollInterval,
+            @Value("${app.outbox.lease:PT1M}") Duration lease,
+            @Value("${app.outbox.retry-backoff:PT1S}") Duration retryBackoff,
+            @Value("${app.outbox.max-retry-backoff:PT10M}") Duration maxRetryBackoff,
+            @Value("${app.outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retention = retention;
+
+        this.deliveryLag = Timer.builder("tickets.outbox.delivery.lag")
+                .description("Time from writing an outbox event to delivering it to every subscriber")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.delivered = deliveryCounter(meterRegistry, "delivered");
+        this.failed = deliveryCounter(meterRegistry, "failed");
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("tickets.outbox.delivery")
+                .description("Outbox event delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Makes the dispatcher look for pending events now instead of at the next poll.
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    /**
+     * Claims and delivers one batch of pending events, returning how many were claimed.
+     */
+    public int dispatchBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> claimBatch());
+
+        List<Long> deliveredIds = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            if (deliver(event)) {
+                deliveredIds.add(event.getId());
+            }
+        }
+
+        if (!deliveredIds.isEmpty()) {
+            outboxEventRepository.markPublished(deliveredIds, LocalDateTime.now());
+        }
+        return claimed.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDeliverable(now, batchSize);
+
+        LocalDateTime lockedUntil = now.plus(lease);
+        for (OutboxEvent event : events) {
+            event.setLockedUntil(lockedUntil);
+            event.setAttempts(event.getAttempts() + 1);
+        }
+        return events;
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            Class<?> type = EVENT_TYPES.get(event.getEventType());
+            if (type == null) {
+                throw new IllegalStateException("Unknown event type " + event.getEventType());
+            }
+
+            applicationEventPublisher.publishEvent(objectMapper.readValue(event.getPayload(), type));
+
+            delivered.increment();
+            deliveryLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            return true;
+
+        } catch (Exception ex) {
+            Duration backoff = backoff(event.getAttempts());
+            log.warn("Delivering outbox event {} ({} for {}) failed on attempt {}, retrying in {}",
+                    event.getId(), event.getEventType(), event.getAggregateId(), event.getAttempts(), backoff, ex);
+
+            failed.increment();
+            outboxEventRepository.markFailed(event.getId(), LocalDateTime.now().plus(backoff), truncate(ex.toString()));
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1H}")
+    public void purgePublished() {
+        int purged = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} outbox events published more than {} ago", purged, retention);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (dispatchBatch() < batchSize) {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Outbox dispatch failed, retrying in {}", pollInterval, ex);
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("outbox-dispatcher").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(pollInterval.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
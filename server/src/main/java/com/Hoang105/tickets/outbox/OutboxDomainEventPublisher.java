@@ -0,0 +1,57 @@
+package com.Hoang105.tickets.outbox;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Hoang105.tickets.domain.entities.OutboxEvent;
+import com.Hoang105.tickets.domain.events.DomainEvent;
+import com.Hoang105.tickets.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class OutboxDomainEventPublisher implements DomainEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // Synchronizations are kept in a set, so registering this once per event still wakes the dispatcher once per commit
+    private final TransactionSynchronization wakeDispatcherAfterCommit;
+
+    public OutboxDomainEventPublisher(
+            OutboxEventRepository outboxEventRepository,
+            ObjectMapper objectMapper,
+            OutboxDispatcher outboxDispatcher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.wakeDispatcherAfterCommit = new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+        };
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize " + event.getClass().getSimpleName(), ex);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(event.getClass().getSimpleName())
+                .aggregateId(event.aggregateId())
+                .payload(payload)
+                .availableAt(event.occurredAt())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(wakeDispatcherAfterCommit);
+    }
+}
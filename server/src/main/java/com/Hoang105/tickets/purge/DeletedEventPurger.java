@@ -0,0 +1,105 @@
+package com.Hoang105.tickets.purge;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.config.BackgroundWorkThrottle;
+import com.Hoang105.tickets.repositories.EventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes deleted events from the database, one chunk per tick. Deleting an
+ * event only marks it, which hides it and its ticket types, tickets, QR codes
+ * and validations from every entity query straight away; this then deletes
+ * the rows behind it with set-based statements: hot tickets with their QR codes
+ * and validations, archived tickets and sales rollups, {@code app.purge.chunk-size}
+ * rows per short transaction, and finally the ticket types and the event
+ * itself.
+ * <p>
+ * Like the TicketArchiver, a tick is skipped while the database is busy with
+ * live traffic (see {@link BackgroundWorkThrottle}) and tickets locked by a live
+ * request are left for a later tick.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletedEventPurger {
+
+    private final EventRepository eventRepository;
+    private final BackgroundWorkThrottle backgroundWorkThrottle;
+
+    private final int chunkSize;
+    private final double maxPoolUtilisation;
+    private final long maxReplicaLagMillis;
+
+    private final Counter purged;
+    private final Counter throttled;
+
+    // Only touched by the scheduler thread
+    private UUID currentEventId;
+
+    public DeletedEventPurger(
+            EventRepository eventRepository,
+            BackgroundWorkThrottle backgroundWorkThrottle,
+            MeterRegistry meterRegistry,
+            @Value("${app.purge.chunk-size:1000}") int chunkSize,
+            @Value("${app.purge.max-pool-utilisation:0.5}") double maxPoolUtilisation,
+            @Value("${app.purge.max-replica-lag:PT1S}") Duration maxReplicaLag) {
+        this.eventRepository = eventRepository;
+        this.backgroundWorkThrottle = backgroundWorkThrottle;
+        this.chunkSize = chunkSize;
+        this.maxPoolUtilisation = maxPoolUtilisation;
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+
+        this.purged = Counter.builder("tickets.purge.deleted")
+                .description("Tickets, archived tickets and sales rollups of deleted events removed")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("tickets.purge.throttled")
+                .description("Purge ticks skipped to leave the database to live traffic")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.interval:PT1S}")
+    public void purgeNextChunk() {
+        if (backgroundWorkThrottle.isDatabaseBusy(maxPoolUtilisation, maxReplicaLagMillis)) {
+            throttled.increment();
+            return;
+        }
+
+        if (currentEventId == null) {
+            List<UUID> next = eventRepository.findDeletedEventIds(1);
+            if (next.isEmpty()) {
+                return;
+            }
+            currentEventId = next.get(0);
+            log.info("Purging deleted event {}", currentEventId);
+        }
+
+        int deleted = eventRepository.purgeTicketChunk(currentEventId, chunkSize);
+        if (deleted == 0) {
+            deleted = eventRepository.purgeArchivedTicketChunk(currentEventId, chunkSize);
+        }
+        if (deleted == 0) {
+            deleted = eventRepository.purgeSalesRollupChunk(currentEventId, chunkSize);
+        }
+        if (deleted > 0) {
+            purged.increment(deleted);
+            return;
+        }
+
+        // Nothing to delete in chunks; only locked tickets can hold the event back, until a later tick
+        if (eventRepository.purgeDeletedEvent(currentEventId) > 0) {
+            log.info("Purged deleted event {}", currentEventId);
+        }
+        currentEventId = null;
+    }
+}
@@ -0,0 +1,167 @@
+package com.Hoang105.tickets.qrpool;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Hoang105.tickets.config.BackgroundWorkThrottle;
+import com.Hoang105.tickets.repositories.QrCodePoolRepository;
+import com.Hoang105.tickets.repositories.QrCodePoolRepository.Shortfall;
+import com.Hoang105.tickets.services.QrCodeService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders QR codes into qr_code_pool ahead of on-sales, so purchases claim a
+ * finished image instead of rendering one while they hold the ticket type's
+ * lock. A ticket type is filled once its sales open within
+ * {@code app.qr-pool.lead-time}, with one code per ticket still for sale up to
+ * {@code app.qr-pool.max-per-ticket-type}, and topped up again as purchases
+ * claim them until {@code app.qr-pool.on-sale-duration} after the opening.
+ * Codes nobody will claim any more are deleted.
+ * <p>
+ * Each tick renders at most {@code app.qr-pool.chunk-size} codes, which is all
+ * the pool ever holds in memory, and inserts them in one JDBC batch, in one
+ * transaction with the shortfall it read. That transaction holds an advisory
+ * lock, so one instance fills at a time and the others skip the tick. Ticks are
+ * skipped while the database is busy with live traffic (see
+ * {@link BackgroundWorkThrottle}) or the machine's CPU load is above
+ * {@code app.qr-pool.max-cpu-load}, so rendering only uses idle time. A purchase
+ * that finds its pool empty renders its code itself, as before.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.qr-pool.enabled", havingValue = "true", matchIfMissing = true)
+public class QrCodePoolFiller {
+
+    private static final String INSERT_POOLED_QR_CODE_SQL = """
+            INSERT INTO qr_code_pool (id, ticket_type_id, event_id, value, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final QrCodePoolRepository qrCodePoolRepository;
+    private final QrCodeService qrCodeService;
+    private final BackgroundWorkThrottle backgroundWorkThrottle;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+    private final Duration leadTime;
+    private final Duration onSaleDuration;
+    private final int maxPerTicketType;
+    private final int chunkSize;
+    private final double maxCpuLoad;
+    private final double maxPoolUtilisation;
+    private final long maxReplicaLagMillis;
+
+    private final Counter rendered;
+    private final Counter deleted;
+    private final Counter throttled;
+
+    public QrCodePoolFiller(
+            QrCodePoolRepository qrCodePoolRepository,
+            QrCodeService qrCodeService,
+            BackgroundWorkThrottle backgroundWorkThrottle,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.qr-pool.lead-time:PT1H}") Duration leadTime,
+            @Value("${app.qr-pool.on-sale-duration:PT2H}") Duration onSaleDuration,
+            @Value("${app.qr-pool.max-per-ticket-type:2000}") int maxPerTicketType,
+            @Value("${app.qr-pool.chunk-size:100}") int chunkSize,
+            @Value("${app.qr-pool.max-cpu-load:0.5}") double maxCpuLoad,
+            @Value("${app.qr-pool.max-pool-utilisation:0.25}") double maxPoolUtilisation,
+            @Value("${app.qr-pool.max-replica-lag:PT1S}") Duration maxReplicaLag) {
+        this.qrCodePoolRepository = qrCodePoolRepository;
+        this.qrCodeService = qrCodeService;
+        this.backgroundWorkThrottle = backgroundWorkThrottle;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.leadTime = leadTime;
+        this.onSaleDuration = onSaleDuration;
+        this.maxPerTicketType = maxPerTicketType;
+        this.chunkSize = chunkSize;
+        this.maxCpuLoad = maxCpuLoad;
+        this.maxPoolUtilisation = maxPoolUtilisation;
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+
+        this.rendered = Counter.builder("tickets.qr_pool.rendered")
+                .description("QR codes rendered into the pool ahead of purchases")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("tickets.qr_pool.deleted")
+                .description("Pooled QR codes deleted because no purchase can claim them any more")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("tickets.qr_pool.throttled")
+                .description("Pool fill ticks skipped to leave the database and CPU to live traffic")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.qr-pool.interval:PT1S}")
+    public void fillNextChunk() {
+        if (isCpuBusy() || backgroundWorkThrottle.isDatabaseBusy(maxPoolUtilisation, maxReplicaLagMillis)) {
+            throttled.increment();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime openedAfter = now.minus(onSaleDuration);
+
+        int stale = qrCodePoolRepository.deleteStale(now, openedAfter, chunkSize);
+        if (stale > 0) {
+            deleted.increment(stale);
+            return;
+        }
+
+        transaction.executeWithoutResult(status -> fill(now, openedAfter));
+    }
+
+    private void fill(LocalDateTime now, LocalDateTime openedAfter) {
+        if (!qrCodePoolRepository.tryLockFilling()) {
+            return;
+        }
+
+        List<Shortfall> shortfalls = qrCodePoolRepository.findShortfalls(
+                now, openedAfter, now.plus(leadTime), maxPerTicketType, chunkSize);
+
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        for (Shortfall shortfall : shortfalls) {
+            long missing = Math.min(shortfall.getMissing(), chunkSize - chunk.size());
+            for (long i = 0; i < missing; i++) {
+                UUID id = UUID.randomUUID();
+                chunk.add(new Object[] {
+                        id, shortfall.getTicketTypeId(), shortfall.getEventId(),
+                        qrCodeService.renderQrCodeImage(id), now});
+            }
+            if (chunk.size() >= chunkSize) {
+                break;
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_POOLED_QR_CODE_SQL, chunk);
+            rendered.increment(chunk.size());
+        }
+    }
+
+    // Negative when the platform does not report it, which counts as idle
+    private boolean isCpuBusy() {
+        return operatingSystem instanceof com.sun.management.OperatingSystemMXBean os
+                && os.getCpuLoad() > maxCpuLoad;
+    }
+}
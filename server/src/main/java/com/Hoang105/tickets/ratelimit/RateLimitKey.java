@@ -0,0 +1,11 @@
+package com.Hoang105.tickets.ratelimit;
+
+/**
+ * What a rate limit counts requests by.
+ */
+public enum RateLimitKey {
+    // Checked before the access token is verified
+    CLIENT_IP,
+    // The verified access token's subject, checked before the user is provisioned
+    SUBJECT
+}
@@ -0,0 +1,51 @@
+package com.Hoang105.tickets.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets per route and key; keys hashing to the same bucket share it
+    private int buckets = 65536;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String method;
+
+        // Path pattern; an {eventId} variable enables the per-event limits, so the
+        // handler must reject requests naming another event than the resource's
+        private String path;
+
+        private Limits limits = new Limits();
+
+        // Replace the route's limits for the event, counted separately per event
+        private Map<UUID, Limits> events = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Limits {
+        private Limit subject;
+        private Limit clientIp;
+    }
+
+    @Data
+    public static class Limit {
+        // Requests allowed in a burst
+        private int capacity;
+
+        // Time to earn back one request
+        private Duration refillInterval;
+    }
+}
@@ -0,0 +1,183 @@
+package com.Hoang105.tickets.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Limits the rate of requests to the routes configured under
+ * {@code app.rate-limit.routes}, per client IP and per access token subject,
+ * with per-event limits overriding a route's own. Requests to other routes pass
+ * after a method check, and a path match when the method is limited somewhere.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private static final String MATCH_ATTRIBUTE = RateLimiter.class.getName() + ".MATCH";
+    private static final Match NO_MATCH = new Match(null, null);
+
+    private final List<LimitedRoute> routes = new ArrayList<>();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        properties.getRoutes().forEach((name, route) -> {
+            PathPattern pattern = PathPatternParser.defaultInstance.parse(route.getPath());
+
+            Map<UUID, Limit[]> eventLimits = new HashMap<>();
+            route.getEvents().forEach((eventId, limits) -> eventLimits.put(eventId, limitsOf(limits)));
+
+            TokenBuckets[] buckets = new TokenBuckets[RateLimitKey.values().length];
+            Counter[] rejected = new Counter[RateLimitKey.values().length];
+            for (RateLimitKey key : RateLimitKey.values()) {
+                buckets[key.ordinal()] = new TokenBuckets(properties.getBuckets());
+                rejected[key.ordinal()] = Counter.builder("tickets.ratelimit.rejected")
+                        .description("Requests refused for exceeding a rate limit")
+                        .tag("route", name)
+                        .tag("key", key.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+
+            routes.add(new LimitedRoute(
+                    HttpMethod.valueOf(route.getMethod()),
+                    pattern,
+                    limitsOf(route.getLimits()),
+                    eventLimits,
+                    buckets,
+                    rejected));
+        });
+    }
+
+    /**
+     * Takes a request from the request's bucket for the key.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until it may
+     */
+    public long check(HttpServletRequest request, RateLimitKey key) {
+        Match match = match(request);
+        if (match == NO_MATCH) {
+            return 0;
+        }
+
+        String keyValue = switch (key) {
+            case CLIENT_IP -> request.getRemoteAddr();
+            case SUBJECT -> subjectOf(SecurityContextHolder.getContext().getAuthentication());
+        };
+        if (keyValue == null) {
+            return 0;
+        }
+
+        LimitedRoute route = match.route();
+        int hash = keyValue.hashCode();
+        Limit limit = null;
+        if (match.eventId() != null) {
+            Limit[] eventLimits = route.eventLimits().get(match.eventId());
+            if (eventLimits != null && eventLimits[key.ordinal()] != null) {
+                limit = eventLimits[key.ordinal()];
+                hash = 31 * hash + match.eventId().hashCode();
+            }
+        }
+        if (limit == null) {
+            limit = route.limits()[key.ordinal()];
+        }
+        if (limit == null) {
+            return 0;
+        }
+
+        long wait = route.buckets()[key.ordinal()].tryTake(hash, limit.capacity(), limit.refillIntervalNanos());
+        if (wait > 0) {
+            route.rejected()[key.ordinal()].increment();
+        }
+        return wait;
+    }
+
+    // Matched once per request and shared by the checks of both keys
+    private Match match(HttpServletRequest request) {
+        if (request.getAttribute(MATCH_ATTRIBUTE) instanceof Match match) {
+            return match;
+        }
+
+        Match match = NO_MATCH;
+        PathContainer path = null;
+        for (LimitedRoute route : routes) {
+            if (!route.method().matches(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI());
+            }
+            PathPattern.PathMatchInfo matchInfo = route.pattern().matchAndExtract(path);
+            if (matchInfo != null) {
+                match = new Match(route, eventIdOf(matchInfo.getUriVariables().get("eventId")));
+                break;
+            }
+        }
+
+        request.setAttribute(MATCH_ATTRIBUTE, match);
+        return match;
+    }
+
+    private static UUID eventIdOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String subjectOf(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return jwt.getSubject();
+        }
+        return null;
+    }
+
+    private static Limit[] limitsOf(RateLimitProperties.Limits limits) {
+        Limit[] byKey = new Limit[RateLimitKey.values().length];
+        byKey[RateLimitKey.SUBJECT.ordinal()] = Limit.of(limits.getSubject());
+        byKey[RateLimitKey.CLIENT_IP.ordinal()] = Limit.of(limits.getClientIp());
+        return byKey;
+    }
+
+    private record Limit(int capacity, long refillIntervalNanos) {
+
+        static Limit of(RateLimitProperties.Limit limit) {
+            return limit == null ? null : new Limit(limit.getCapacity(), limit.getRefillInterval().toNanos());
+        }
+    }
+
+    // Arrays are indexed by RateLimitKey ordinal
+    private record LimitedRoute(
+            HttpMethod method,
+            PathPattern pattern,
+            Limit[] limits,
+            Map<UUID, Limit[]> eventLimits,
+            TokenBuckets[] buckets,
+            Counter[] rejected) {
+    }
+
+    private record Match(LimitedRoute route, UUID eventId) {
+    }
+}
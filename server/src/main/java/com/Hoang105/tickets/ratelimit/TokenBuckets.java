@@ -0,0 +1,56 @@
+package com.Hoang105.tickets.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed table of token buckets indexed by key hash, so checking a key
+ * allocates nothing and needs no map lookup, lock or eviction. Keys that hash to
+ * the same bucket share it, which only ever limits them more strictly.
+ * <p>
+ * Each bucket is a single long, the time at which it will be full again (the
+ * generic cell rate algorithm): taking a token pushes that time one refill
+ * interval later, and a request is refused when that time is further ahead than
+ * a full bucket's worth of intervals. A take is one compare-and-set, retried
+ * only when another thread took from the same bucket in between.
+ */
+public class TokenBuckets {
+
+    private final AtomicLongArray fullAt;
+    private final int mask;
+    // Keeps the clock positive, so a bucket never taken from reads as full
+    private final long origin = System.nanoTime() - 1;
+
+    public TokenBuckets(int buckets) {
+        int size = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+        this.fullAt = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Takes a token from the bucket of the key hash.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one can be
+     */
+    public long tryTake(int hash, int capacity, long refillIntervalNanos) {
+        int index = spread(hash) & mask;
+        long now = System.nanoTime() - origin;
+        long burstNanos = (capacity - 1) * refillIntervalNanos;
+
+        while (true) {
+            long current = fullAt.get(index);
+            long from = Math.max(current, now);
+            long wait = from - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(index, current, from + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,112 @@
+package com.Hoang105.tickets.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.entities.ArchivedTicket;
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+
+/**
+ * Reads that start from archived tickets rather than from their event leave out
+ * those of deleted events still waiting for the DeletedEventPurger.
+ */
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, UUID> {
+
+    @Query("SELECT a FROM ArchivedTicket a JOIN FETCH a.ticketType tt JOIN FETCH tt.event e " +
+           "WHERE a.id = :id AND a.purchaserId = :purchaserId AND e.deletedAt IS NULL")
+    Optional<ArchivedTicket> findByIdAndPurchaserId(@Param("id") UUID id, @Param("purchaserId") UUID purchaserId);
+
+    // Wallet listings continue here once the purchaser's hot tickets are exhausted, so they take a row offset
+    @Query("SELECT a FROM ArchivedTicket a JOIN FETCH a.ticketType tt JOIN FETCH tt.event e " +
+           "WHERE a.purchaserId = :purchaserId AND e.deletedAt IS NULL " +
+           "ORDER BY a.createdAt DESC, a.id " +
+           "LIMIT :limit OFFSET :offset")
+    List<ArchivedTicket> findPageByPurchaserId(
+            @Param("purchaserId") UUID purchaserId,
+            @Param("offset") long offset,
+            @Param("limit") int limit);
+
+    @Query("SELECT count(a) FROM ArchivedTicket a JOIN Event e ON e.id = a.eventId " +
+           "WHERE a.purchaserId = :purchaserId AND e.deletedAt IS NULL")
+    int countByPurchaserId(@Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT a FROM ArchivedTicket a JOIN Event e ON e.id = a.eventId " +
+           "WHERE a.purchaserId = :purchaserId AND e.deletedAt IS NULL " +
+           "ORDER BY a.createdAt DESC LIMIT 1")
+    Optional<ArchivedTicket> findFirstByPurchaserIdOrderByCreatedAtDesc(@Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT count(a) FROM ArchivedTicket a JOIN Event e ON e.id = a.eventId " +
+           "WHERE a.status = :status AND e.deletedAt IS NULL")
+    int countByStatus(@Param("status") TicketStatusEnum status);
+
+    /**
+     * Moves up to {@code limit} of the event's tickets into archived_tickets and
+     * deletes them, their QR codes and their validations from the hot tables,
+     * returning how many tickets were moved. Tickets locked by a live
+     * transaction are skipped and picked up by a later chunk.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH chunk AS (
+                SELECT t.id FROM tickets t
+                WHERE t.event_id = :eventId
+                  AND t.ticket_type_id IN (SELECT tt.id FROM ticket_types tt WHERE tt.event_id = :eventId)
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            latest_qr_codes AS (
+                SELECT DISTINCT ON (q.ticket_id) q.ticket_id, q.id, q.status
+                FROM qr_codes q JOIN chunk c ON c.id = q.ticket_id
+                WHERE q.event_id = :eventId
+                ORDER BY q.ticket_id, q.created_at DESC
+            ),
+            validation_summaries AS (
+                SELECT DISTINCT ON (v.ticket_id) v.ticket_id, v.status, v.created_at,
+                       count(*) OVER (PARTITION BY v.ticket_id) AS validation_count
+                FROM ticket_validations v JOIN chunk c ON c.id = v.ticket_id
+                WHERE v.event_id = :eventId
+                ORDER BY v.ticket_id, v.created_at DESC
+            ),
+            archived AS (
+                INSERT INTO archived_tickets (
+                    id, event_id, ticket_type_id, purchaser_id, status,
+                    qr_code_id, qr_code_status,
+                    validation_count, last_validation_status, last_validated_at,
+                    created_at, updated_at, archived_at)
+                SELECT t.id, t.event_id, t.ticket_type_id, t.purchaser_id, t.status,
+                       q.id, q.status,
+                       COALESCE(v.validation_count, 0), v.status, v.created_at,
+                       t.created_at, t.updated_at, :archivedAt
+                FROM tickets t
+                JOIN chunk c ON c.id = t.id
+                LEFT JOIN latest_qr_codes q ON q.ticket_id = t.id
+                LEFT JOIN validation_summaries v ON v.ticket_id = t.id
+                WHERE t.event_id = :eventId
+            ),
+            deleted_validations AS (
+                DELETE FROM ticket_validations v USING chunk c
+                WHERE v.event_id = :eventId AND v.ticket_id = c.id
+            ),
+            deleted_qr_codes AS (
+                DELETE FROM qr_codes q USING chunk c
+                WHERE q.event_id = :eventId AND q.ticket_id = c.id
+            )
+            DELETE FROM tickets t USING chunk c
+            WHERE t.event_id = :eventId AND t.id = c.id
+            """, nativeQuery = true)
+    int archiveChunk(
+            @Param("eventId") UUID eventId,
+            @Param("limit") int limit,
+            @Param("archivedAt") LocalDateTime archivedAt);
+}
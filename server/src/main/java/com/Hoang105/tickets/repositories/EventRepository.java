@@ -4,15 +4,19 @@ import com.Hoang105.tickets.domain.entities.Event;
 import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
@@ -24,12 +28,12 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
 
     
     @Query(value = "SELECT * FROM events WHERE " +
-        "status = 'PUBLISHED' AND " +
+        "status = 'PUBLISHED' AND deleted_at IS NULL AND " +
         "(to_tsvector('english', COALESCE(name, '')) || " +
         "to_tsvector('english', COALESCE(venue, ''))) @@ " +
         "plainto_tsquery('english', :searchTerm)",
        countQuery = "SELECT count(*) FROM events WHERE " +
-        "status = 'PUBLISHED' AND " +
+        "status = 'PUBLISHED' AND deleted_at IS NULL AND " +
         "(to_tsvector('english', COALESCE(name, '')) || " +
         "to_tsvector('english', COALESCE(venue, ''))) @@ " +
         "plainto_tsquery('english', :searchTerm)",
@@ -40,4 +44,111 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
 
     int countByStatus(EventStatusEnum status);
 
+    // Events whose tickets can no longer be bought or scanned; open-ended sales never qualify
+    @Query("SELECT e.id FROM Event e " +
+           "WHERE e.archivedAt IS NULL AND e.end < :endedBefore " +
+           "AND e.salesEnd IS NOT NULL AND e.salesEnd < :endedBefore " +
+           "ORDER BY e.end")
+    List<UUID> findArchivableEventIds(@Param("endedBefore") LocalDateTime endedBefore, Limit limit);
+
+    // Bulk update so updated_at keeps the organizer's last change
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.archivedAt = :archivedAt WHERE e.id = :id")
+    int markArchived(@Param("id") UUID id, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.deletedAt = :deletedAt " +
+           "WHERE e.id = :id AND e.organizer.id = :organizerId AND e.deletedAt IS NULL")
+    int markDeleted(
+            @Param("id") UUID id,
+            @Param("organizerId") UUID organizerId,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Native, as deleted events are hidden from every entity query
+    @Query(value = "SELECT id FROM events WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findDeletedEventIds(@Param("limit") int limit);
+
+    /**
+     * Deletes up to {@code limit} of a deleted event's tickets together with
+     * their QR codes and validations, returning how many tickets went. Tickets
+     * locked by a transaction still in flight are left for a later chunk.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH chunk AS (
+                SELECT t.id FROM tickets t
+                WHERE t.event_id = :eventId
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            deleted_validations AS (
+                DELETE FROM ticket_validations v USING chunk c
+                WHERE v.event_id = :eventId AND v.ticket_id = c.id
+            ),
+            deleted_qr_codes AS (
+                DELETE FROM qr_codes q USING chunk c
+                WHERE q.event_id = :eventId AND q.ticket_id = c.id
+            )
+            DELETE FROM tickets t USING chunk c
+            WHERE t.event_id = :eventId AND t.id = c.id
+            """, nativeQuery = true)
+    int purgeTicketChunk(@Param("eventId") UUID eventId, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM archived_tickets
+            WHERE id IN (SELECT id FROM archived_tickets WHERE event_id = :eventId LIMIT :limit)
+            """, nativeQuery = true)
+    int purgeArchivedTicketChunk(@Param("eventId") UUID eventId, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM sales_rollups
+            WHERE (ticket_type_id, granularity, bucket_start, shard) IN (
+                SELECT ticket_type_id, granularity, bucket_start, shard FROM sales_rollups
+                WHERE event_id = :eventId
+                LIMIT :limit)
+            """, nativeQuery = true)
+    int purgeSalesRollupChunk(@Param("eventId") UUID eventId, @Param("limit") int limit);
+
+    /**
+     * Deletes what is left of a deleted event, a handful of rows once its
+     * tickets are gone, returning 1 if it was purged and 0 if tickets remain.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH remaining AS (
+                SELECT 1 FROM tickets WHERE event_id = :eventId
+                UNION ALL
+                SELECT 1 FROM archived_tickets WHERE event_id = :eventId
+                LIMIT 1
+            ),
+            deleted_validations AS (
+                DELETE FROM ticket_validations
+                WHERE event_id = :eventId AND NOT EXISTS (SELECT 1 FROM remaining)
+            ),
+            deleted_attendees AS (
+                DELETE FROM user_attending_events
+                WHERE event_id = :eventId AND NOT EXISTS (SELECT 1 FROM remaining)
+            ),
+            deleted_staff AS (
+                DELETE FROM user_staffing_events
+                WHERE event_id = :eventId AND NOT EXISTS (SELECT 1 FROM remaining)
+            ),
+            deleted_ticket_types AS (
+                DELETE FROM ticket_types
+                WHERE event_id = :eventId AND NOT EXISTS (SELECT 1 FROM remaining)
+            )
+            DELETE FROM events
+            WHERE id = :eventId AND deleted_at IS NOT NULL AND NOT EXISTS (SELECT 1 FROM remaining)
+            """, nativeQuery = true)
+    int purgeDeletedEvent(@Param("eventId") UUID eventId);
+
 }
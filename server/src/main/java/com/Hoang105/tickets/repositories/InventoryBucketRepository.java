@@ -0,0 +1,161 @@
+package com.Hoang105.tickets.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.entities.InventoryBucket;
+
+/**
+ * A taken ticket stays taken until the caller's transaction ends, as the row
+ * stays locked until then; a purchase that rolls back gives it back.
+ */
+@Repository
+public interface InventoryBucketRepository extends JpaRepository<InventoryBucket, InventoryBucket.Key> {
+
+    interface Capacity {
+        UUID getEventId();
+
+        Integer getTotalAvailable();
+
+        Integer getInventoryBuckets();
+    }
+
+    /**
+     * Takes a ticket from the first bucket with any left, counting from bucket
+     * {@code start} and wrapping around, skipping buckets other purchases hold.
+     * Empty when every bucket is empty or held.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            UPDATE inventory_buckets
+            SET remaining = remaining - 1
+            WHERE ticket_type_id = :ticketTypeId
+              AND bucket = (
+                  SELECT bucket FROM inventory_buckets
+                  WHERE ticket_type_id = :ticketTypeId AND remaining > 0
+                  ORDER BY bucket < :start, bucket
+                  LIMIT 1
+                  FOR UPDATE SKIP LOCKED)
+            RETURNING bucket
+            """, nativeQuery = true)
+    Optional<Integer> takeFromFree(@Param("ticketTypeId") UUID ticketTypeId, @Param("start") int start);
+
+    /**
+     * Takes a ticket like {@link #takeFromFree} but waits for a held bucket, and
+     * moves on to the next one if it is empty once released. Empty only when
+     * every bucket is empty.
+     * <p>
+     * A bucket found empty after the wait stays locked until the transaction
+     * ends, so this always goes through the buckets in order, as
+     * {@link #rebalance} does, and no two purchases can wait for each other.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            UPDATE inventory_buckets
+            SET remaining = remaining - 1
+            WHERE ticket_type_id = :ticketTypeId
+              AND bucket = (
+                  SELECT bucket FROM inventory_buckets
+                  WHERE ticket_type_id = :ticketTypeId AND remaining > 0
+                  ORDER BY bucket
+                  LIMIT 1
+                  FOR UPDATE)
+            RETURNING bucket
+            """, nativeQuery = true)
+    Optional<Integer> take(@Param("ticketTypeId") UUID ticketTypeId);
+
+    boolean existsByTicketTypeId(UUID ticketTypeId);
+
+    /**
+     * Locks a ticket type against other bucket creators and edits, and reads its
+     * capacity as committed, whatever copy of it the persistence context holds.
+     * The lock is held to the end of the purchase, so it must not be FOR UPDATE:
+     * that would block the foreign key checks of tickets inserted by purchases
+     * holding a bucket this one may wait for.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            SELECT event_id AS "eventId", total_available AS "totalAvailable", inventory_buckets AS "inventoryBuckets"
+            FROM ticket_types
+            WHERE id = :ticketTypeId
+            FOR NO KEY UPDATE
+            """, nativeQuery = true)
+    Optional<Capacity> lockCapacity(@Param("ticketTypeId") UUID ticketTypeId);
+
+    /**
+     * Creates buckets 0..buckets-1 sharing {@code remaining} tickets as evenly as
+     * possible.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = """
+            INSERT INTO inventory_buckets (ticket_type_id, bucket, remaining)
+            SELECT :ticketTypeId, b, :remaining / :buckets + CASE WHEN b < :remaining % :buckets THEN 1 ELSE 0 END
+            FROM generate_series(0, :buckets - 1) AS b
+            """, nativeQuery = true)
+    int create(
+            @Param("ticketTypeId") UUID ticketTypeId,
+            @Param("buckets") int buckets,
+            @Param("remaining") int remaining);
+
+    /**
+     * Deletes the buckets of the given ticket types, holding the ticket types'
+     * locks so none is recreated from the old capacity before the caller's
+     * transaction ends. Waits for purchases holding one of the buckets.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = """
+            WITH locked AS (
+                SELECT id FROM ticket_types WHERE id IN (:ticketTypeIds) FOR NO KEY UPDATE)
+            DELETE FROM inventory_buckets
+            WHERE ticket_type_id IN (SELECT id FROM locked)
+            """, nativeQuery = true)
+    int deleteByTicketTypeIds(@Param("ticketTypeIds") Collection<UUID> ticketTypeIds);
+
+    /**
+     * Ticket types with an empty bucket while another holds more than one ticket,
+     * and enough left to give every bucket one.
+     */
+    @Transactional
+    @Query(value = """
+            SELECT ticket_type_id FROM inventory_buckets
+            GROUP BY ticket_type_id
+            HAVING min(remaining) = 0 AND max(remaining) > 1 AND sum(remaining) >= count(*)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findDrained(@Param("limit") int limit);
+
+    /**
+     * Spreads what is left of a ticket type evenly over its buckets again. Waits
+     * for purchases holding one of them and holds all of them for the moment it
+     * takes.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH locked AS (
+                SELECT remaining FROM inventory_buckets
+                WHERE ticket_type_id = :ticketTypeId
+                ORDER BY bucket
+                FOR UPDATE),
+            total AS (
+                SELECT sum(remaining)::int AS remaining, count(*)::int AS buckets FROM locked)
+            UPDATE inventory_buckets b
+            SET remaining = total.remaining / total.buckets
+                          + CASE WHEN b.bucket < total.remaining % total.buckets THEN 1 ELSE 0 END
+            FROM total
+            WHERE b.ticket_type_id = :ticketTypeId AND total.buckets > 0
+            """, nativeQuery = true)
+    int rebalance(@Param("ticketTypeId") UUID ticketTypeId);
+}
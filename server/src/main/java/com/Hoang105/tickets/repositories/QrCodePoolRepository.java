@@ -0,0 +1,120 @@
+package com.Hoang105.tickets.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.entities.PooledQrCode;
+
+@Repository
+public interface QrCodePoolRepository extends JpaRepository<PooledQrCode, UUID> {
+
+    interface ClaimedQrCode {
+        UUID getId();
+
+        String getValue();
+    }
+
+    interface Shortfall {
+        UUID getTicketTypeId();
+
+        UUID getEventId();
+
+        long getMissing();
+    }
+
+    /**
+     * Takes one of a ticket type's pre-rendered codes out of the pool, in the
+     * caller's transaction, so a purchase that rolls back puts it back. Codes
+     * another transaction is claiming are skipped rather than waited for.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            DELETE FROM qr_code_pool
+            WHERE id = (
+                SELECT id FROM qr_code_pool
+                WHERE ticket_type_id = :ticketTypeId
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id AS "id", value AS "value"
+            """, nativeQuery = true)
+    Optional<ClaimedQrCode> claim(@Param("ticketTypeId") UUID ticketTypeId);
+
+    /**
+     * Takes the pool filling lock for the caller's transaction, returning false
+     * when another instance holds it. Without it, instances reading the same
+     * shortfall at once would each render and insert all of it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('qr_code_pool'))", nativeQuery = true)
+    boolean tryLockFilling();
+
+    /**
+     * Ticket types of published events whose sales open before {@code openBefore}
+     * and opened after {@code openedAfter}, and have not ended, with the number of
+     * codes their pool is short of: one per ticket still for sale, up to
+     * {@code maxPerTicketType}. The soonest on-sales come first. Read from the
+     * primary, as a replica may not have the codes just added yet.
+     */
+    @Transactional
+    @Query(value = """
+            SELECT tt.id AS "ticketTypeId", tt.event_id AS "eventId",
+                   LEAST(tt.total_available - sold.n, :maxPerTicketType) - pooled.n AS "missing"
+            FROM events e
+            JOIN ticket_types tt ON tt.event_id = e.id
+            CROSS JOIN LATERAL (
+                SELECT count(*) AS n FROM tickets t
+                WHERE t.event_id = tt.event_id AND t.ticket_type_id = tt.id) sold
+            CROSS JOIN LATERAL (
+                SELECT count(*) AS n FROM qr_code_pool p
+                WHERE p.ticket_type_id = tt.id) pooled
+            WHERE e.status = 'PUBLISHED'
+              AND e.deleted_at IS NULL
+              AND e.sales_start > :openedAfter
+              AND e.sales_start <= :openBefore
+              AND (e.sales_end IS NULL OR e.sales_end > :now)
+              AND tt.total_available IS NOT NULL
+              AND LEAST(tt.total_available - sold.n, :maxPerTicketType) - pooled.n > 0
+            ORDER BY e.sales_start, tt.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Shortfall> findShortfalls(
+            @Param("now") LocalDateTime now,
+            @Param("openedAfter") LocalDateTime openedAfter,
+            @Param("openBefore") LocalDateTime openBefore,
+            @Param("maxPerTicketType") int maxPerTicketType,
+            @Param("limit") int limit);
+
+    /**
+     * Deletes up to {@code limit} codes no purchase will claim any more: those of
+     * events no longer published, deleted, whose sales have ended, or whose
+     * on-sale was before {@code openedAfter}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM qr_code_pool
+            WHERE id IN (
+                SELECT p.id FROM qr_code_pool p
+                JOIN events e ON e.id = p.event_id
+                WHERE e.status <> 'PUBLISHED'
+                   OR e.deleted_at IS NOT NULL
+                   OR e.sales_start IS NULL
+                   OR e.sales_start <= :openedAfter
+                   OR e.sales_end <= :now
+                LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteStale(
+            @Param("now") LocalDateTime now,
+            @Param("openedAfter") LocalDateTime openedAfter,
+            @Param("limit") int limit);
+}
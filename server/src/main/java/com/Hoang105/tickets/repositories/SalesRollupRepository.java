@@ -0,0 +1,121 @@
+package com.Hoang105.tickets.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.SalesTotals;
+import com.Hoang105.tickets.domain.entities.SalesRollup;
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollup.Key> {
+
+    /**
+     * Adds to the given shard of the minute, hour and day buckets
+     * {@code occurredAt} falls in, in one statement. Runs in the caller's
+     * transaction, so the counts commit or roll back together with the ticket
+     * change they record, and the shard's rows stay locked until then.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_rollups AS r (ticket_type_id, granularity, bucket_start, shard, event_id, purchased, cancelled)
+            VALUES (:ticketTypeId, 'MINUTE', date_trunc('minute', CAST(:occurredAt AS timestamp)), :shard, :eventId, :purchased, :cancelled),
+                   (:ticketTypeId, 'HOUR', date_trunc('hour', CAST(:occurredAt AS timestamp)), :shard, :eventId, :purchased, :cancelled),
+                   (:ticketTypeId, 'DAY', date_trunc('day', CAST(:occurredAt AS timestamp)), :shard, :eventId, :purchased, :cancelled)
+            ON CONFLICT (ticket_type_id, granularity, bucket_start, shard) DO UPDATE
+            SET purchased = r.purchased + EXCLUDED.purchased,
+                cancelled = r.cancelled + EXCLUDED.cancelled
+            """, nativeQuery = true)
+    int increment(
+            @Param("eventId") UUID eventId,
+            @Param("ticketTypeId") UUID ticketTypeId,
+            @Param("shard") int shard,
+            @Param("occurredAt") LocalDateTime occurredAt,
+            @Param("purchased") int purchased,
+            @Param("cancelled") int cancelled);
+
+    // Day buckets are the fewest rows covering everything
+    @Query("SELECT new com.Hoang105.tickets.domain.SalesTotals(r.ticketTypeId, SUM(r.purchased), SUM(r.cancelled)) " +
+           "FROM SalesRollup r " +
+           "WHERE r.eventId = :eventId " +
+           "AND r.granularity = com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum.DAY " +
+           "GROUP BY r.ticketTypeId")
+    List<SalesTotals> sumByTicketType(@Param("eventId") UUID eventId);
+
+    /**
+     * Totals before {@code minute}, taken from whole days, then whole hours, then
+     * minutes, so at most a day's worth of finer buckets is read.
+     */
+    @Query("SELECT new com.Hoang105.tickets.domain.SalesTotals(r.ticketTypeId, SUM(r.purchased), SUM(r.cancelled)) " +
+           "FROM SalesRollup r " +
+           "WHERE r.eventId = :eventId AND (" +
+           "(r.granularity = com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum.DAY " +
+           "AND r.bucketStart < :day) OR " +
+           "(r.granularity = com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum.HOUR " +
+           "AND r.bucketStart >= :day AND r.bucketStart < :hour) OR " +
+           "(r.granularity = com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum.MINUTE " +
+           "AND r.bucketStart >= :hour AND r.bucketStart < :minute)) " +
+           "GROUP BY r.ticketTypeId")
+    List<SalesTotals> sumBefore(
+            @Param("eventId") UUID eventId,
+            @Param("day") LocalDateTime day,
+            @Param("hour") LocalDateTime hour,
+            @Param("minute") LocalDateTime minute);
+
+    // One row per shard of each ticket type's buckets
+    @Query("SELECT r FROM SalesRollup r " +
+           "WHERE r.eventId = :eventId AND r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "ORDER BY r.bucketStart")
+    List<SalesRollup> findCurve(
+            @Param("eventId") UUID eventId,
+            @Param("granularity") SalesGranularityEnum granularity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Recomputes the buckets from tickets and archived_tickets the way the V6
+     * migration backfilled them into shard 0, overwriting its counts and
+     * dropping the other shards.
+     * Purchases committing meanwhile can be lost, so this is only for databases
+     * that are not selling, such as freshly seeded ones.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH other_shards AS (
+                DELETE FROM sales_rollups WHERE shard <> 0)
+            INSERT INTO sales_rollups AS r (ticket_type_id, granularity, bucket_start, shard, event_id, purchased, cancelled)
+            SELECT s.ticket_type_id, g.granularity, date_trunc(g.unit, s.occurred_at), 0, s.event_id,
+                   sum(s.purchased), sum(s.cancelled)
+            FROM (
+                SELECT ticket_type_id, event_id, created_at AS occurred_at, 1 AS purchased, 0 AS cancelled
+                FROM tickets
+                UNION ALL
+                SELECT ticket_type_id, event_id, updated_at, 0, 1
+                FROM tickets
+                WHERE status = 'CANCELLED'
+                UNION ALL
+                SELECT ticket_type_id, event_id, created_at, 1, 0
+                FROM archived_tickets
+                UNION ALL
+                SELECT ticket_type_id, event_id, updated_at, 0, 1
+                FROM archived_tickets
+                WHERE status = 'CANCELLED'
+            ) s
+            CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+            GROUP BY s.ticket_type_id, g.granularity, date_trunc(g.unit, s.occurred_at), s.event_id
+            ON CONFLICT (ticket_type_id, granularity, bucket_start, shard) DO UPDATE
+            SET purchased = EXCLUDED.purchased,
+                cancelled = EXCLUDED.cancelled
+            """, nativeQuery = true)
+    int backfill();
+}
@@ -7,21 +7,54 @@ import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.Hoang105.tickets.domain.entities.Ticket;
 
+/**
+ * Reads that start from tickets rather than from their event leave out the
+ * tickets of deleted events still waiting for the DeletedEventPurger, with a
+ * primary key join to the event.
+ */
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
-    int countByTicketTypeId(UUID ticketTypeId);
-
-    Page<Ticket> findByPurchaserId(UUID purchaserId, Pageable pageable);
-
-    Optional<Ticket> findByIdAndPurchaserId(UUID id, UUID purchaserId);
-
-    Integer countByPurchaserId(UUID purchaserId);
-
-    Optional<Ticket> findFirstByPurchaserIdOrderByCreatedAtDesc(UUID purchaserId);
-
-    int countByStatus(TicketStatusEnum status);
+    // Pruned to the event's partition
+    int countByEventIdAndTicketTypeId(UUID eventId, UUID ticketTypeId);
+
+    // Ticket listings render ticket type and event fields for every row
+    @Query(value = "SELECT t FROM Ticket t JOIN FETCH t.ticketType tt JOIN FETCH tt.event e " +
+                   "WHERE t.purchaser.id = :purchaserId AND e.deletedAt IS NULL",
+           countQuery = "SELECT count(t) FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+                        "WHERE t.purchaser.id = :purchaserId AND e.deletedAt IS NULL")
+    Page<Ticket> findByPurchaserId(@Param("purchaserId") UUID purchaserId, Pageable pageable);
+
+    @Query("SELECT t FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+           "WHERE t.id = :id AND t.purchaser.id = :purchaserId AND e.deletedAt IS NULL")
+    Optional<Ticket> findByIdAndPurchaserId(@Param("id") UUID id, @Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT t FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+           "WHERE t.id = :id AND e.deletedAt IS NULL")
+    Optional<Ticket> findByIdAndEventNotDeleted(@Param("id") UUID id);
+
+    // Pruned to the event's partition
+    @Query("SELECT t FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+           "WHERE t.id = :id AND t.eventId = :eventId AND e.deletedAt IS NULL")
+    Optional<Ticket> findByIdAndEventId(@Param("id") UUID id, @Param("eventId") UUID eventId);
+
+    @Query("SELECT count(t) FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+           "WHERE t.purchaser.id = :purchaserId AND e.deletedAt IS NULL")
+    Integer countByPurchaserId(@Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT t FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+           "WHERE t.purchaser.id = :purchaserId AND e.deletedAt IS NULL " +
+           "ORDER BY t.createdAt DESC LIMIT 1")
+    Optional<Ticket> findFirstByPurchaserIdOrderByCreatedAtDesc(@Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT count(t) FROM Ticket t JOIN Event e ON e.id = t.eventId " +
+           "WHERE t.status = :status AND e.deletedAt IS NULL")
+    int countByStatus(@Param("status") TicketStatusEnum status);
+
+    boolean existsByEventId(UUID eventId);
 }
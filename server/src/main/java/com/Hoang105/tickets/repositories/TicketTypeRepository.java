@@ -1,25 +1,56 @@
 package com.Hoang105.tickets.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.Hoang105.tickets.domain.TicketTypeAvailability;
+import com.Hoang105.tickets.domain.TicketTypeSalesWindow;
 import com.Hoang105.tickets.domain.entities.TicketType;
-
-import jakarta.persistence.LockModeType;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
 
 @Repository
 public interface TicketTypeRepository extends JpaRepository<TicketType, UUID> {
 
-    @Query("SELECT tt FROM TicketType tt WHERE tt.id = :id")
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<TicketType> findByIdWithLock(@Param("id") UUID id);
+    // Purchases read the event's sales window next
+    @Query("SELECT tt FROM TicketType tt JOIN FETCH tt.event e WHERE tt.id = :id AND e.deletedAt IS NULL")
+    Optional<TicketType> findByIdAndEventNotDeleted(@Param("id") UUID id);
+
+    List<TicketType> findByEventIdAndIdIn(UUID eventId, Collection<UUID> ids);
 
-    @Query("SELECT SUM(tt.totalAvailable) FROM TicketType tt")
+    @Query("SELECT SUM(tt.totalAvailable) FROM TicketType tt JOIN tt.event e WHERE e.deletedAt IS NULL")
     int sumTotalAvailable();
+
+    @Query("SELECT new com.Hoang105.tickets.domain.TicketTypeSalesWindow(tt.id, e.id, e.salesStart, e.salesEnd) " +
+           "FROM TicketType tt JOIN tt.event e " +
+           "WHERE e.status = :status AND (e.salesEnd IS NULL OR e.salesEnd > :closedAfter)")
+    List<TicketTypeSalesWindow> findSalesWindows(
+            @Param("status") EventStatusEnum status,
+            @Param("closedAfter") LocalDateTime closedAfter);
+
+    @Query("SELECT new com.Hoang105.tickets.domain.TicketTypeSalesWindow(tt.id, e.id, e.salesStart, e.salesEnd) " +
+           "FROM TicketType tt JOIN tt.event e " +
+           "WHERE e.id = :eventId AND e.status = :status")
+    List<TicketTypeSalesWindow> findSalesWindowsByEventId(
+            @Param("eventId") UUID eventId,
+            @Param("status") EventStatusEnum status);
+
+    // Purchased counts come from the day sales rollups, a handful of rows per ticket type
+    @Query("SELECT new com.Hoang105.tickets.domain.TicketTypeAvailability(tt.id, tt.totalAvailable, COALESCE(SUM(r.purchased), 0)) " +
+           "FROM TicketType tt JOIN tt.event e " +
+           "LEFT JOIN SalesRollup r ON r.ticketTypeId = tt.id " +
+           "AND r.granularity = com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum.DAY " +
+           "WHERE e.id = :eventId AND e.status = :status " +
+           "GROUP BY tt.id, tt.totalAvailable " +
+           "ORDER BY tt.id")
+    List<TicketTypeAvailability> findAvailabilityByEventId(
+            @Param("eventId") UUID eventId,
+            @Param("status") EventStatusEnum status);
 }
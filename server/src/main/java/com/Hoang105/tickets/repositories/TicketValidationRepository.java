@@ -1,6 +1,7 @@
 package com.Hoang105.tickets.repositories;
 
 import com.Hoang105.tickets.domain.entities.TicketValidation;
+import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,5 @@ import java.util.UUID;
 @Repository
 public interface TicketValidationRepository extends JpaRepository<TicketValidation, UUID> {
 
+    boolean existsByTicketIdAndEventIdAndStatus(UUID ticketId, UUID eventId, TicketValidationEnum status);
 }
@@ -1,5 +1,6 @@
 package com.Hoang105.tickets.repositories;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.Hoang105.tickets.domain.entities.enums.UserRoleEnum;
@@ -16,4 +17,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     int countByRole(UserRoleEnum role);
 
+    int countByRoleAndCreatedAtAfter(UserRoleEnum role, LocalDateTime createdAt);
+
 }
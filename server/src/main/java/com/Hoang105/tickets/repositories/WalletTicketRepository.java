@@ -0,0 +1,108 @@
+package com.Hoang105.tickets.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.Hoang105.tickets.domain.entities.WalletTicket;
+
+/**
+ * Every write changes the rows in one statement and bumps the version of each
+ * wallet it actually changed, returning the new versions. Writing what is
+ * already there changes nothing, so redelivered events are harmless.
+ */
+@Repository
+public interface WalletTicketRepository extends JpaRepository<WalletTicket, UUID> {
+
+    String BUMP_CHANGED_VERSIONS = """
+            INSERT INTO wallet_versions AS v (user_id, version)
+            SELECT DISTINCT purchaser_id, 1 FROM changed
+            ON CONFLICT (user_id) DO UPDATE SET version = v.version + 1
+            RETURNING v.user_id AS "userId", v.version AS "version"
+            """;
+
+    interface WalletVersion {
+        UUID getUserId();
+
+        long getVersion();
+    }
+
+    List<WalletTicket> findByPurchaserIdOrderByPurchasedAtDesc(UUID purchaserId);
+
+    @Query(value = "SELECT version FROM wallet_versions WHERE user_id = :userId", nativeQuery = true)
+    Optional<Long> findVersion(@Param("userId") UUID userId);
+
+    /**
+     * Copies a ticket's current status and QR code into its wallet row, creating
+     * the row for a new ticket. Runs in the caller's transaction, so the wallet
+     * commits together with the ticket change.
+     */
+    @Query(value = """
+            WITH changed AS (
+                INSERT INTO wallet_tickets AS w (
+                    ticket_id, purchaser_id, status, qr_code_id, purchased_at,
+                    event_id, event_name, event_venue, event_start, event_end,
+                    ticket_type_id, ticket_type_name, ticket_type_price, ticket_type_description)
+                SELECT t.id, t.purchaser_id, t.status, q.id, t.created_at,
+                       e.id, e.name, e.venue, e.event_start, e.event_end,
+                       tt.id, tt.name, tt.price, tt.description
+                FROM tickets t
+                JOIN ticket_types tt ON tt.id = t.ticket_type_id
+                JOIN events e ON e.id = t.event_id
+                LEFT JOIN LATERAL (
+                    SELECT qc.id FROM qr_codes qc
+                    WHERE qc.event_id = t.event_id AND qc.ticket_id = t.id
+                    ORDER BY qc.created_at DESC
+                    LIMIT 1
+                ) q ON TRUE
+                WHERE t.event_id = :eventId AND t.id = :ticketId
+                ON CONFLICT (ticket_id) DO UPDATE
+                SET status = EXCLUDED.status,
+                    qr_code_id = EXCLUDED.qr_code_id
+                WHERE (w.status, w.qr_code_id) IS DISTINCT FROM (EXCLUDED.status, EXCLUDED.qr_code_id)
+                RETURNING w.purchaser_id
+            )
+            """ + BUMP_CHANGED_VERSIONS, nativeQuery = true)
+    List<WalletVersion> copyTicket(@Param("eventId") UUID eventId, @Param("ticketId") UUID ticketId);
+
+    /**
+     * Copies an event's and its ticket types' current details into the wallet
+     * rows of its tickets that show something else.
+     */
+    @Query(value = """
+            WITH changed AS (
+                UPDATE wallet_tickets w
+                SET event_name = e.name,
+                    event_venue = e.venue,
+                    event_start = e.event_start,
+                    event_end = e.event_end,
+                    ticket_type_name = tt.name,
+                    ticket_type_price = tt.price,
+                    ticket_type_description = tt.description
+                FROM events e, ticket_types tt
+                WHERE w.event_id = :eventId
+                  AND e.id = w.event_id
+                  AND tt.id = w.ticket_type_id
+                  AND (w.event_name, w.event_venue, w.event_start, w.event_end,
+                       w.ticket_type_name, w.ticket_type_price, w.ticket_type_description)
+                      IS DISTINCT FROM (e.name, e.venue, e.event_start, e.event_end,
+                       tt.name, tt.price, tt.description)
+                RETURNING w.purchaser_id
+            )
+            """ + BUMP_CHANGED_VERSIONS, nativeQuery = true)
+    List<WalletVersion> copyEvent(@Param("eventId") UUID eventId);
+
+    @Query(value = """
+            WITH changed AS (
+                DELETE FROM wallet_tickets
+                WHERE event_id = :eventId
+                RETURNING purchaser_id
+            )
+            """ + BUMP_CHANGED_VERSIONS, nativeQuery = true)
+    List<WalletVersion> removeEvent(@Param("eventId") UUID eventId);
+}
@@ -0,0 +1,37 @@
+package com.Hoang105.tickets.sales;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.domain.dtos.GetPublishedEventDetailsResponseDto;
+
+/**
+ * Published event details for events whose sales window is warm, served by
+ * {@code GET /api/v1/published-events/{eventId}} without touching the database.
+ * Filled and emptied by the {@link SalesWindowScheduler}.
+ */
+@Component
+public class PublishedEventDetailsCache {
+
+    private final Map<UUID, GetPublishedEventDetailsResponseDto> details = new ConcurrentHashMap<>();
+
+    public Optional<GetPublishedEventDetailsResponseDto> get(UUID eventId) {
+        return Optional.ofNullable(details.get(eventId));
+    }
+
+    void put(UUID eventId, GetPublishedEventDetailsResponseDto eventDetails) {
+        details.put(eventId, eventDetails);
+    }
+
+    void evict(UUID eventId) {
+        details.remove(eventId);
+    }
+
+    public int size() {
+        return details.size();
+    }
+}
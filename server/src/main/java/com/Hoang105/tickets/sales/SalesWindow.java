@@ -0,0 +1,40 @@
+package com.Hoang105.tickets.sales;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The sales window of a published event and the ticket types sold in it. A
+ * missing start or end leaves that side of the window open.
+ */
+public record SalesWindow(
+        UUID eventId,
+        LocalDateTime salesStart,
+        LocalDateTime salesEnd,
+        Set<UUID> ticketTypeIds) {
+
+    public static boolean isOpen(LocalDateTime salesStart, LocalDateTime salesEnd, LocalDateTime now) {
+        return (salesStart == null || !now.isBefore(salesStart))
+                && (salesEnd == null || now.isBefore(salesEnd));
+    }
+
+    public boolean isOpenAt(LocalDateTime now) {
+        return isOpen(salesStart, salesEnd, now);
+    }
+
+    /**
+     * Whether the hot paths for this window should be warm at {@code now}: from
+     * {@code leadTime} before sales start until sales end, or for
+     * {@code openEndedWarmDuration} after the start when there is no end. Windows
+     * without a start have no on-sale moment to prepare for.
+     */
+    public boolean isWarmAt(LocalDateTime now, Duration leadTime, Duration openEndedWarmDuration) {
+        if (salesStart == null || now.isBefore(salesStart.minus(leadTime))) {
+            return false;
+        }
+        LocalDateTime warmUntil = salesEnd != null ? salesEnd : salesStart.plus(openEndedWarmDuration);
+        return now.isBefore(warmUntil);
+    }
+}
@@ -0,0 +1,67 @@
+package com.Hoang105.tickets.sales;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.exceptions.TicketSalesClosedException;
+import com.Hoang105.tickets.exceptions.TicketTypeNotInEventException;
+import com.Hoang105.tickets.metrics.PurchaseMetrics;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers "is this ticket type on sale right now" from memory, so purchases
+ * outside the window, or naming another event than the ticket type's, are
+ * rejected before a connection is taken from the pool.
+ * The {@link SalesWindowScheduler} keeps the index current; ticket types it does
+ * not know about (e.g. an event published since the last refresh) must be
+ * checked against the database by the caller.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesWindowGuard {
+
+    private final PurchaseMetrics purchaseMetrics;
+
+    private final Map<UUID, SalesWindow> windowsByTicketType = new ConcurrentHashMap<>();
+
+    public void checkOpen(UUID eventId, UUID ticketTypeId) {
+        SalesWindow window = windowsByTicketType.get(ticketTypeId);
+        if (window == null) {
+            return;
+        }
+        if (!window.eventId().equals(eventId)) {
+            throw new TicketTypeNotInEventException(
+                    String.format("Ticket type %s does not belong to event %s", ticketTypeId, eventId));
+        }
+        if (!window.isOpenAt(LocalDateTime.now())) {
+            purchaseMetrics.recordOutsideSalesWindow();
+            throw new TicketSalesClosedException(
+                    String.format("Ticket type %s is not on sale", ticketTypeId));
+        }
+    }
+
+    public boolean isTracked(UUID ticketTypeId) {
+        return windowsByTicketType.containsKey(ticketTypeId);
+    }
+
+    void trackAll(Collection<SalesWindow> windows) {
+        Map<UUID, SalesWindow> index = new ConcurrentHashMap<>();
+        windows.forEach(window -> window.ticketTypeIds().forEach(id -> index.put(id, window)));
+
+        windowsByTicketType.putAll(index);
+        windowsByTicketType.keySet().retainAll(index.keySet());
+    }
+
+    void track(UUID eventId, SalesWindow window) {
+        windowsByTicketType.values().removeIf(existing -> existing.eventId().equals(eventId));
+        if (window != null) {
+            window.ticketTypeIds().forEach(id -> windowsByTicketType.put(id, window));
+        }
+    }
+}
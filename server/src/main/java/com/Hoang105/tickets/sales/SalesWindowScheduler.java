@@ -0,0 +1,323 @@
+package com.Hoang105.tickets.sales;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.Hoang105.tickets.domain.TicketTypeSalesWindow;
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+import com.Hoang105.tickets.domain.events.EventDeleted;
+import com.Hoang105.tickets.domain.events.EventPublished;
+import com.Hoang105.tickets.domain.events.EventUpdated;
+import com.Hoang105.tickets.invalidation.CacheInvalidated;
+import com.Hoang105.tickets.invalidation.CacheInvalidationBus;
+import com.Hoang105.tickets.invalidation.CacheRegion;
+import com.Hoang105.tickets.repositories.TicketTypeRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the sales windows of published events. Every refresh, and whenever an
+ * event is published or edited, it updates the {@link SalesWindowGuard} index.
+ * Each refresh also warms the windows that open within
+ * {@code app.sales-window.lead-time} using the {@link SalesWindowWarmer}, and
+ * drops them again once they close.
+ * <p>
+ * Edits reach the scheduler on every instance through the
+ * {@link CacheInvalidationBus} shortly after they commit, so for that moment
+ * the guard may still apply the previous window. The bus's thread only notes
+ * which events changed; a thread of the scheduler's own reads them, so a slow
+ * query or a full resync does not hold up invalidations of other caches. Edits
+ * also arrive through the outbox on the instance that dispatches them, which
+ * makes up for an invalidation that was lost.
+ */
+@Component
+@Slf4j
+public class SalesWindowScheduler implements DisposableBean {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final SalesWindowGuard salesWindowGuard;
+    private final SalesWindowWarmer salesWindowWarmer;
+
+    private final Duration leadTime;
+    private final Duration openEndedWarmDuration;
+    private final Duration closedRetention;
+
+    private final Map<UUID, SalesWindow> tracked = new ConcurrentHashMap<>();
+    private final Map<UUID, SalesWindow> warm = new ConcurrentHashMap<>();
+
+    // Guarded by this: events refreshed one at a time since the current full read started
+    private final Set<UUID> refreshedDuringRead = new HashSet<>();
+    // Held from the start of a full read until it is applied, so two cannot interleave
+    private final Object fullRead = new Object();
+
+    private final Set<UUID> invalidatedEvents = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean allEventsInvalidated = new AtomicBoolean();
+    private final AtomicBoolean invalidationsQueued = new AtomicBoolean();
+    private final ExecutorService invalidationExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("sales-window-invalidation").daemon().factory());
+
+    public SalesWindowScheduler(
+            TicketTypeRepository ticketTypeRepository,
+            SalesWindowGuard salesWindowGuard,
+            SalesWindowWarmer salesWindowWarmer,
+            MeterRegistry meterRegistry,
+            @Value("${app.sales-window.lead-time:PT5M}") Duration leadTime,
+            @Value("${app.sales-window.open-ended-warm-duration:PT2H}") Duration openEndedWarmDuration,
+            @Value("${app.sales-window.closed-retention:PT24H}") Duration closedRetention) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.salesWindowGuard = salesWindowGuard;
+        this.salesWindowWarmer = salesWindowWarmer;
+        this.leadTime = leadTime;
+        this.openEndedWarmDuration = openEndedWarmDuration;
+        this.closedRetention = closedRetention;
+
+        Gauge.builder("tickets.sales_windows", tracked, Map::size)
+                .description("Sales windows of published events, by state")
+                .tag("state", "tracked")
+                .register(meterRegistry);
+        Gauge.builder("tickets.sales_windows", warm, Map::size)
+                .description("Sales windows of published events, by state")
+                .tag("state", "warm")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sales-window.refresh-interval:PT30S}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<SalesWindow> toWarm = new ArrayList<>();
+        synchronized (fullRead) {
+            Map<UUID, SalesWindow> windows = readAll(now);
+
+            synchronized (this) {
+                trackAll(windows);
+
+                for (SalesWindow window : List.copyOf(warm.values())) {
+                    SalesWindow current = windows.get(window.eventId());
+                    if (current == null || !current.isWarmAt(now, leadTime, openEndedWarmDuration)) {
+                        salesWindowWarmer.drop(warm.remove(window.eventId()));
+                    }
+                }
+                windows.values().stream()
+                        .filter(window -> !warm.containsKey(window.eventId()))
+                        .filter(window -> window.isWarmAt(now, leadTime, openEndedWarmDuration))
+                        .forEach(toWarm::add);
+
+                if (!toWarm.isEmpty()) {
+                    salesWindowWarmer.holdPool();
+                }
+            }
+        }
+
+        // Warming takes a while; edits delivered meanwhile must not wait for it
+        for (SalesWindow window : toWarm) {
+            salesWindowWarmer.warm(window);
+            synchronized (this) {
+                SalesWindow current = tracked.get(window.eventId());
+                if (current != null && current.isWarmAt(LocalDateTime.now(), leadTime, openEndedWarmDuration)) {
+                    warm.put(window.eventId(), current);
+                } else {
+                    salesWindowWarmer.drop(window);
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (warm.isEmpty()) {
+                salesWindowWarmer.releasePool();
+            }
+        }
+    }
+
+    @EventListener
+    public void onEventPublished(EventPublished event) {
+        refreshEvent(event.eventId());
+    }
+
+    @EventListener
+    public void onEventUpdated(EventUpdated event) {
+        if (event.changed(EventFieldEnum.STATUS)
+                || event.changed(EventFieldEnum.SALES_START)
+                || event.changed(EventFieldEnum.SALES_END)) {
+            refreshEvent(event.eventId());
+        } else if (event.changed(EventFieldEnum.NAME)
+                || event.changed(EventFieldEnum.START)
+                || event.changed(EventFieldEnum.END)
+                || event.changed(EventFieldEnum.VENUE)
+                || event.changed(TicketTypeFieldEnum.NAME)
+                || event.changed(TicketTypeFieldEnum.PRICE)
+                || event.changed(TicketTypeFieldEnum.DESCRIPTION)) {
+            refreshDetails(event.eventId());
+        }
+    }
+
+    @EventListener
+    public void onEventDeleted(EventDeleted event) {
+        refreshEvent(event.eventId());
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidated invalidated) {
+        if (invalidated.region() != CacheRegion.EVENT) {
+            return;
+        }
+        if (invalidated.all()) {
+            allEventsInvalidated.set(true);
+        } else {
+            invalidatedEvents.addAll(invalidated.ids());
+        }
+        // Invalidations noted before the queued run starts are applied by it
+        if (invalidationsQueued.compareAndSet(false, true)) {
+            invalidationExecutor.execute(this::applyInvalidations);
+        }
+    }
+
+    private void applyInvalidations() {
+        invalidationsQueued.set(false);
+        try {
+            if (allEventsInvalidated.getAndSet(false)) {
+                invalidatedEvents.clear();
+                refreshAll();
+                return;
+            }
+            for (Iterator<UUID> eventIds = invalidatedEvents.iterator(); eventIds.hasNext();) {
+                UUID eventId = eventIds.next();
+                eventIds.remove();
+                refreshEvent(eventId);
+            }
+        } catch (RuntimeException ex) {
+            // The next refresh applies whatever was missed
+            log.warn("Applying invalidated sales windows failed", ex);
+        }
+    }
+
+    /**
+     * Applies every window, for when edits may have been missed. Windows that now
+     * need warming are picked up by the next {@link #refresh}.
+     */
+    private void refreshAll() {
+        synchronized (fullRead) {
+            Map<UUID, SalesWindow> windows = readAll(LocalDateTime.now());
+
+            synchronized (this) {
+                trackAll(windows);
+                for (UUID eventId : List.copyOf(warm.keySet())) {
+                    refreshWarm(eventId, windows.get(eventId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads every window outside the monitor, so edits are not held up by it.
+     * The caller holds {@link #fullRead} and applies the result with
+     * {@link #trackAll}.
+     */
+    private Map<UUID, SalesWindow> readAll(LocalDateTime now) {
+        synchronized (this) {
+            refreshedDuringRead.clear();
+        }
+        return group(ticketTypeRepository.findSalesWindows(EventStatusEnum.PUBLISHED, now.minus(closedRetention)));
+    }
+
+    private void trackAll(Map<UUID, SalesWindow> windows) {
+        // Each of these was read after the full read began, so what was read is older
+        for (UUID eventId : refreshedDuringRead) {
+            SalesWindow current = tracked.get(eventId);
+            if (current == null) {
+                windows.remove(eventId);
+            } else {
+                windows.put(eventId, current);
+            }
+        }
+        refreshedDuringRead.clear();
+
+        tracked.keySet().retainAll(windows.keySet());
+        tracked.putAll(windows);
+        salesWindowGuard.trackAll(windows.values());
+    }
+
+    /**
+     * Applies an edit to the guard and to the cached details right away. Windows
+     * that now need warming are picked up by the next {@link #refresh}.
+     */
+    private synchronized void refreshEvent(UUID eventId) {
+        SalesWindow window = group(ticketTypeRepository.findSalesWindowsByEventId(eventId, EventStatusEnum.PUBLISHED))
+                .get(eventId);
+
+        salesWindowGuard.track(eventId, window);
+        refreshedDuringRead.add(eventId);
+        if (window == null) {
+            tracked.remove(eventId);
+        } else {
+            tracked.put(eventId, window);
+        }
+
+        refreshWarm(eventId, window);
+    }
+
+    // Refreshes the cached details of a warm event, or drops them once it is no longer warm
+    private void refreshWarm(UUID eventId, SalesWindow window) {
+        if (!warm.containsKey(eventId)) {
+            return;
+        }
+        if (window != null && window.isWarmAt(LocalDateTime.now(), leadTime, openEndedWarmDuration)) {
+            warm.put(eventId, window);
+            salesWindowWarmer.refreshDetails(window);
+        } else {
+            salesWindowWarmer.drop(warm.remove(eventId));
+            if (warm.isEmpty()) {
+                salesWindowWarmer.releasePool();
+            }
+        }
+    }
+
+    /**
+     * Reloads the cached details of an event whose sales window is unchanged.
+     */
+    private synchronized void refreshDetails(UUID eventId) {
+        SalesWindow window = warm.get(eventId);
+        if (window != null) {
+            salesWindowWarmer.refreshDetails(window);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        invalidationExecutor.shutdownNow();
+    }
+
+    private static Map<UUID, SalesWindow> group(List<TicketTypeSalesWindow> rows) {
+        Map<UUID, SalesWindow> windows = new HashMap<>();
+        for (TicketTypeSalesWindow row : rows) {
+            windows.computeIfAbsent(row.eventId(), eventId ->
+                    new SalesWindow(eventId, row.salesStart(), row.salesEnd(), new HashSet<>()))
+                    .ticketTypeIds().add(row.ticketTypeId());
+        }
+        windows.replaceAll((eventId, window) -> new SalesWindow(
+                eventId, window.salesStart(), window.salesEnd(), Set.copyOf(window.ticketTypeIds())));
+        return windows;
+    }
+}
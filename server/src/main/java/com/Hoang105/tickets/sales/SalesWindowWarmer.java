@@ -0,0 +1,138 @@
+package com.Hoang105.tickets.sales;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Hoang105.tickets.domain.dtos.GetPublishedEventDetailsResponseDto;
+import com.Hoang105.tickets.inventory.TicketInventory;
+import com.Hoang105.tickets.lanes.Lane;
+import com.Hoang105.tickets.lanes.LaneRoutingDataSource;
+import com.Hoang105.tickets.mappers.EventMapper;
+import com.Hoang105.tickets.services.EventService;
+import com.Hoang105.tickets.services.QrCodeService;
+import com.zaxxer.hikari.HikariConfigMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prepares what an on-sale touches: the published event details (cached, and
+ * the load path run repeatedly so the JIT compiles it), the ticket types'
+ * inventory buckets, which purchases take from instead of counting sold tickets,
+ * the QR renderer, and the connection pools of the lanes an on-sale loads, filled
+ * to their maximum size. JIT-compiled code cannot be dropped again; everything
+ * else is undone by {@link #drop} and {@link #releasePool}.
+ */
+@Component
+@Slf4j
+public class SalesWindowWarmer {
+
+    // Purchases, and the gates of events already on, are what an on-sale brings
+    private static final List<Lane> HELD_LANES = List.of(Lane.PURCHASE, Lane.GATE);
+
+    private final EventService eventService;
+    private final EventMapper eventMapper;
+    private final QrCodeService qrCodeService;
+    private final TicketInventory ticketInventory;
+    private final PublishedEventDetailsCache publishedEventDetailsCache;
+    private final LaneRoutingDataSource laneRoutingDataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int warmUpIterations;
+
+    private final Map<Lane, Integer> originalMinimumIdle = new EnumMap<>(Lane.class);
+
+    public SalesWindowWarmer(
+            EventService eventService,
+            EventMapper eventMapper,
+            QrCodeService qrCodeService,
+            TicketInventory ticketInventory,
+            PublishedEventDetailsCache publishedEventDetailsCache,
+            LaneRoutingDataSource laneRoutingDataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.sales-window.warm-up-iterations:100}") int warmUpIterations) {
+        this.eventService = eventService;
+        this.eventMapper = eventMapper;
+        this.qrCodeService = qrCodeService;
+        this.ticketInventory = ticketInventory;
+        this.publishedEventDetailsCache = publishedEventDetailsCache;
+        this.laneRoutingDataSource = laneRoutingDataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.warmUpIterations = warmUpIterations;
+    }
+
+    public void warm(SalesWindow window) {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < warmUpIterations; i++) {
+            loadDetails(window.eventId());
+        }
+        refreshDetails(window);
+
+        // Otherwise the first purchases of each ticket type queue behind the one creating them
+        int prepared = 0;
+        for (UUID ticketTypeId : window.ticketTypeIds()) {
+            if (ticketInventory.prepare(ticketTypeId)) {
+                prepared++;
+            }
+        }
+
+        qrCodeService.warmUpRenderer(warmUpIterations);
+
+        log.info("Warmed sales window of event {} opening at {}: {} ticket types, {} inventories created, took {} ms",
+                window.eventId(), window.salesStart(), window.ticketTypeIds().size(), prepared,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void refreshDetails(SalesWindow window) {
+        loadDetails(window.eventId()).ifPresentOrElse(
+                details -> publishedEventDetailsCache.put(window.eventId(), details),
+                () -> publishedEventDetailsCache.evict(window.eventId()));
+    }
+
+    public void drop(SalesWindow window) {
+        publishedEventDetailsCache.evict(window.eventId());
+        log.info("Dropped warm state for the sales window of event {}", window.eventId());
+    }
+
+    private Optional<GetPublishedEventDetailsResponseDto> loadDetails(UUID eventId) {
+        return readOnlyTransaction.execute(status -> eventService.getPublishedEvent(eventId)
+                .map(eventMapper::toGetPublishedEventDetailsResponseDto));
+    }
+
+    /**
+     * Keeps the purchase and gate lane pools at their maximum size so the on-sale
+     * does not wait for new connections. Hikari's housekeeper opens the missing
+     * ones in the background.
+     */
+    public synchronized void holdPool() {
+        if (!originalMinimumIdle.isEmpty()) {
+            return;
+        }
+        for (Lane lane : HELD_LANES) {
+            HikariConfigMXBean pool = lanePool(lane);
+            originalMinimumIdle.put(lane, pool.getMinimumIdle());
+            pool.setMinimumIdle(pool.getMaximumPoolSize());
+            log.info("Holding {} idle {} lane connections for open sales windows", pool.getMaximumPoolSize(), lane);
+        }
+    }
+
+    public synchronized void releasePool() {
+        originalMinimumIdle.forEach((lane, minimumIdle) -> {
+            lanePool(lane).setMinimumIdle(minimumIdle);
+            log.info("Restored the {} lane connection pool minimum idle size to {}", lane, minimumIdle);
+        });
+        originalMinimumIdle.clear();
+    }
+
+    private HikariConfigMXBean lanePool(Lane lane) {
+        return laneRoutingDataSource.getLanePool(lane).getHikariConfigMXBean();
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.Hoang105.tickets.domain.CreateEventRequest;
+import com.Hoang105.tickets.domain.EventChangeSet;
+import com.Hoang105.tickets.domain.PatchEventRequest;
 import com.Hoang105.tickets.domain.UpdateEventRequest;
 import com.Hoang105.tickets.domain.entities.Event;
 
@@ -21,6 +23,8 @@ public interface EventService {
 
     Event updateEventForOrganizer(UUID organizerId, UUID id, UpdateEventRequest event);
 
+    EventChangeSet patchEventForOrganizer(UUID organizerId, UUID id, PatchEventRequest patch);
+
     void deleteEventForOrganizer(UUID organizerId, UUID id);
 
     Page<Event> listPublishedEvents(Pageable pageable);
@@ -8,5 +8,9 @@ import com.Hoang105.tickets.domain.entities.Ticket;
 public interface QrCodeService {
     QrCode generateQrCode(Ticket ticket);
 
+    String renderQrCodeImage(UUID qrCodeId);
+
     byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId);
+
+    void warmUpRenderer(int iterations);
 }
@@ -0,0 +1,17 @@
+package com.Hoang105.tickets.services;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.Hoang105.tickets.domain.EventSalesDashboard;
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+
+public interface SalesRollupService {
+    void recordPurchase(UUID eventId, UUID ticketTypeId, int inventoryBucket, LocalDateTime purchasedAt);
+
+    void recordCancellation(UUID eventId, UUID ticketTypeId, LocalDateTime cancelledAt);
+
+    Optional<EventSalesDashboard> getSalesDashboardForOrganizer(
+            UUID organizerId, UUID eventId, SalesGranularityEnum granularity, LocalDateTime from, LocalDateTime to);
+}
@@ -5,7 +5,7 @@ import java.util.UUID;
 import com.Hoang105.tickets.domain.entities.Ticket;
 
 public interface TicketTypeService {
-    Ticket purchaseTicket(UUID userId, UUID ticketTypeId);
+    Ticket purchaseTicket(UUID userId, UUID eventId, UUID ticketTypeId);
 
 
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.Hoang105.tickets.domain.entities.TicketValidation;
 import java.util.UUID;
 
 public interface TicketValidationService {
-    TicketValidation validateTicketByQrCode(UUID qrCodeId);
-    TicketValidation validateTicketManually(UUID ticketId);
+    // eventId is optional; when given, only tickets for that event are accepted and the lookup is pruned to its partition
+    TicketValidation validateTicketByQrCode(UUID qrCodeId, UUID eventId);
+    TicketValidation validateTicketManually(UUID ticketId, UUID eventId);
 }
@@ -1,34 +1,53 @@
 package com.Hoang105.tickets.services.impl;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.Hoang105.tickets.config.ReadYourWritesTracker;
 import com.Hoang105.tickets.domain.CreateEventRequest;
+import com.Hoang105.tickets.domain.EventChangeSet;
+import com.Hoang105.tickets.domain.PatchEventRequest;
+import com.Hoang105.tickets.domain.PatchTicketTypeRequest;
 import com.Hoang105.tickets.domain.UpdateEventRequest;
 import com.Hoang105.tickets.domain.UpdateTicketTypeRequest;
 import com.Hoang105.tickets.domain.entities.Event;
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
 import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
 import com.Hoang105.tickets.domain.entities.TicketType;
 import com.Hoang105.tickets.domain.entities.User;
+import com.Hoang105.tickets.domain.events.EventDeleted;
+import com.Hoang105.tickets.domain.events.EventPublished;
+import com.Hoang105.tickets.domain.events.EventUpdated;
 import com.Hoang105.tickets.exceptions.EventNotFoundException;
 import com.Hoang105.tickets.exceptions.EventUpdateException;
 import com.Hoang105.tickets.exceptions.TicketTypetNotFoundException;
 import com.Hoang105.tickets.exceptions.UserNotFoundException;
+import com.Hoang105.tickets.invalidation.CacheInvalidationBus;
+import com.Hoang105.tickets.invalidation.CacheRegion;
+import com.Hoang105.tickets.inventory.TicketInventory;
+import com.Hoang105.tickets.outbox.DomainEventPublisher;
 import com.Hoang105.tickets.repositories.EventRepository;
+import com.Hoang105.tickets.repositories.TicketTypeRepository;
 import com.Hoang105.tickets.repositories.UserRepository;
 import com.Hoang105.tickets.services.*;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -37,6 +56,11 @@ public class EventServiceImpl implements EventService {
 
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TicketInventory ticketInventory;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     @Transactional
@@ -54,6 +78,7 @@ public class EventServiceImpl implements EventService {
             ticketTypeToCreate.setPrice(ticketType.getPrice());
             ticketTypeToCreate.setDescription(ticketType.getDescription());
             ticketTypeToCreate.setTotalAvailable(ticketType.getTotalAvailable());
+            ticketTypeToCreate.setInventoryBuckets(ticketType.getInventoryBuckets());
             return ticketTypeToCreate;
         }).toList();
 
@@ -72,15 +97,26 @@ public class EventServiceImpl implements EventService {
 
         eventToCreate.setTicketTypes(ticketTypesToCreate);
 
-        return eventRepository.save(eventToCreate);
+        readYourWritesTracker.markWrite(organizerId);
+
+        Event savedEvent = eventRepository.save(eventToCreate);
+
+        if (EventStatusEnum.PUBLISHED.equals(savedEvent.getStatus())) {
+            domainEventPublisher.publish(eventPublished(savedEvent));
+            cacheInvalidationBus.invalidate(CacheRegion.EVENT, List.of(savedEvent.getId()));
+        }
+
+        return savedEvent;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Event> listEventForOrganizer(UUID organizerId, Pageable pageable) {
         return eventRepository.findByOrganizerId(organizerId, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Event> getEventForOrganizer(UUID organizerId, UUID id){
         return eventRepository.findByIdAndOrganizerId(id, organizerId);
     }
@@ -100,6 +136,8 @@ public class EventServiceImpl implements EventService {
                 .findByIdAndOrganizerId(id, organizerId)
                 .orElseThrow(() -> new EventNotFoundException(String.format("Event with ID '%s' does not exist", id)));
 
+        EventStatusEnum previousStatus = existingEvent.getStatus();
+
         existingEvent.setName(event.getName());
         existingEvent.setStart(event.getStart());
         existingEvent.setEnd(event.getEnd());
@@ -121,6 +159,8 @@ public class EventServiceImpl implements EventService {
         Map<UUID, TicketType> existingTicketTypesIndex = existingEvent.getTicketTypes().stream()
                     .collect(Collectors.toMap(TicketType::getId, Function.identity()));
 
+        Set<UUID> resizedTicketTypeIds = new HashSet<>();
+
         for(UpdateTicketTypeRequest ticketType : event.getTicketTypes()){
             if (null == ticketType.getId()){
                 //Create
@@ -129,6 +169,7 @@ public class EventServiceImpl implements EventService {
                 ticketTypeToCreate.setPrice(ticketType.getPrice());
                 ticketTypeToCreate.setDescription(ticketType.getDescription());
                 ticketTypeToCreate.setTotalAvailable(ticketType.getTotalAvailable());
+                ticketTypeToCreate.setInventoryBuckets(ticketType.getInventoryBuckets());
                 ticketTypeToCreate.setEvent(existingEvent);
 
                 existingEvent.getTicketTypes().add(ticketTypeToCreate);
@@ -138,10 +179,16 @@ public class EventServiceImpl implements EventService {
                 //Update
                 TicketType existingTicketType = existingTicketTypesIndex.get(ticketType.getId());
 
+                if (!Objects.equals(existingTicketType.getTotalAvailable(), ticketType.getTotalAvailable())
+                        || !Objects.equals(existingTicketType.getInventoryBuckets(), ticketType.getInventoryBuckets())) {
+                    resizedTicketTypeIds.add(existingTicketType.getId());
+                }
+
                 existingTicketType.setName(ticketType.getName());
                 existingTicketType.setPrice(ticketType.getPrice());
                 existingTicketType.setDescription(ticketType.getDescription());
                 existingTicketType.setTotalAvailable(ticketType.getTotalAvailable());
+                existingTicketType.setInventoryBuckets(ticketType.getInventoryBuckets());
 
             }
             else{
@@ -149,36 +196,193 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        return eventRepository.save(existingEvent);
+        readYourWritesTracker.markWrite(organizerId);
+
+        Event savedEvent = eventRepository.save(existingEvent);
+
+        ticketInventory.reset(resizedTicketTypeIds);
+        cacheInvalidationBus.invalidate(CacheRegion.EVENT, List.of(savedEvent.getId()));
+
+        domainEventPublisher.publish(new EventUpdated(
+                savedEvent.getId(),
+                organizerId,
+                savedEvent.getStatus(),
+                savedEvent.getSalesStart(),
+                savedEvent.getSalesEnd(),
+                null,
+                null,
+                LocalDateTime.now()));
+
+        if (!EventStatusEnum.PUBLISHED.equals(previousStatus) && EventStatusEnum.PUBLISHED.equals(savedEvent.getStatus())) {
+            domainEventPublisher.publish(eventPublished(savedEvent));
+        }
+
+        return savedEvent;
+    }
+
+    @Override
+    @Transactional
+    public EventChangeSet patchEventForOrganizer(UUID organizerId, UUID id, PatchEventRequest patch) {
+        Event existingEvent = eventRepository
+                .findByIdAndOrganizerId(id, organizerId)
+                .orElseThrow(() -> new EventNotFoundException(String.format("Event with ID '%s' does not exist", id)));
+
+        EventStatusEnum previousStatus = existingEvent.getStatus();
+
+        Set<EventFieldEnum> changedFields = EnumSet.noneOf(EventFieldEnum.class);
+        for (EventFieldEnum field : patch.getPatchedFields()) {
+            if (patchField(existingEvent, field, patch)) {
+                changedFields.add(field);
+            }
+        }
+
+        // Only the ticket types named in the patch are loaded; the others are not touched
+        Map<UUID, PatchTicketTypeRequest> ticketTypePatches = patch.getTicketTypes().stream()
+                .collect(Collectors.toMap(PatchTicketTypeRequest::getId, Function.identity(), (first, second) -> {
+                    throw new EventUpdateException(String.format(
+                            "Ticket type with ID '%s' is patched more than once", first.getId()));
+                }));
+
+        Map<UUID, TicketType> existingTicketTypesIndex = ticketTypePatches.isEmpty()
+                ? Map.of()
+                : ticketTypeRepository.findByEventIdAndIdIn(id, ticketTypePatches.keySet()).stream()
+                        .collect(Collectors.toMap(TicketType::getId, Function.identity()));
+
+        Map<UUID, Set<TicketTypeFieldEnum>> changedTicketTypes = new HashMap<>();
+        for (PatchTicketTypeRequest ticketTypePatch : ticketTypePatches.values()) {
+            TicketType existingTicketType = existingTicketTypesIndex.get(ticketTypePatch.getId());
+            if (null == existingTicketType) {
+                throw new TicketTypetNotFoundException(String.format("Ticket type with ID '%s' does not exist", ticketTypePatch.getId()));
+            }
+
+            Set<TicketTypeFieldEnum> changedTicketTypeFields = EnumSet.noneOf(TicketTypeFieldEnum.class);
+            for (TicketTypeFieldEnum field : ticketTypePatch.getPatchedFields()) {
+                if (patchField(existingTicketType, field, ticketTypePatch)) {
+                    changedTicketTypeFields.add(field);
+                }
+            }
+            if (!changedTicketTypeFields.isEmpty()) {
+                changedTicketTypes.put(existingTicketType.getId(), changedTicketTypeFields);
+            }
+        }
+
+        // Event and TicketType are @DynamicUpdate, so the flush updates only the
+        // columns changed here, and nothing at all when no value differs
+        EventChangeSet changeSet = new EventChangeSet(id, changedFields, changedTicketTypes);
+        if (changeSet.isEmpty()) {
+            return changeSet;
+        }
+
+        readYourWritesTracker.markWrite(organizerId);
+
+        ticketInventory.reset(changedTicketTypes.entrySet().stream()
+                .filter(changed -> changed.getValue().contains(TicketTypeFieldEnum.TOTAL_AVAILABLE)
+                        || changed.getValue().contains(TicketTypeFieldEnum.INVENTORY_BUCKETS))
+                .map(Map.Entry::getKey)
+                .toList());
+        cacheInvalidationBus.invalidate(CacheRegion.EVENT, List.of(id));
+
+        domainEventPublisher.publish(new EventUpdated(
+                id,
+                organizerId,
+                existingEvent.getStatus(),
+                existingEvent.getSalesStart(),
+                existingEvent.getSalesEnd(),
+                changedFields,
+                changedTicketTypes,
+                LocalDateTime.now()));
+
+        if (!EventStatusEnum.PUBLISHED.equals(previousStatus) && EventStatusEnum.PUBLISHED.equals(existingEvent.getStatus())) {
+            domainEventPublisher.publish(eventPublished(existingEvent));
+        }
+
+        return changeSet;
+    }
+
+    private static boolean patchField(Event event, EventFieldEnum field, PatchEventRequest patch) {
+        return switch (field) {
+            case NAME -> patchField(field, field.isClearable(), event.getName(), patch.getName(), event::setName);
+            case START -> patchField(field, field.isClearable(), event.getStart(), patch.getStart(), event::setStart);
+            case END -> patchField(field, field.isClearable(), event.getEnd(), patch.getEnd(), event::setEnd);
+            case VENUE -> patchField(field, field.isClearable(), event.getVenue(), patch.getVenue(), event::setVenue);
+            case SALES_START -> patchField(field, field.isClearable(), event.getSalesStart(), patch.getSalesStart(), event::setSalesStart);
+            case SALES_END -> patchField(field, field.isClearable(), event.getSalesEnd(), patch.getSalesEnd(), event::setSalesEnd);
+            case STATUS -> patchField(field, field.isClearable(), event.getStatus(), patch.getStatus(), event::setStatus);
+        };
+    }
+
+    private static boolean patchField(TicketType ticketType, TicketTypeFieldEnum field, PatchTicketTypeRequest patch) {
+        return switch (field) {
+            case NAME -> patchField(field, field.isClearable(), ticketType.getName(), patch.getName(), ticketType::setName);
+            case PRICE -> patchField(field, field.isClearable(), ticketType.getPrice(), patch.getPrice(), ticketType::setPrice);
+            case DESCRIPTION -> patchField(field, field.isClearable(), ticketType.getDescription(), patch.getDescription(), ticketType::setDescription);
+            case TOTAL_AVAILABLE -> patchField(field, field.isClearable(), ticketType.getTotalAvailable(), patch.getTotalAvailable(), ticketType::setTotalAvailable);
+            case INVENTORY_BUCKETS -> patchField(field, field.isClearable(), ticketType.getInventoryBuckets(), patch.getInventoryBuckets(), ticketType::setInventoryBuckets);
+        };
+    }
+
+    /**
+     * Sets the field only when the value differs, so an unchanged value leaves the
+     * entity clean and stays out of the change set.
+     */
+    private static <T> boolean patchField(Enum<?> field, boolean clearable, T current, T value, Consumer<T> setter) {
+        if (null == value && !clearable) {
+            throw new EventUpdateException(String.format("Field '%s' is required and cannot be cleared", field));
+        }
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private EventPublished eventPublished(Event event) {
+        return new EventPublished(
+                event.getId(),
+                event.getOrganizer().getId(),
+                event.getSalesStart(),
+                event.getSalesEnd(),
+                LocalDateTime.now());
     }
 
     @Override
     @Transactional
     public void deleteEventForOrganizer(UUID organizerId, UUID id){
-        getEventForOrganizer(organizerId, id).ifPresent(eventRepository::delete);
+        // Only marks the event: its tickets can run to tens of thousands of rows,
+        // which the DeletedEventPurger removes in the background
+        if (eventRepository.markDeleted(id, organizerId, LocalDateTime.now()) > 0) {
+            domainEventPublisher.publish(new EventDeleted(id, organizerId, LocalDateTime.now()));
+            cacheInvalidationBus.invalidate(CacheRegion.EVENT, List.of(id));
+        }
+        readYourWritesTracker.markWrite(organizerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Event> listPublishedEvents(Pageable pageable) {
         return eventRepository.findByStatus(EventStatusEnum.PUBLISHED, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Event> searchPublishedEvents(String query, Pageable pageable) {
         return eventRepository.searchEvents(query, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Event> getPublishedEvent(UUID id){
         return eventRepository.findByIdAndStatus(id, EventStatusEnum.PUBLISHED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int countTotalEvents(){
         return (int) eventRepository.count();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int countEventsByStatus(EventStatusEnum status){
         return (int) eventRepository.countByStatus(status);
     }
@@ -4,17 +4,24 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Base64;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.imageio.ImageIO;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.Hoang105.tickets.domain.entities.ArchivedTicket;
 import com.Hoang105.tickets.domain.entities.QrCode;
 import com.Hoang105.tickets.domain.entities.enums.QrCodeStatusEnum;
 import com.Hoang105.tickets.domain.entities.Ticket;
 import com.Hoang105.tickets.exceptions.QrCodeGenerationException;
 import com.Hoang105.tickets.exceptions.QrCodeNotFoundException;
+import com.Hoang105.tickets.metrics.PurchaseMetrics;
+import com.Hoang105.tickets.repositories.ArchivedTicketRepository;
+import com.Hoang105.tickets.repositories.QrCodePoolRepository;
+import com.Hoang105.tickets.repositories.QrCodePoolRepository.ClaimedQrCode;
 import com.Hoang105.tickets.repositories.QrCodeRepository;
 import com.Hoang105.tickets.services.QrCodeService;
 import com.google.zxing.BarcodeFormat;
@@ -35,30 +42,55 @@ public class QrCodeServiceImpl implements QrCodeService {
 
     private final QRCodeWriter qrCodeWriter;
     private final QrCodeRepository qrCodeRepository;
+    private final QrCodePoolRepository qrCodePoolRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final PurchaseMetrics purchaseMetrics;
 
+    // Uses a code rendered ahead of time by QrCodePoolFiller when the ticket type has one left
     @Override
     public QrCode generateQrCode(Ticket ticket){
-        try {
-            UUID uniqueId = UUID.randomUUID();
-
-            String qrCodeImage = generateQrCodeImage(uniqueId);
+        long claimStart = System.nanoTime();
+        Optional<ClaimedQrCode> pooled = qrCodePoolRepository.claim(ticket.getTicketType().getId());
+
+        UUID uniqueId;
+        String qrCodeImage;
+        if (pooled.isPresent()) {
+            purchaseMetrics.record(PurchaseMetrics.Phase.QR_CLAIM, claimStart);
+            uniqueId = pooled.get().getId();
+            qrCodeImage = pooled.get().getValue();
+        } else {
+            uniqueId = UUID.randomUUID();
+
+            long renderStart = System.nanoTime();
+            qrCodeImage = renderQrCodeImage(uniqueId);
+            purchaseMetrics.record(PurchaseMetrics.Phase.QR_RENDER, renderStart);
+        }
 
-            QrCode qrCode = new QrCode();
+        QrCode qrCode = new QrCode();
 
-            qrCode.setId(uniqueId);
-            qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
-            qrCode.setValue(qrCodeImage);
-            qrCode.setTicket(ticket);
+        qrCode.setId(uniqueId);
+        qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+        qrCode.setValue(qrCodeImage);
+        qrCode.setTicket(ticket);
+        qrCode.setEventId(ticket.getEventId());
 
-            return qrCodeRepository.saveAndFlush(qrCode);
+        return qrCodeRepository.saveAndFlush(qrCode);
+    }
 
+    @Override
+    public String renderQrCodeImage(UUID qrCodeId){
+        try {
+            return generateQrCodeImage(qrCodeId);
         } catch(WriterException | IOException ex){
             throw new QrCodeGenerationException("Failed to generate QR code", ex);
         }
-        
     }
 
     private String generateQrCodeImage(UUID uniqueId) throws WriterException, IOException{
+        return Base64.getEncoder().encodeToString(renderQrCodePng(uniqueId));
+    }
+
+    private byte[] renderQrCodePng(UUID uniqueId) throws WriterException, IOException{
         BitMatrix bitMatrix = qrCodeWriter.encode(
             uniqueId.toString(),
             BarcodeFormat.QR_CODE,
@@ -71,16 +103,30 @@ public class QrCodeServiceImpl implements QrCodeService {
 
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()){
             ImageIO.write(qrCodeImage, "PNG", baos);
-            byte[] imageBytes = baos.toByteArray();
+            return baos.toByteArray();
+        }
+    }
 
-            return Base64.getEncoder().encodeToString(imageBytes);
+    // Renders throwaway codes so the encoder and the PNG writer are loaded and compiled before an on-sale
+    @Override
+    public void warmUpRenderer(int iterations) {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                generateQrCodeImage(UUID.randomUUID());
+            }
+        } catch(WriterException | IOException ex){
+            throw new QrCodeGenerationException("Failed to warm up QR code rendering", ex);
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId){
-        QrCode qrCode = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId)
-            .orElseThrow(QrCodeNotFoundException::new);
+        Optional<QrCode> hotQrCode = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId);
+        if (hotQrCode.isEmpty()) {
+            return getArchivedQrCodeImage(userId, ticketId);
+        }
+        QrCode qrCode = hotQrCode.get();
 
         try {
             return Base64.getDecoder().decode(qrCode.getValue());
@@ -92,4 +138,17 @@ public class QrCodeServiceImpl implements QrCodeService {
             
     }
 
+    // Archived tickets keep only the QR code's id, which is all the image encodes
+    private byte[] getArchivedQrCodeImage(UUID userId, UUID ticketId){
+        UUID qrCodeId = archivedTicketRepository.findByIdAndPurchaserId(ticketId, userId)
+            .map(ArchivedTicket::getQrCodeId)
+            .orElseThrow(QrCodeNotFoundException::new);
+
+        try {
+            return renderQrCodePng(qrCodeId);
+        } catch(WriterException | IOException ex){
+            throw new QrCodeGenerationException("Failed to render archived QR code", ex);
+        }
+    }
+
 }
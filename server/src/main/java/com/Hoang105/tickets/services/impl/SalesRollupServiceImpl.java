@@ -0,0 +1,176 @@
+package com.Hoang105.tickets.services.impl;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.EventSalesDashboard;
+import com.Hoang105.tickets.domain.SalesCurvePoint;
+import com.Hoang105.tickets.domain.SalesTotals;
+import com.Hoang105.tickets.domain.TicketTypeSales;
+import com.Hoang105.tickets.domain.entities.Event;
+import com.Hoang105.tickets.domain.entities.SalesRollup;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.domain.entities.enums.SalesGranularityEnum;
+import com.Hoang105.tickets.repositories.EventRepository;
+import com.Hoang105.tickets.repositories.SalesRollupRepository;
+import com.Hoang105.tickets.services.SalesRollupService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps sales counters per ticket type in minute, hour and day buckets and
+ * answers dashboards from them, so the cost of a dashboard depends on the number
+ * of buckets shown rather than the number of tickets sold.
+ * <p>
+ * A purchase adds to the shard numbered like the inventory bucket it took its
+ * ticket from. It already holds that bucket's lock, so purchases of one ticket
+ * type only queue on the same rollup rows when they queue on the same bucket.
+ * Cancellations are rarer and add to shard 0.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    // A day of minutes, two months of hours or four years of days
+    private static final int MAX_CURVE_BUCKETS = 1440;
+    private static final int CANCELLATION_SHARD = 0;
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final EventRepository eventRepository;
+
+    @Override
+    public void recordPurchase(UUID eventId, UUID ticketTypeId, int inventoryBucket, LocalDateTime purchasedAt) {
+        salesRollupRepository.increment(eventId, ticketTypeId, inventoryBucket, purchasedAt, 1, 0);
+    }
+
+    @Override
+    public void recordCancellation(UUID eventId, UUID ticketTypeId, LocalDateTime cancelledAt) {
+        salesRollupRepository.increment(eventId, ticketTypeId, CANCELLATION_SHARD, cancelledAt, 0, 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EventSalesDashboard> getSalesDashboardForOrganizer(
+            UUID organizerId, UUID eventId, SalesGranularityEnum granularity, LocalDateTime from, LocalDateTime to) {
+        return eventRepository.findByIdAndOrganizerId(eventId, organizerId)
+                .map(event -> buildDashboard(event, granularity, from, to));
+    }
+
+    private EventSalesDashboard buildDashboard(
+            Event event, SalesGranularityEnum granularity, LocalDateTime from, LocalDateTime to) {
+        ChronoUnit unit = switch (granularity) {
+            case MINUTE -> ChronoUnit.MINUTES;
+            case HOUR -> ChronoUnit.HOURS;
+            case DAY -> ChronoUnit.DAYS;
+        };
+
+        // Buckets starting in [start, end); the current bucket is included by default
+        LocalDateTime end = to != null ? to : LocalDateTime.now().truncatedTo(unit).plus(1, unit);
+        LocalDateTime earliest = end.minus(MAX_CURVE_BUCKETS, unit);
+        LocalDateTime start = from == null || from.isBefore(earliest) ? earliest : from.truncatedTo(unit);
+
+        Map<UUID, Double> prices = new HashMap<>();
+        for (TicketType ticketType : event.getTicketTypes()) {
+            prices.put(ticketType.getId(), ticketType.getPrice());
+        }
+
+        Map<UUID, SalesTotals> totals = new HashMap<>();
+        for (SalesTotals ticketTypeTotals : salesRollupRepository.sumByTicketType(event.getId())) {
+            totals.put(ticketTypeTotals.ticketTypeId(), ticketTypeTotals);
+        }
+
+        List<TicketTypeSales> ticketTypes = new ArrayList<>();
+        long purchased = 0;
+        long cancelled = 0;
+        double revenue = 0;
+        Integer totalAvailable = 0;
+        for (TicketType ticketType : event.getTicketTypes()) {
+            SalesTotals ticketTypeTotals = totals.getOrDefault(
+                    ticketType.getId(), new SalesTotals(ticketType.getId(), 0, 0));
+            double ticketTypeRevenue = ticketTypeTotals.sold() * ticketType.getPrice();
+
+            ticketTypes.add(new TicketTypeSales(
+                    ticketType.getId(),
+                    ticketType.getName(),
+                    ticketType.getPrice(),
+                    ticketType.getTotalAvailable(),
+                    ticketTypeTotals.purchased(),
+                    ticketTypeTotals.cancelled(),
+                    ticketTypeTotals.sold(),
+                    ticketTypeRevenue,
+                    sellThrough(ticketTypeTotals.sold(), ticketType.getTotalAvailable())));
+
+            purchased += ticketTypeTotals.purchased();
+            cancelled += ticketTypeTotals.cancelled();
+            revenue += ticketTypeRevenue;
+            // Without a limit on one ticket type the event has none either
+            totalAvailable = totalAvailable == null || ticketType.getTotalAvailable() == null
+                    ? null
+                    : totalAvailable + ticketType.getTotalAvailable();
+        }
+
+        return new EventSalesDashboard(
+                event.getId(),
+                granularity,
+                start,
+                end,
+                purchased,
+                cancelled,
+                purchased - cancelled,
+                revenue,
+                totalAvailable,
+                sellThrough(purchased - cancelled, totalAvailable),
+                ticketTypes,
+                buildCurve(event.getId(), granularity, start, end, prices));
+    }
+
+    private List<SalesCurvePoint> buildCurve(
+            UUID eventId, SalesGranularityEnum granularity, LocalDateTime start, LocalDateTime end,
+            Map<UUID, Double> prices) {
+        long cumulativeSold = 0;
+        double cumulativeRevenue = 0;
+        for (SalesTotals before : salesRollupRepository.sumBefore(
+                eventId, start.truncatedTo(ChronoUnit.DAYS), start.truncatedTo(ChronoUnit.HOURS), start)) {
+            cumulativeSold += before.sold();
+            cumulativeRevenue += before.sold() * prices.getOrDefault(before.ticketTypeId(), 0.0);
+        }
+
+        // Rows come ordered by bucket, one per shard of each ticket type with sales in it
+        List<SalesCurvePoint> curve = new ArrayList<>();
+        List<SalesRollup> rows = salesRollupRepository.findCurve(eventId, granularity, start, end);
+        int i = 0;
+        while (i < rows.size()) {
+            LocalDateTime bucketStart = rows.get(i).getBucketStart();
+            long purchased = 0;
+            long cancelled = 0;
+            double revenue = 0;
+            for (; i < rows.size() && rows.get(i).getBucketStart().equals(bucketStart); i++) {
+                SalesRollup row = rows.get(i);
+                purchased += row.getPurchased();
+                cancelled += row.getCancelled();
+                revenue += (row.getPurchased() - row.getCancelled()) * prices.getOrDefault(row.getTicketTypeId(), 0.0);
+            }
+
+            cumulativeSold += purchased - cancelled;
+            cumulativeRevenue += revenue;
+            curve.add(new SalesCurvePoint(bucketStart, purchased, cancelled, revenue, cumulativeSold, cumulativeRevenue));
+        }
+        return curve;
+    }
+
+    private static Double sellThrough(long sold, Integer totalAvailable) {
+        if (totalAvailable == null || totalAvailable == 0) {
+            return null;
+        }
+        return sold * 100.0 / totalAvailable;
+    }
+}
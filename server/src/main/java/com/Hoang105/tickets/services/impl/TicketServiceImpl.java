@@ -1,17 +1,30 @@
 package com.Hoang105.tickets.services.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
 import com.Hoang105.tickets.repositories.TicketTypeRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.Hoang105.tickets.concurrency.ConcurrencyLimited;
+import com.Hoang105.tickets.config.ReadYourWritesTracker;
+import com.Hoang105.tickets.domain.entities.ArchivedTicket;
 import com.Hoang105.tickets.domain.entities.Ticket;
+import com.Hoang105.tickets.domain.events.TicketCancelled;
+import com.Hoang105.tickets.outbox.DomainEventPublisher;
+import com.Hoang105.tickets.repositories.ArchivedTicketRepository;
 import com.Hoang105.tickets.repositories.TicketRepository;
+import com.Hoang105.tickets.services.SalesRollupService;
 import com.Hoang105.tickets.services.TicketService;
+import com.Hoang105.tickets.wallet.WalletReadModel;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,36 +34,84 @@ public class TicketServiceImpl implements TicketService {
 
     private final TicketRepository ticketRepository;
     private final TicketTypeRepository ticketTypeRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final DomainEventPublisher domainEventPublisher;
+    private final SalesRollupService salesRollupService;
+    private final WalletReadModel walletReadModel;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Ticket> listTicketForUser(UUID userId, Pageable pageable){
-        return ticketRepository.findByPurchaserId(userId, pageable);
+        Page<Ticket> tickets = ticketRepository.findByPurchaserId(userId, pageable);
+
+        int archivedCount = archivedTicketRepository.countByPurchaserId(userId);
+        if (archivedCount == 0) {
+            return tickets;
+        }
+
+        // Archived tickets, newest first, follow the hot ones
+        long hotCount = tickets.getTotalElements();
+        List<Ticket> content = new ArrayList<>(tickets.getContent());
+        if (pageable.isUnpaged()) {
+            archivedTicketRepository.findPageByPurchaserId(userId, 0, archivedCount)
+                    .forEach(archived -> content.add(archived.toTicket()));
+            return new PageImpl<>(content, pageable, hotCount + archivedCount);
+        }
+
+        int remaining = pageable.getPageSize() - content.size();
+        if (remaining > 0) {
+            long archivedOffset = Math.max(0, pageable.getOffset() - hotCount);
+            archivedTicketRepository.findPageByPurchaserId(userId, archivedOffset, remaining)
+                    .forEach(archived -> content.add(archived.toTicket()));
+        }
+        return new PageImpl<>(content, pageable, hotCount + archivedCount);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId){
-        return ticketRepository.findByIdAndPurchaserId(ticketId, userId);
+        return ticketRepository.findByIdAndPurchaserId(ticketId, userId)
+                .or(() -> archivedTicketRepository.findByIdAndPurchaserId(ticketId, userId)
+                        .map(ArchivedTicket::toTicket));
     }
 
     @Override
+    @Transactional
+    @ConcurrencyLimited("purchase")
     public Optional<Ticket> cancelTicket(UUID userId, UUID ticketId){
         Optional<Ticket> ticketOpt = ticketRepository.findByIdAndPurchaserId(ticketId, userId);
         ticketOpt.ifPresent(ticket -> {
+            boolean alreadyCancelled = TicketStatusEnum.CANCELLED.equals(ticket.getStatus());
             ticket.setStatus(TicketStatusEnum.CANCELLED);
             ticketRepository.save(ticket);
+            readYourWritesTracker.markWrite(userId);
+
+            if (!alreadyCancelled) {
+                salesRollupService.recordCancellation(
+                        ticket.getEventId(), ticket.getTicketType().getId(), LocalDateTime.now());
+                walletReadModel.recordTicket(ticket.getEventId(), ticket.getId());
+                domainEventPublisher.publish(new TicketCancelled(
+                        ticket.getId(),
+                        ticket.getTicketType().getId(),
+                        userId,
+                        LocalDateTime.now()));
+            }
         });
         return ticketOpt;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int countTotalTicketsSold(){
-        return ticketRepository.countByStatus(TicketStatusEnum.PURCHASED);
+        return ticketRepository.countByStatus(TicketStatusEnum.PURCHASED)
+                + archivedTicketRepository.countByStatus(TicketStatusEnum.PURCHASED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int countTotalTicketsRemaining(){
         int totalAvailable = ticketTypeRepository.sumTotalAvailable();
-        int totalSold = ticketRepository.countByStatus(TicketStatusEnum.PURCHASED);
-        return totalAvailable - totalSold;
+        return totalAvailable - countTotalTicketsSold();
     }
 }
@@ -1,21 +1,36 @@
 package com.Hoang105.tickets.services.impl;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
+import com.Hoang105.tickets.concurrency.ConcurrencyLimited;
+import com.Hoang105.tickets.config.ReadYourWritesTracker;
+import com.Hoang105.tickets.domain.entities.Event;
 import com.Hoang105.tickets.domain.entities.Ticket;
 import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
 import com.Hoang105.tickets.domain.entities.TicketType;
 import com.Hoang105.tickets.domain.entities.User;
+import com.Hoang105.tickets.domain.events.TicketPurchased;
+import com.Hoang105.tickets.exceptions.TicketSalesClosedException;
+import com.Hoang105.tickets.exceptions.TicketTypeNotInEventException;
 import com.Hoang105.tickets.exceptions.TicketTypetNotFoundException;
 import com.Hoang105.tickets.exceptions.TicketsSoldOutException;
 import com.Hoang105.tickets.exceptions.UserNotFoundException;
+import com.Hoang105.tickets.inventory.TicketInventory;
+import com.Hoang105.tickets.metrics.PurchaseMetrics;
+import com.Hoang105.tickets.outbox.DomainEventPublisher;
 import com.Hoang105.tickets.repositories.TicketRepository;
 import com.Hoang105.tickets.repositories.TicketTypeRepository;
 import com.Hoang105.tickets.repositories.UserRepository;
+import com.Hoang105.tickets.sales.SalesWindow;
+import com.Hoang105.tickets.sales.SalesWindowGuard;
 import com.Hoang105.tickets.services.QrCodeService;
+import com.Hoang105.tickets.services.SalesRollupService;
 import com.Hoang105.tickets.services.TicketTypeService;
+import com.Hoang105.tickets.wallet.WalletReadModel;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -30,24 +45,54 @@ public class TicketTypeServiceImpl implements TicketTypeService {
     private final TicketRepository ticketRepository;
 
     private final QrCodeService qrCodeService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final PurchaseMetrics purchaseMetrics;
+    private final DomainEventPublisher domainEventPublisher;
+    private final SalesWindowGuard salesWindowGuard;
+    private final SalesRollupService salesRollupService;
+    private final WalletReadModel walletReadModel;
+    private final TicketInventory ticketInventory;
 
 
     @Override
     @Transactional
-    public Ticket purchaseTicket(UUID userId, UUID ticketTypeId){
+    @ConcurrencyLimited("purchase")
+    public Ticket purchaseTicket(UUID userId, UUID eventId, UUID ticketTypeId){
+        salesWindowGuard.checkOpen(eventId, ticketTypeId);
+
+        long phaseStart = purchaseMetrics.begin(ticketTypeId);
+
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(
             String.format("User with ID %s not found", userId)
         ));
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.USER_LOOKUP, phaseStart);
 
-        TicketType ticketType =ticketTypeRepository.findByIdWithLock(ticketTypeId).orElseThrow(() -> new TicketTypetNotFoundException(
+        TicketType ticketType =ticketTypeRepository.findByIdAndEventNotDeleted(ticketTypeId).orElseThrow(() -> new TicketTypetNotFoundException(
             String.format("Ticket type with ID %s not found", ticketTypeId)
         ));
- 
-        int purchasedTickets = ticketRepository.countByTicketTypeId(ticketTypeId);
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.TICKET_TYPE_LOOKUP, phaseStart);
+
+        // Per-event rate limits are keyed on the event named in the path
+        if (!ticketType.getEvent().getId().equals(eventId)) {
+            throw new TicketTypeNotInEventException(
+                    String.format("Ticket type %s does not belong to event %s", ticketTypeId, eventId));
+        }
 
-        Integer totalAvailable = ticketType.getTotalAvailable();
+        // The guard only knows windows as of its last refresh
+        if (!salesWindowGuard.isTracked(ticketTypeId)) {
+            Event event = ticketType.getEvent();
+            if (!SalesWindow.isOpen(event.getSalesStart(), event.getSalesEnd(), LocalDateTime.now())) {
+                throw new TicketSalesClosedException(
+                        String.format("Ticket type %s is not on sale", ticketTypeId));
+            }
+        }
+ 
+        // Locks one of the ticket type's inventory buckets rather than the ticket type itself
+        Optional<Integer> inventoryBucket = ticketInventory.take(ticketType);
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.LOCK_WAIT, phaseStart);
 
-        if (purchasedTickets + 1 > totalAvailable) {
+        if (inventoryBucket.isEmpty()) {
+            purchaseMetrics.markSoldOut();
             throw new TicketsSoldOutException();
         }
 
@@ -55,11 +100,36 @@ public class TicketTypeServiceImpl implements TicketTypeService {
         ticket.setStatus(TicketStatusEnum.PURCHASED);
         ticket.setTicketType(ticketType);
         ticket.setPurchaser(user);
+        ticket.setEventId(eventId);
 
         Ticket savedTicket = ticketRepository.save(ticket);
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.TICKET_SAVE, phaseStart);
 
         qrCodeService.generateQrCode(savedTicket);
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.QR_CODE, phaseStart);
+
+        // Serve this user's wallet from the primary until replicas have the new ticket
+        readYourWritesTracker.markWrite(userId);
     
-        return ticketRepository.save(savedTicket);
+        Ticket updatedTicket = ticketRepository.save(savedTicket);
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.TICKET_UPDATE, phaseStart);
+
+        // Buckets by the ticket's creation time, as the rollup backfill does
+        salesRollupService.recordPurchase(eventId, ticketTypeId, inventoryBucket.get(), updatedTicket.getCreatedAt());
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.SALES_ROLLUP, phaseStart);
+
+        walletReadModel.recordTicket(eventId, updatedTicket.getId());
+        phaseStart = purchaseMetrics.record(PurchaseMetrics.Phase.WALLET, phaseStart);
+
+        domainEventPublisher.publish(new TicketPurchased(
+                updatedTicket.getId(),
+                ticketTypeId,
+                eventId,
+                userId,
+                ticketType.getPrice(),
+                LocalDateTime.now()));
+        purchaseMetrics.record(PurchaseMetrics.Phase.OUTBOX, phaseStart);
+
+        return updatedTicket;
     }
 }
@@ -1,11 +1,14 @@
 package com.Hoang105.tickets.services.impl;
 
+import com.Hoang105.tickets.concurrency.ConcurrencyLimited;
 import com.Hoang105.tickets.domain.entities.*;
 import com.Hoang105.tickets.domain.entities.enums.QrCodeStatusEnum;
 import com.Hoang105.tickets.domain.entities.enums.TicketValidationEnum;
 import com.Hoang105.tickets.domain.entities.enums.TicketValidationMethodEnum;
+import com.Hoang105.tickets.domain.events.TicketValidated;
 import com.Hoang105.tickets.exceptions.QrCodeNotFoundException;
 import com.Hoang105.tickets.exceptions.TicketNotFoundException;
+import com.Hoang105.tickets.outbox.DomainEventPublisher;
 import com.Hoang105.tickets.repositories.QrCodeRepository;
 import com.Hoang105.tickets.repositories.TicketRepository;
 import com.Hoang105.tickets.repositories.TicketValidationRepository;
@@ -14,6 +17,8 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 
@@ -25,11 +30,17 @@ public class TicketValidationServiceImpl implements  TicketValidationService {
     private final TicketValidationRepository ticketValidationRepository;
     private final QrCodeRepository qrCodeRepository;
     private final TicketRepository ticketRepository;
+    private final DomainEventPublisher domainEventPublisher;
 
 
     @Override
-    public TicketValidation validateTicketByQrCode(UUID qrCodeId) {
-        QrCode qrCode = qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE)
+    @ConcurrencyLimited("validation")
+    public TicketValidation validateTicketByQrCode(UUID qrCodeId, UUID eventId) {
+        Optional<QrCode> activeQrCode = null == eventId
+                ? qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE)
+                : qrCodeRepository.findByIdAndEventIdAndStatus(qrCodeId, eventId, QrCodeStatusEnum.ACTIVE);
+
+        QrCode qrCode = activeQrCode
                 .orElseThrow(() -> new QrCodeNotFoundException(
                         String.format("QR Code with ID %s not found", qrCodeId)
                 ));
@@ -43,22 +54,39 @@ public class TicketValidationServiceImpl implements  TicketValidationService {
         TicketValidation ticketValidation = new TicketValidation();
 
         ticketValidation.setTicket(ticket);
+        ticketValidation.setEventId(ticket.getEventId());
         ticketValidation.setValidationMethod(method);
 
-        TicketValidationEnum ticketValidationStatus = ticket.getValidations().stream()
-                .filter(v -> TicketValidationEnum.VALID.equals(v.getStatus()))
-                .findFirst()
-                .map(v -> TicketValidationEnum.INVALID)
-                .orElse(TicketValidationEnum.VALID);
+        // An index probe in the ticket's partition rather than loading its whole validation history
+        boolean alreadyValidated = ticketValidationRepository.existsByTicketIdAndEventIdAndStatus(
+                ticket.getId(), ticket.getEventId(), TicketValidationEnum.VALID);
+
+        TicketValidationEnum ticketValidationStatus = alreadyValidated
+                ? TicketValidationEnum.INVALID
+                : TicketValidationEnum.VALID;
 
         ticketValidation.setStatus(ticketValidationStatus);
 
-        return ticketValidationRepository.save(ticketValidation);
+        TicketValidation savedValidation = ticketValidationRepository.save(ticketValidation);
+
+        domainEventPublisher.publish(new TicketValidated(
+                savedValidation.getId(),
+                ticket.getId(),
+                ticketValidationStatus,
+                method,
+                LocalDateTime.now()));
+
+        return savedValidation;
     }
 
     @Override
-    public TicketValidation validateTicketManually(UUID ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
+    @ConcurrencyLimited("validation")
+    public TicketValidation validateTicketManually(UUID ticketId, UUID eventId) {
+        Optional<Ticket> ticketOpt = null == eventId
+                ? ticketRepository.findByIdAndEventNotDeleted(ticketId)
+                : ticketRepository.findByIdAndEventId(ticketId, eventId);
+
+        Ticket ticket = ticketOpt
                 .orElseThrow(TicketNotFoundException::new);
 
         return validate(ticket, TicketValidationMethodEnum.MANUAL);
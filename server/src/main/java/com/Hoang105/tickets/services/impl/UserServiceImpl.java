@@ -3,7 +3,9 @@ package com.Hoang105.tickets.services.impl;
 import com.Hoang105.tickets.domain.entities.Ticket;
 import com.Hoang105.tickets.domain.entities.User;
 import com.Hoang105.tickets.domain.entities.enums.UserRoleEnum;
+import com.Hoang105.tickets.domain.entities.ArchivedTicket;
 import com.Hoang105.tickets.exceptions.UserNotFoundException;
+import com.Hoang105.tickets.repositories.ArchivedTicketRepository;
 import com.Hoang105.tickets.repositories.TicketRepository;
 import com.Hoang105.tickets.repositories.UserRepository;
 import com.Hoang105.tickets.services.UserService;
@@ -11,16 +13,22 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
 
     @Override
     public Page<User> listAttendees(Pageable pageable) {
@@ -29,13 +37,19 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Integer countTotalTickets(UUID id) {
-        return ticketRepository.countByPurchaserId(id);
+        return ticketRepository.countByPurchaserId(id) + archivedTicketRepository.countByPurchaserId(id);
     }
 
     @Override
     public LocalDateTime lastPurchaseDate(UUID id) {
-        return ticketRepository.findFirstByPurchaserIdOrderByCreatedAtDesc(id)
-                .map(Ticket::getCreatedAt)
+        Optional<LocalDateTime> lastHot = ticketRepository.findFirstByPurchaserIdOrderByCreatedAtDesc(id)
+                .map(Ticket::getCreatedAt);
+        Optional<LocalDateTime> lastArchived = archivedTicketRepository.findFirstByPurchaserIdOrderByCreatedAtDesc(id)
+                .map(ArchivedTicket::getCreatedAt);
+
+        return Stream.of(lastHot, lastArchived)
+                .flatMap(Optional::stream)
+                .max(Comparator.naturalOrder())
                 .orElse(null);
     }
 
@@ -53,19 +67,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public int countNewAttendeesThisWeek() {
         LocalDateTime oneWeekAgo = LocalDateTime.now().minusWeeks(1);
-        return (int) userRepository.findAll().stream()
-                .filter(user -> user.getRole() == UserRoleEnum.ATTENDEE)
-                .filter(user -> user.getCreatedAt().isAfter(oneWeekAgo))
-                .count();
+        return userRepository.countByRoleAndCreatedAtAfter(UserRoleEnum.ATTENDEE, oneWeekAgo);
     };
 
     @Override
     public int countNewAttendeesThisMonth() {
         LocalDateTime oneMonthAgo = LocalDateTime.now().minusMonths(1);
-        return (int) userRepository.findAll().stream()
-                .filter(user -> user.getRole() == UserRoleEnum.ATTENDEE)
-                .filter(user -> user.getCreatedAt().isAfter(oneMonthAgo))
-                .count();
+        return userRepository.countByRoleAndCreatedAtAfter(UserRoleEnum.ATTENDEE, oneMonthAgo);
     }
 
 
@@ -0,0 +1,160 @@
+package com.Hoang105.tickets.wallet;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Hoang105.tickets.domain.Wallet;
+import com.Hoang105.tickets.domain.entities.enums.EventFieldEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketTypeFieldEnum;
+import com.Hoang105.tickets.domain.events.EventDeleted;
+import com.Hoang105.tickets.domain.events.EventUpdated;
+import com.Hoang105.tickets.invalidation.CacheInvalidated;
+import com.Hoang105.tickets.invalidation.CacheInvalidationBus;
+import com.Hoang105.tickets.invalidation.CacheRegion;
+import com.Hoang105.tickets.repositories.WalletTicketRepository;
+import com.Hoang105.tickets.repositories.WalletTicketRepository.WalletVersion;
+
+/**
+ * Each attendee's wallet: their tickets in wallet_tickets and a version that
+ * every change to them bumps. Purchases and cancellations record their ticket in
+ * their own transaction; event edits and deletions reach the wallets through
+ * their domain events.
+ * <p>
+ * The versions of wallets seen lately are kept in memory, so a client that
+ * already holds the current one is answered without a query. A change
+ * remembers the versions it bumped on its own instance and makes the others
+ * forget theirs through the {@link CacheInvalidationBus}. A remembered version
+ * is still trusted for no longer than {@code app.wallet.version-ttl}, which
+ * bounds how long it can lag when an invalidation is lost, or overtakes a read
+ * that began before the change committed.
+ */
+@Component
+public class WalletReadModel {
+
+    private record CachedVersion(long version, long readAtNanos) {
+    }
+
+    private final WalletTicketRepository walletTicketRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final int maxCachedVersions;
+    private final long versionTtlNanos;
+
+    private final Map<UUID, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    public WalletReadModel(
+            WalletTicketRepository walletTicketRepository,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${app.wallet.max-cached-versions:100000}") int maxCachedVersions,
+            @Value("${app.wallet.version-ttl:PT1M}") Duration versionTtl) {
+        this.walletTicketRepository = walletTicketRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.maxCachedVersions = maxCachedVersions;
+        this.versionTtlNanos = versionTtl.toNanos();
+    }
+
+    /**
+     * The current version of a user's wallet, 0 before their first ticket. Read
+     * from the primary when not remembered, as a replica's could be older than
+     * the one a change has just remembered.
+     */
+    @Transactional
+    public long currentVersion(UUID userId) {
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && System.nanoTime() - cached.readAtNanos() < versionTtlNanos) {
+            return cached.version();
+        }
+
+        long version = walletTicketRepository.findVersion(userId).orElse(0L);
+        remember(userId, version);
+        return version;
+    }
+
+    @Transactional(readOnly = true)
+    public Wallet load(UUID userId) {
+        // Version first: a change committing in between leaves the tickets newer
+        // than the version, which only costs the client another download
+        long version = walletTicketRepository.findVersion(userId).orElse(0L);
+        return new Wallet(userId, version, walletTicketRepository.findByPurchaserIdOrderByPurchasedAtDesc(userId));
+    }
+
+    /**
+     * Copies a purchased or cancelled ticket into its purchaser's wallet, in the
+     * transaction that changed it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTicket(UUID eventId, UUID ticketId) {
+        rememberAfterCommit(walletTicketRepository.copyTicket(eventId, ticketId));
+    }
+
+    @EventListener
+    @Transactional
+    public void onEventUpdated(EventUpdated event) {
+        if (event.changed(EventFieldEnum.NAME)
+                || event.changed(EventFieldEnum.VENUE)
+                || event.changed(EventFieldEnum.START)
+                || event.changed(EventFieldEnum.END)
+                || event.changed(TicketTypeFieldEnum.NAME)
+                || event.changed(TicketTypeFieldEnum.PRICE)
+                || event.changed(TicketTypeFieldEnum.DESCRIPTION)) {
+            rememberAfterCommit(walletTicketRepository.copyEvent(event.eventId()));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onEventDeleted(EventDeleted event) {
+        rememberAfterCommit(walletTicketRepository.removeEvent(event.eventId()));
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidated invalidated) {
+        if (invalidated.region() != CacheRegion.WALLET) {
+            return;
+        }
+        if (invalidated.all()) {
+            versions.clear();
+        } else {
+            invalidated.ids().forEach(versions::remove);
+        }
+    }
+
+    // The invalidation comes back to this instance too, costing one lookup on the wallet's next open
+    private void rememberAfterCommit(List<WalletVersion> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed.forEach(version -> remember(version.getUserId(), version.getVersion()));
+            }
+        });
+        cacheInvalidationBus.invalidate(CacheRegion.WALLET, changed.stream().map(WalletVersion::getUserId).toList());
+    }
+
+    // Keeps the higher version whatever order a reader and a change arrive in
+    private void remember(UUID userId, long version) {
+        if (versions.size() >= maxCachedVersions && !versions.containsKey(userId)) {
+            // Any one will do: forgetting a version costs one lookup on that wallet's next open
+            Iterator<UUID> remembered = versions.keySet().iterator();
+            if (remembered.hasNext()) {
+                remembered.next();
+                remembered.remove();
+            }
+        }
+        versions.merge(userId, new CachedVersion(version, System.nanoTime()),
+                (current, read) -> read.version() >= current.version() ? read : current);
+    }
+}
@@ -0,0 +1,62 @@
+-- Indexes backing the hot repository lookups. This is a repeatable migration:
+-- Flyway re-applies it whenever the file changes, so every statement must be
+-- idempotent. Keep DatabaseIndexVerifier.EXPECTED_INDEXES in sync with it.
+--
+-- tickets, qr_codes and ticket_validations are partitioned by event_id (V3);
+-- an index created on one of them is created on every partition, and lookups
+-- that also filter on event_id only probe the matching partition's index.
+
+-- TicketRepository.countByEventIdAndTicketTypeId (purchase path)
+CREATE INDEX IF NOT EXISTS idx_tickets_ticket_type_id
+    ON tickets (ticket_type_id);
+
+-- TicketRepository.findByPurchaserId / countByPurchaserId / findFirstByPurchaserIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_tickets_purchaser_id_created_at
+    ON tickets (purchaser_id, created_at);
+
+-- TicketRepository.countByStatus
+CREATE INDEX IF NOT EXISTS idx_tickets_status
+    ON tickets (status);
+
+-- QrCodeRepository.findByTicketIdAndTicketPurchaserId
+CREATE INDEX IF NOT EXISTS idx_qr_codes_ticket_id
+    ON qr_codes (ticket_id);
+
+-- QrCodeRepository.findByIdAndStatus / findByIdAndEventIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_qr_codes_id_status
+    ON qr_codes (id, status);
+
+-- TicketValidationRepository.existsByTicketIdAndEventIdAndStatus, run on every validation
+CREATE INDEX IF NOT EXISTS idx_ticket_validations_ticket_id_status
+    ON ticket_validations (ticket_id, status);
+
+-- TicketType.event / Event.ticketTypes
+CREATE INDEX IF NOT EXISTS idx_ticket_types_event_id
+    ON ticket_types (event_id);
+
+-- EventRepository.findByStatus / countByStatus
+CREATE INDEX IF NOT EXISTS idx_events_status_created_at
+    ON events (status, created_at);
+
+-- EventRepository.findByOrganizerId / findByIdAndOrganizerId
+CREATE INDEX IF NOT EXISTS idx_events_organizer_id
+    ON events (organizer_id);
+
+-- UserRepository.findAllByRole / countByRole / countByRoleAndCreatedAtAfter
+CREATE INDEX IF NOT EXISTS idx_users_role_created_at
+    ON users (role, created_at);
+
+-- Anonymous catalogue: only published events are ever listed
+CREATE INDEX IF NOT EXISTS idx_events_published_created_at
+    ON events (created_at)
+    WHERE status = 'PUBLISHED';
+
+-- EventRepository.searchEvents
+CREATE INDEX IF NOT EXISTS idx_events_published_search
+    ON events USING GIN ((to_tsvector('english', COALESCE(name, '')) || to_tsvector('english', COALESCE(venue, ''))))
+    WHERE status = 'PUBLISHED';
+
+-- Sold / remaining counters only ever look at purchased tickets
+CREATE INDEX IF NOT EXISTS idx_tickets_purchased_ticket_type_id
+    ON tickets (ticket_type_id)
+    WHERE status = 'PURCHASED';
@@ -0,0 +1,28 @@
+-- The tickets of a ticket type still for sale, split across buckets 0..n-1 so
+-- concurrent purchases lock different rows instead of all locking the ticket
+-- type. TicketInventory creates a ticket type's buckets on its first purchase,
+-- or when its sales window is warmed, from the exact count of tickets sold, and
+-- drops them when the capacity or the number of buckets changes. Rows go with
+-- their ticket type, including when a deleted event is purged.
+ALTER TABLE ticket_types ADD COLUMN inventory_buckets INTEGER;
+
+CREATE TABLE inventory_buckets (
+    ticket_type_id  UUID     NOT NULL,
+    bucket          INTEGER  NOT NULL,
+    remaining       INTEGER  NOT NULL CHECK (remaining >= 0),
+    PRIMARY KEY (ticket_type_id, bucket)
+);
+
+ALTER TABLE inventory_buckets
+    ADD CONSTRAINT fk_inventory_buckets_ticket_type_id FOREIGN KEY (ticket_type_id) REFERENCES ticket_types ON DELETE CASCADE;
+
+-- Purchases of one ticket type would otherwise all increment the same minute,
+-- hour and day rollup rows and queue on them however the inventory is split.
+-- Each rollup bucket is kept in shards instead: a purchase adds to the shard
+-- numbered like the inventory bucket it took its ticket from, whose lock it
+-- already holds, and readers sum the shards. Cancellations and backfills use
+-- shard 0, which every existing row becomes.
+ALTER TABLE sales_rollups ADD COLUMN shard INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE sales_rollups DROP CONSTRAINT sales_rollups_pkey;
+ALTER TABLE sales_rollups ADD PRIMARY KEY (ticket_type_id, granularity, bucket_start, shard);
@@ -0,0 +1,109 @@
+-- Baseline schema, equivalent to what Hibernate generated while the
+-- application was running with ddl-auto: update.
+
+CREATE TABLE users (
+    id          UUID          NOT NULL,
+    name        VARCHAR(255)  NOT NULL,
+    email       VARCHAR(255)  NOT NULL,
+    role        VARCHAR(255)  CHECK (role IN ('ADMINISTRATOR', 'ORGANIZER', 'STAFF', 'ATTENDEE')),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE events (
+    id            UUID          NOT NULL,
+    name          VARCHAR(255)  NOT NULL,
+    event_start   TIMESTAMP(6),
+    event_end     TIMESTAMP(6),
+    venue         VARCHAR(255)  NOT NULL,
+    sales_start   TIMESTAMP(6),
+    sales_end     TIMESTAMP(6),
+    status        VARCHAR(255)  NOT NULL CHECK (status IN ('DRAFT', 'PUBLISHED', 'CANCELLED', 'COMPLETED')),
+    organizer_id  UUID          NOT NULL,
+    created_at    TIMESTAMP(6)  NOT NULL,
+    updated_at    TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE ticket_types (
+    id               UUID          NOT NULL,
+    name             VARCHAR(255)  NOT NULL,
+    price            FLOAT(53)     NOT NULL,
+    description      VARCHAR(255),
+    total_available  INTEGER,
+    event_id         UUID          NOT NULL,
+    created_at       TIMESTAMP(6)  NOT NULL,
+    updated_at       TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tickets (
+    id              UUID          NOT NULL,
+    status          VARCHAR(255)  NOT NULL CHECK (status IN ('PURCHASED', 'CANCELLED')),
+    ticket_type_id  UUID          NOT NULL,
+    purchaser_id    UUID          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE qr_codes (
+    id          UUID          NOT NULL,
+    status      VARCHAR(255)  NOT NULL CHECK (status IN ('ACTIVE', 'EXPIRED')),
+    value       TEXT          NOT NULL,
+    ticket_id   UUID          NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE ticket_validations (
+    id                 UUID          NOT NULL,
+    status             VARCHAR(255)  NOT NULL CHECK (status IN ('VALID', 'INVALID', 'EXPIRED')),
+    validation_method  VARCHAR(255)  NOT NULL CHECK (validation_method IN ('QR_SCAN', 'MANUAL')),
+    ticket_id          UUID,
+    created_at         TIMESTAMP(6)  NOT NULL,
+    updated_at         TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_attending_events (
+    user_id   UUID  NOT NULL,
+    event_id  UUID  NOT NULL
+);
+
+CREATE TABLE user_staffing_events (
+    user_id   UUID  NOT NULL,
+    event_id  UUID  NOT NULL
+);
+
+ALTER TABLE events
+    ADD CONSTRAINT FKdocju8m76a3f8o6ljh2jrn2ra FOREIGN KEY (organizer_id) REFERENCES users;
+
+ALTER TABLE ticket_types
+    ADD CONSTRAINT FKl83j9knh8jrssp3skaeubrrk FOREIGN KEY (event_id) REFERENCES events;
+
+ALTER TABLE tickets
+    ADD CONSTRAINT FKotik7mbbb14hu8n9og7o92k5h FOREIGN KEY (ticket_type_id) REFERENCES ticket_types;
+
+ALTER TABLE tickets
+    ADD CONSTRAINT FKifauiw719hj2vn76rlut17egc FOREIGN KEY (purchaser_id) REFERENCES users;
+
+ALTER TABLE qr_codes
+    ADD CONSTRAINT FKpmvif2aewlkns67w2xp003tgv FOREIGN KEY (ticket_id) REFERENCES tickets;
+
+ALTER TABLE ticket_validations
+    ADD CONSTRAINT FKh5kmfm65o91aqvi7cye1nisf4 FOREIGN KEY (ticket_id) REFERENCES tickets;
+
+ALTER TABLE user_attending_events
+    ADD CONSTRAINT FKiqcjgjbhlrccm1mgibtsnd12q FOREIGN KEY (event_id) REFERENCES events;
+
+ALTER TABLE user_attending_events
+    ADD CONSTRAINT FK289lo7ujwu8i2ibebd8f51uwi FOREIGN KEY (user_id) REFERENCES users;
+
+ALTER TABLE user_staffing_events
+    ADD CONSTRAINT FKp2o8kl5ei7jq1akun3kqb89du FOREIGN KEY (event_id) REFERENCES events;
+
+ALTER TABLE user_staffing_events
+    ADD CONSTRAINT FKdml3ueqafpnhbnqu9a8t2svt8 FOREIGN KEY (user_id) REFERENCES users;
@@ -0,0 +1,27 @@
+-- Transactional outbox. Services insert a row in the same transaction as the
+-- change it describes; OutboxDispatcher relays pending rows to in-process
+-- subscribers and stamps published_at once they have all succeeded.
+
+CREATE TABLE outbox_events (
+    id            BIGSERIAL     NOT NULL,
+    event_type    VARCHAR(100)  NOT NULL,
+    aggregate_id  UUID          NOT NULL,
+    payload       TEXT          NOT NULL,
+    attempts      INTEGER       NOT NULL DEFAULT 0,
+    last_error    TEXT,
+    available_at  TIMESTAMP(6)  NOT NULL,
+    locked_until  TIMESTAMP(6),
+    published_at  TIMESTAMP(6),
+    created_at    TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- OutboxEventRepository.findDeliverable; stays small because published rows drop out
+CREATE INDEX idx_outbox_events_pending
+    ON outbox_events (id)
+    WHERE published_at IS NULL;
+
+-- OutboxEventRepository.deletePublishedBefore
+CREATE INDEX idx_outbox_events_published_at
+    ON outbox_events (published_at)
+    WHERE published_at IS NOT NULL;
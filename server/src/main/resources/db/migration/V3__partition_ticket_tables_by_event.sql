@@ -0,0 +1,126 @@
+-- Hash-partitions tickets, qr_codes and ticket_validations by event. Each row
+-- now carries its event's id, queries that filter on event_id are pruned to a
+-- single partition, and a busy on-sale or gate only dirties (and vacuums) its
+-- own partition and partition-local indexes.
+--
+-- Primary and foreign keys on a partitioned table must include the partition
+-- key, so the keys become (id, event_id). The indexes R__performance_indexes.sql
+-- keeps on the old tables are created again here, under the same names, as
+-- that migration only runs again when its own file changes.
+--
+-- Validations without a ticket belong to no event and cannot be placed in a
+-- partition; they are kept as they were in ticket_validations_without_ticket.
+
+CREATE TABLE tickets_partitioned (
+    id              UUID          NOT NULL,
+    status          VARCHAR(255)  NOT NULL CHECK (status IN ('PURCHASED', 'CANCELLED')),
+    ticket_type_id  UUID          NOT NULL,
+    event_id        UUID          NOT NULL,
+    purchaser_id    UUID          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id, event_id)
+) PARTITION BY HASH (event_id);
+
+CREATE TABLE qr_codes_partitioned (
+    id          UUID          NOT NULL,
+    status      VARCHAR(255)  NOT NULL CHECK (status IN ('ACTIVE', 'EXPIRED')),
+    value       TEXT          NOT NULL,
+    ticket_id   UUID          NOT NULL,
+    event_id    UUID          NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id, event_id)
+) PARTITION BY HASH (event_id);
+
+CREATE TABLE ticket_validations_partitioned (
+    id                 UUID          NOT NULL,
+    status             VARCHAR(255)  NOT NULL CHECK (status IN ('VALID', 'INVALID', 'EXPIRED')),
+    validation_method  VARCHAR(255)  NOT NULL CHECK (validation_method IN ('QR_SCAN', 'MANUAL')),
+    ticket_id          UUID,
+    event_id           UUID          NOT NULL,
+    created_at         TIMESTAMP(6)  NOT NULL,
+    updated_at         TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id, event_id)
+) PARTITION BY HASH (event_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE tickets_p%s PARTITION OF tickets_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(remainder::text, 2, '0'), remainder);
+        EXECUTE format('CREATE TABLE qr_codes_p%s PARTITION OF qr_codes_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(remainder::text, 2, '0'), remainder);
+        EXECUTE format('CREATE TABLE ticket_validations_p%s PARTITION OF ticket_validations_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(remainder::text, 2, '0'), remainder);
+    END LOOP;
+END $$;
+
+INSERT INTO tickets_partitioned (id, status, ticket_type_id, event_id, purchaser_id, created_at, updated_at)
+SELECT t.id, t.status, t.ticket_type_id, tt.event_id, t.purchaser_id, t.created_at, t.updated_at
+FROM tickets t
+JOIN ticket_types tt ON tt.id = t.ticket_type_id;
+
+INSERT INTO qr_codes_partitioned (id, status, value, ticket_id, event_id, created_at, updated_at)
+SELECT q.id, q.status, q.value, q.ticket_id, t.event_id, q.created_at, q.updated_at
+FROM qr_codes q
+JOIN tickets_partitioned t ON t.id = q.ticket_id;
+
+CREATE TABLE ticket_validations_without_ticket AS
+SELECT v.*
+FROM ticket_validations v
+WHERE NOT EXISTS (SELECT 1 FROM tickets_partitioned t WHERE t.id = v.ticket_id);
+
+INSERT INTO ticket_validations_partitioned (id, status, validation_method, ticket_id, event_id, created_at, updated_at)
+SELECT v.id, v.status, v.validation_method, v.ticket_id, t.event_id, v.created_at, v.updated_at
+FROM ticket_validations v
+JOIN tickets_partitioned t ON t.id = v.ticket_id;
+
+DROP TABLE ticket_validations;
+DROP TABLE qr_codes;
+DROP TABLE tickets;
+
+ALTER TABLE tickets_partitioned RENAME TO tickets;
+ALTER TABLE tickets RENAME CONSTRAINT tickets_partitioned_pkey TO tickets_pkey;
+ALTER TABLE qr_codes_partitioned RENAME TO qr_codes;
+ALTER TABLE qr_codes RENAME CONSTRAINT qr_codes_partitioned_pkey TO qr_codes_pkey;
+ALTER TABLE ticket_validations_partitioned RENAME TO ticket_validations;
+ALTER TABLE ticket_validations RENAME CONSTRAINT ticket_validations_partitioned_pkey TO ticket_validations_pkey;
+
+-- Lets tickets reference their ticket type together with its event, so event_id cannot drift
+ALTER TABLE ticket_types
+    ADD CONSTRAINT uk_ticket_types_id_event_id UNIQUE (id, event_id);
+
+ALTER TABLE tickets
+    ADD CONSTRAINT FKotik7mbbb14hu8n9og7o92k5h FOREIGN KEY (ticket_type_id, event_id) REFERENCES ticket_types (id, event_id);
+
+ALTER TABLE tickets
+    ADD CONSTRAINT FKifauiw719hj2vn76rlut17egc FOREIGN KEY (purchaser_id) REFERENCES users;
+
+ALTER TABLE qr_codes
+    ADD CONSTRAINT FKpmvif2aewlkns67w2xp003tgv FOREIGN KEY (ticket_id, event_id) REFERENCES tickets (id, event_id);
+
+ALTER TABLE ticket_validations
+    ADD CONSTRAINT FKh5kmfm65o91aqvi7cye1nisf4 FOREIGN KEY (ticket_id, event_id) REFERENCES tickets (id, event_id);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_ticket_type_id
+    ON tickets (ticket_type_id);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_purchaser_id_created_at
+    ON tickets (purchaser_id, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_status
+    ON tickets (status);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_purchased_ticket_type_id
+    ON tickets (ticket_type_id)
+    WHERE status = 'PURCHASED';
+
+CREATE INDEX IF NOT EXISTS idx_qr_codes_ticket_id
+    ON qr_codes (ticket_id);
+
+CREATE INDEX IF NOT EXISTS idx_qr_codes_id_status
+    ON qr_codes (id, status);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_validations_ticket_id_status
+    ON ticket_validations (ticket_id, status);
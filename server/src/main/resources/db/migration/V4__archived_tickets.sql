@@ -0,0 +1,43 @@
+-- Cold storage for tickets of events that ended a while ago. TicketArchiver
+-- moves each ticket, together with its QR code and validations, into one
+-- narrow archived_tickets row: the QR image is dropped (it can be re-rendered
+-- from qr_code_id) and the validation history is reduced to a summary.
+
+CREATE TABLE archived_tickets (
+    id                      UUID          NOT NULL,
+    event_id                UUID          NOT NULL,
+    ticket_type_id          UUID          NOT NULL,
+    purchaser_id            UUID          NOT NULL,
+    status                  VARCHAR(255)  NOT NULL CHECK (status IN ('PURCHASED', 'CANCELLED')),
+    qr_code_id              UUID,
+    qr_code_status          VARCHAR(255)  CHECK (qr_code_status IN ('ACTIVE', 'EXPIRED')),
+    validation_count        INTEGER       NOT NULL,
+    last_validation_status  VARCHAR(255)  CHECK (last_validation_status IN ('VALID', 'INVALID', 'EXPIRED')),
+    last_validated_at       TIMESTAMP(6),
+    created_at              TIMESTAMP(6)  NOT NULL,
+    updated_at              TIMESTAMP(6)  NOT NULL,
+    archived_at             TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE archived_tickets
+    ADD CONSTRAINT fk_archived_tickets_ticket_type_id FOREIGN KEY (ticket_type_id) REFERENCES ticket_types;
+
+ALTER TABLE archived_tickets
+    ADD CONSTRAINT fk_archived_tickets_purchaser_id FOREIGN KEY (purchaser_id) REFERENCES users;
+
+-- ArchivedTicketRepository.findPageByPurchaserId / countByPurchaserId / findFirstByPurchaserIdOrderByCreatedAtDesc
+CREATE INDEX idx_archived_tickets_purchaser_id_created_at
+    ON archived_tickets (purchaser_id, created_at);
+
+-- ArchivedTicketRepository.countByStatus; archived rows never change, so this stays an index-only scan
+CREATE INDEX idx_archived_tickets_status
+    ON archived_tickets (status);
+
+-- Set once every ticket of the event has been moved to archived_tickets
+ALTER TABLE events ADD COLUMN archived_at TIMESTAMP(6);
+
+-- EventRepository.findArchivableEventIds; stays small because archived events drop out
+CREATE INDEX idx_events_unarchived_end
+    ON events (event_end)
+    WHERE archived_at IS NULL;
@@ -0,0 +1,3 @@
+-- TicketExporter reads the archived tickets of one event alongside its hot ones
+CREATE INDEX idx_archived_tickets_event_id
+    ON archived_tickets (event_id);
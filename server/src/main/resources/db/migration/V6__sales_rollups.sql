@@ -0,0 +1,45 @@
+-- Ticket sales per ticket type in minute, hour and day buckets, so organizer
+-- dashboards never have to aggregate tickets. Purchases and cancellations
+-- increment the three buckets they fall in within their own transaction; the
+-- rows are independent of the tickets themselves, so archiving leaves them as
+-- they are.
+
+CREATE TABLE sales_rollups (
+    ticket_type_id  UUID          NOT NULL,
+    granularity     VARCHAR(16)   NOT NULL CHECK (granularity IN ('MINUTE', 'HOUR', 'DAY')),
+    bucket_start    TIMESTAMP(6)  NOT NULL,
+    event_id        UUID          NOT NULL,
+    purchased       BIGINT        NOT NULL,
+    cancelled       BIGINT        NOT NULL,
+    PRIMARY KEY (ticket_type_id, granularity, bucket_start)
+);
+
+ALTER TABLE sales_rollups
+    ADD CONSTRAINT fk_sales_rollups_ticket_type_id FOREIGN KEY (ticket_type_id) REFERENCES ticket_types ON DELETE CASCADE;
+
+-- SalesRollupRepository.findCurve / sumByTicketType / sumBefore
+CREATE INDEX idx_sales_rollups_event_id_granularity_bucket_start
+    ON sales_rollups (event_id, granularity, bucket_start);
+
+-- Backfill from history. A cancellation is placed at the ticket's last update,
+-- which is when it was cancelled unless the ticket changed again afterwards.
+INSERT INTO sales_rollups (ticket_type_id, granularity, bucket_start, event_id, purchased, cancelled)
+SELECT s.ticket_type_id, g.granularity, date_trunc(g.unit, s.occurred_at), s.event_id,
+       sum(s.purchased), sum(s.cancelled)
+FROM (
+    SELECT ticket_type_id, event_id, created_at AS occurred_at, 1 AS purchased, 0 AS cancelled
+    FROM tickets
+    UNION ALL
+    SELECT ticket_type_id, event_id, updated_at, 0, 1
+    FROM tickets
+    WHERE status = 'CANCELLED'
+    UNION ALL
+    SELECT ticket_type_id, event_id, created_at, 1, 0
+    FROM archived_tickets
+    UNION ALL
+    SELECT ticket_type_id, event_id, updated_at, 0, 1
+    FROM archived_tickets
+    WHERE status = 'CANCELLED'
+) s
+CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+GROUP BY s.ticket_type_id, g.granularity, date_trunc(g.unit, s.occurred_at), s.event_id;
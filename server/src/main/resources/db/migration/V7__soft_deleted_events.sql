@@ -0,0 +1,9 @@
+-- Deleting an event only stamps deleted_at, which hides it and everything keyed
+-- by its id; DeletedEventPurger removes the rows in the background
+ALTER TABLE events ADD COLUMN deleted_at TIMESTAMP(6);
+
+-- The purge queue, and the deleted-event lookup in the entities' restrictions;
+-- stays small because purged events are gone
+CREATE INDEX idx_events_deleted_at
+    ON events (deleted_at)
+    WHERE deleted_at IS NOT NULL;
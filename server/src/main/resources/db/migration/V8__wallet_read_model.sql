@@ -0,0 +1,64 @@
+-- Each attendee's tickets with the event and ticket type details the wallet
+-- shows, so opening the wallet is one index range scan. Purchases and
+-- cancellations write their row in their own transaction; event and ticket type
+-- edits are copied in by the WalletReadModel. Archiving leaves the rows as they are.
+
+CREATE TABLE wallet_tickets (
+    ticket_id                UUID          NOT NULL,
+    purchaser_id             UUID          NOT NULL,
+    status                   VARCHAR(255)  NOT NULL CHECK (status IN ('PURCHASED', 'CANCELLED')),
+    qr_code_id               UUID,
+    purchased_at             TIMESTAMP(6)  NOT NULL,
+    event_id                 UUID          NOT NULL,
+    event_name               VARCHAR(255)  NOT NULL,
+    event_venue              VARCHAR(255)  NOT NULL,
+    event_start              TIMESTAMP(6),
+    event_end                TIMESTAMP(6),
+    ticket_type_id           UUID          NOT NULL,
+    ticket_type_name         VARCHAR(255)  NOT NULL,
+    ticket_type_price        FLOAT(53)     NOT NULL,
+    ticket_type_description  VARCHAR(255),
+    PRIMARY KEY (ticket_id)
+);
+
+CREATE INDEX idx_wallet_tickets_purchaser_id_purchased_at
+    ON wallet_tickets (purchaser_id, purchased_at DESC);
+
+CREATE INDEX idx_wallet_tickets_event_id
+    ON wallet_tickets (event_id);
+
+-- Bumped by every change to a user's rows; the wallet's ETag
+CREATE TABLE wallet_versions (
+    user_id  UUID    NOT NULL,
+    version  BIGINT  NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+INSERT INTO wallet_tickets (
+    ticket_id, purchaser_id, status, qr_code_id, purchased_at,
+    event_id, event_name, event_venue, event_start, event_end,
+    ticket_type_id, ticket_type_name, ticket_type_price, ticket_type_description)
+SELECT t.id, t.purchaser_id, t.status, q.id, t.created_at,
+       e.id, e.name, e.venue, e.event_start, e.event_end,
+       tt.id, tt.name, tt.price, tt.description
+FROM tickets t
+JOIN ticket_types tt ON tt.id = t.ticket_type_id
+JOIN events e ON e.id = t.event_id
+LEFT JOIN LATERAL (
+    SELECT qc.id FROM qr_codes qc
+    WHERE qc.event_id = t.event_id AND qc.ticket_id = t.id
+    ORDER BY qc.created_at DESC
+    LIMIT 1
+) q ON TRUE
+WHERE e.deleted_at IS NULL
+UNION ALL
+SELECT a.id, a.purchaser_id, a.status, a.qr_code_id, a.created_at,
+       e.id, e.name, e.venue, e.event_start, e.event_end,
+       tt.id, tt.name, tt.price, tt.description
+FROM archived_tickets a
+JOIN ticket_types tt ON tt.id = a.ticket_type_id
+JOIN events e ON e.id = a.event_id
+WHERE e.deleted_at IS NULL;
+
+INSERT INTO wallet_versions (user_id, version)
+SELECT DISTINCT purchaser_id, 1 FROM wallet_tickets;
@@ -0,0 +1,23 @@
+-- QR codes rendered ahead of an on-sale by QrCodePoolFiller. A purchase claims
+-- one of its ticket type's codes by deleting the row and keeps its id, which is
+-- all the image encodes, as the id of the ticket's QR code. Rows go with their
+-- ticket type, including when a deleted event is purged.
+CREATE TABLE qr_code_pool (
+    id              UUID          NOT NULL,
+    ticket_type_id  UUID          NOT NULL,
+    event_id        UUID          NOT NULL,
+    value           TEXT          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE qr_code_pool
+    ADD CONSTRAINT fk_qr_code_pool_ticket_type_id FOREIGN KEY (ticket_type_id) REFERENCES ticket_types ON DELETE CASCADE;
+
+-- QrCodePoolRepository.claim and the per ticket type counts of findShortfalls
+CREATE INDEX idx_qr_code_pool_ticket_type_id
+    ON qr_code_pool (ticket_type_id);
+
+-- QrCodePoolRepository.deleteStale
+CREATE INDEX idx_qr_code_pool_event_id
+    ON qr_code_pool (event_id);
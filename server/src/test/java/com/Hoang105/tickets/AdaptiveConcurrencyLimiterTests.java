@@ -0,0 +1,81 @@
+package com.Hoang105.tickets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.Hoang105.tickets.concurrency.AdaptiveConcurrencyLimiter;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	// The limiter only moves the limit once a window has this many samples
+	private static final int WINDOW_SAMPLES = 10;
+
+	private static final long USUAL_RTT = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long QUEUED_RTT = TimeUnit.MILLISECONDS.toNanos(5);
+
+	// The purchase limiter's settings, with windows closed by sample count alone
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 0, 1.5, 0.2);
+
+	@Test
+	void limitGrowsWhileLatencyStaysAtItsUsualLevel() {
+		int initial = limiter.getLimit();
+
+		for (int i = 0; i < 5; i++) {
+			runAtLimit(USUAL_RTT);
+		}
+
+		assertTrue(limiter.getLimit() > initial, "limit " + limiter.getLimit() + " did not grow from " + initial);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRisesAboveToleranceAndGrowsWhenItFallsBack() {
+		for (int i = 0; i < 5; i++) {
+			runAtLimit(USUAL_RTT);
+		}
+		int beforeRise = limiter.getLimit();
+
+		for (int i = 0; i < 5; i++) {
+			runAtLimit(QUEUED_RTT);
+		}
+		int afterRise = limiter.getLimit();
+		assertTrue(afterRise < beforeRise, "limit " + afterRise + " did not shrink from " + beforeRise);
+
+		for (int i = 0; i < 5; i++) {
+			runAtLimit(USUAL_RTT);
+		}
+		int afterFall = limiter.getLimit();
+		assertTrue(afterFall > afterRise, "limit " + afterFall + " did not grow back from " + afterRise);
+	}
+
+	@Test
+	void callsBeyondTheLimitAreRefused() {
+		int limit = limiter.getLimit();
+		for (int i = 0; i < limit; i++) {
+			assertTrue(limiter.tryAcquire());
+		}
+
+		assertFalse(limiter.tryAcquire());
+	}
+
+	/**
+	 * Fills every slot, then releases them all with the given latency, topped up
+	 * to whole windows so the next call starts a fresh one.
+	 */
+	private void runAtLimit(long rttNanos) {
+		int slots = limiter.getLimit();
+		for (int i = 0; i < slots; i++) {
+			assertTrue(limiter.tryAcquire());
+		}
+		for (int i = 0; i < slots; i++) {
+			limiter.release(rttNanos);
+		}
+		for (int i = slots; i % WINDOW_SAMPLES != 0; i++) {
+			assertTrue(limiter.tryAcquire());
+			limiter.release(rttNanos);
+		}
+	}
+}
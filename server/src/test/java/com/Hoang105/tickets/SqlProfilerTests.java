@@ -0,0 +1,121 @@
+package com.Hoang105.tickets;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Hoang105.tickets.domain.entities.Event;
+import com.Hoang105.tickets.domain.entities.Ticket;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.domain.entities.User;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.TicketStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.UserRoleEnum;
+import com.Hoang105.tickets.mappers.TicketMapper;
+import com.Hoang105.tickets.metrics.SqlCapture;
+import com.Hoang105.tickets.metrics.SqlProfiler;
+import com.Hoang105.tickets.services.TicketService;
+import com.Hoang105.tickets.services.UserService;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SqlProfilerTests {
+
+	@Autowired
+	private SqlProfiler sqlProfiler;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TicketMapper ticketMapper;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private UUID attendeeId;
+
+	@BeforeEach
+	void seed() {
+		User organizer = user("Organizer", UserRoleEnum.ORGANIZER);
+		User attendee = user("Attendee", UserRoleEnum.ATTENDEE);
+
+		for (int e = 0; e < 3; e++) {
+			Event event = Event.builder()
+					.name("Event " + e)
+					.venue("Venue " + e)
+					.start(LocalDateTime.now().plusDays(10))
+					.end(LocalDateTime.now().plusDays(11))
+					.status(EventStatusEnum.PUBLISHED)
+					.organizer(organizer)
+					.build();
+			entityManager.persist(event);
+
+			for (int t = 0; t < 2; t++) {
+				TicketType ticketType = TicketType.builder()
+						.name("Type " + t)
+						.price(10.0)
+						.totalAvailable(100)
+						.event(event)
+						.build();
+				entityManager.persist(ticketType);
+
+				entityManager.persist(Ticket.builder()
+						.status(TicketStatusEnum.PURCHASED)
+						.ticketType(ticketType)
+						.eventId(event.getId())
+						.purchaser(attendee)
+						.build());
+			}
+		}
+
+		attendeeId = attendee.getId();
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void listingTicketsDoesNotLazyLoadPerRow() {
+		try (SqlCapture capture = sqlProfiler.capture()) {
+			Page<Ticket> tickets = ticketService.listTicketForUser(attendeeId, PageRequest.of(0, 20));
+			tickets.forEach(ticketMapper::toListAttendeeTicketDto);
+
+			capture.assertStatementCountAtMost(2);
+			capture.assertNoRepeatedSelects();
+		}
+	}
+
+	@Test
+	void newAttendeeCountersUseASingleQueryEach() {
+		try (SqlCapture capture = sqlProfiler.capture()) {
+			userService.countNewAttendeesThisWeek();
+			userService.countNewAttendeesThisMonth();
+
+			capture.assertStatementCountAtMost(2);
+		}
+	}
+
+	private User user(String name, UserRoleEnum role) {
+		User user = new User();
+		user.setId(UUID.randomUUID());
+		user.setName(name);
+		user.setEmail(name.toLowerCase() + "@example.com");
+		user.setRole(role);
+		entityManager.persist(user);
+		return user;
+	}
+}
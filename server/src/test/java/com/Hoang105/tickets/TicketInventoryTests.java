@@ -0,0 +1,187 @@
+package com.Hoang105.tickets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Hoang105.tickets.domain.entities.Event;
+import com.Hoang105.tickets.domain.entities.TicketType;
+import com.Hoang105.tickets.domain.entities.User;
+import com.Hoang105.tickets.domain.entities.enums.EventStatusEnum;
+import com.Hoang105.tickets.domain.entities.enums.UserRoleEnum;
+import com.Hoang105.tickets.exceptions.TicketsSoldOutException;
+import com.Hoang105.tickets.inventory.TicketInventory;
+import com.Hoang105.tickets.repositories.InventoryBucketRepository;
+import com.Hoang105.tickets.services.TicketTypeService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Purchases run in transactions of their own on several threads, so unlike
+ * {@link SqlProfilerTests} the seeded rows are committed and removed afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TicketInventoryTests {
+
+	private static final int CAPACITY = 10;
+	private static final int BUCKETS = 4;
+	private static final int PURCHASES = 16;
+
+	@Autowired
+	private TicketTypeService ticketTypeService;
+
+	@Autowired
+	private TicketInventory ticketInventory;
+
+	@Autowired
+	private InventoryBucketRepository inventoryBucketRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private UUID organizerId;
+	private UUID attendeeId;
+	private UUID eventId;
+	private UUID ticketTypeId;
+
+	@BeforeEach
+	void seed() {
+		transactionTemplate.executeWithoutResult(status -> {
+			User organizer = user("Organizer", UserRoleEnum.ORGANIZER);
+			User attendee = user("Attendee", UserRoleEnum.ATTENDEE);
+
+			Event event = Event.builder()
+					.name("On-sale")
+					.venue("Venue")
+					.start(LocalDateTime.now().plusDays(10))
+					.end(LocalDateTime.now().plusDays(11))
+					.salesStart(LocalDateTime.now().minusHours(1))
+					.salesEnd(LocalDateTime.now().plusDays(1))
+					.status(EventStatusEnum.PUBLISHED)
+					.organizer(organizer)
+					.build();
+			entityManager.persist(event);
+
+			TicketType ticketType = TicketType.builder()
+					.name("General admission")
+					.price(10.0)
+					.totalAvailable(CAPACITY)
+					.inventoryBuckets(BUCKETS)
+					.event(event)
+					.build();
+			entityManager.persist(ticketType);
+
+			organizerId = organizer.getId();
+			attendeeId = attendee.getId();
+			eventId = event.getId();
+			ticketTypeId = ticketType.getId();
+		});
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id IN (SELECT id FROM tickets WHERE event_id = ?)", eventId);
+		jdbcTemplate.update("DELETE FROM wallet_tickets WHERE event_id = ?", eventId);
+		jdbcTemplate.update("DELETE FROM wallet_versions WHERE user_id = ?", attendeeId);
+		jdbcTemplate.update("DELETE FROM qr_codes WHERE event_id = ?", eventId);
+		jdbcTemplate.update("DELETE FROM tickets WHERE event_id = ?", eventId);
+		// Inventory buckets, sales rollups and pooled QR codes go with the ticket type
+		jdbcTemplate.update("DELETE FROM ticket_types WHERE event_id = ?", eventId);
+		jdbcTemplate.update("DELETE FROM events WHERE id = ?", eventId);
+		jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", organizerId, attendeeId);
+	}
+
+	@Test
+	void concurrentPurchasesSellExactlyTheCapacity() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(PURCHASES);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> purchases = new ArrayList<>();
+		try {
+			for (int i = 0; i < PURCHASES; i++) {
+				Callable<Boolean> purchase = () -> {
+					start.await();
+					try {
+						ticketTypeService.purchaseTicket(attendeeId, eventId, ticketTypeId);
+						return true;
+					} catch (TicketsSoldOutException ex) {
+						return false;
+					}
+				};
+				purchases.add(executor.submit(purchase));
+			}
+			start.countDown();
+
+			int sold = 0;
+			for (Future<Boolean> purchase : purchases) {
+				if (purchase.get()) {
+					sold++;
+				}
+			}
+			assertEquals(CAPACITY, sold);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(CAPACITY, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM tickets WHERE event_id = ? AND ticket_type_id = ?", Integer.class, eventId, ticketTypeId));
+		assertEquals(List.of(0, 0, 0, 0), remainingByBucket());
+	}
+
+	@Test
+	void rebalancingKeepsTheTicketsLeft() {
+		ticketInventory.prepare(ticketTypeId);
+		assertEquals(List.of(3, 3, 2, 2), remainingByBucket());
+
+		// Bucket 0 drained, its tickets all in bucket 1
+		jdbcTemplate.update("""
+				UPDATE inventory_buckets SET remaining = CASE bucket WHEN 0 THEN 0 WHEN 1 THEN 6 ELSE remaining END
+				WHERE ticket_type_id = ?""", ticketTypeId);
+
+		inventoryBucketRepository.rebalance(ticketTypeId);
+
+		List<Integer> remaining = remainingByBucket();
+		assertEquals(CAPACITY, remaining.stream().mapToInt(Integer::intValue).sum());
+		assertTrue(Collections.max(remaining) - Collections.min(remaining) <= 1, "uneven buckets " + remaining);
+	}
+
+	private List<Integer> remainingByBucket() {
+		return jdbcTemplate.queryForList(
+				"SELECT remaining FROM inventory_buckets WHERE ticket_type_id = ? ORDER BY bucket", Integer.class, ticketTypeId);
+	}
+
+	private User user(String name, UserRoleEnum role) {
+		User user = new User();
+		user.setId(UUID.randomUUID());
+		user.setName(name);
+		user.setEmail(name.toLowerCase() + "-" + user.getId() + "@example.com");
+		user.setRole(role);
+		entityManager.persist(user);
+		return user;
+	}
+}
@@ -0,0 +1,48 @@
+package com.Hoang105.tickets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.Hoang105.tickets.ratelimit.TokenBuckets;
+
+class TokenBucketsTests {
+
+	private static final int KEY = 42;
+	private static final int CAPACITY = 5;
+	private static final long REFILL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final TokenBuckets buckets = new TokenBuckets(1024);
+
+	@Test
+	void fullBucketGivesCapacityTokensThenRefusesWithTheTimeToTheNextOne() {
+		long start = System.nanoTime();
+		for (int i = 0; i < CAPACITY; i++) {
+			assertEquals(0, buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL), "take " + (i + 1));
+		}
+		long wait = buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL);
+		long elapsed = System.nanoTime() - start;
+
+		// One interval after the first take, less whatever has passed since
+		assertTrue(wait > 0, "take " + (CAPACITY + 1) + " was not refused");
+		assertTrue(wait <= REFILL_INTERVAL, "wait " + wait + " is longer than one refill interval");
+		assertTrue(wait >= REFILL_INTERVAL - elapsed, "wait " + wait + " is shorter than the time left");
+	}
+
+	@Test
+	void refusedTakeLeavesTheBucketAsItWas() throws InterruptedException {
+		for (int i = 0; i < CAPACITY; i++) {
+			buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL);
+		}
+		long wait = buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL);
+		assertTrue(buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL) <= wait);
+
+		TimeUnit.NANOSECONDS.sleep(wait);
+
+		assertEquals(0, buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL));
+		assertTrue(buckets.tryTake(KEY, CAPACITY, REFILL_INTERVAL) > 0);
+	}
+}